@@ -0,0 +1,78 @@
+package org.giste.spring.util.service;
+
+import java.net.URI;
+import java.util.concurrent.TimeUnit;
+
+import org.giste.spring.util.config.RestPropertiesImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.web.util.DefaultUriTemplateHandler;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * Compares building the URI of a single entity request with a new
+ * <code>UriComponentsBuilder</code> expanded by <code>RestTemplate</code>
+ * (previous behavior) against expanding a precompiled
+ * {@link RestUriTemplate}.
+ *
+ * Run it with <code>mvn -Pbenchmark test-compile exec:java
+ * -Dexec.args="RestUriTemplateBenchmark -prof gc"</code>.
+ *
+ * @author Giste
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RestUriTemplateBenchmark {
+
+	private static final String PATH_ID = "/clubs/{id}";
+
+	private RestPropertiesImpl restProperties;
+	private DefaultUriTemplateHandler uriTemplateHandler;
+	private RestUriTemplate uriId;
+	private long id;
+
+	@Setup
+	public void setUp() {
+		restProperties = new RestPropertiesImpl();
+		restProperties.setScheme("http");
+		restProperties.setHost("localhost");
+		restProperties.setPort(8080);
+		restProperties.setPath("/rest");
+
+		uriTemplateHandler = new DefaultUriTemplateHandler();
+		uriId = new RestUriTemplate(restProperties, PATH_ID);
+		id = 12345L;
+	}
+
+	@Benchmark
+	public URI uriComponentsBuilder() {
+		String uri = UriComponentsBuilder.newInstance()
+				.scheme(restProperties.getScheme())
+				.host(restProperties.getHost())
+				.port(restProperties.getPort())
+				.path(restProperties.getPath())
+				.path(PATH_ID)
+				.build()
+				.toUriString();
+
+		return uriTemplateHandler.expand(uri, id);
+	}
+
+	@Benchmark
+	public URI restUriTemplate() {
+		return uriId.expand(id);
+	}
+
+}
@@ -0,0 +1,134 @@
+package org.giste.spring.util.service;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.giste.spring.util.config.format.WireFormat;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+/**
+ * Compares decoding the response of <code>findAll</code> for a large array of
+ * DTOs in each {@link WireFormat}, the way {@link BaseRestServiceImpl} does:
+ * a parser for the format and a {@link JsonArrayIterator} reading one DTO at a
+ * time.
+ *
+ * Run it with <code>mvn -Pbenchmark test-compile exec:java
+ * -Dexec.args="WireFormatBenchmark -prof gc"</code> to see allocation too.
+ *
+ * @author Giste
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WireFormatBenchmark {
+
+	@Param({ "JSON", "SMILE", "CBOR" })
+	private WireFormat wireFormat;
+
+	@Param({ "10000" })
+	private int size;
+
+	private JsonFactory factory;
+	private ObjectReader reader;
+	private byte[] body;
+
+	/**
+	 * DTO similar to the ones managed by services.
+	 */
+	public static class ClubDto {
+
+		private Long id;
+		private String name;
+		private String acronym;
+		private String url;
+		private boolean enabled;
+
+		public Long getId() {
+			return id;
+		}
+
+		public void setId(Long id) {
+			this.id = id;
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		public void setName(String name) {
+			this.name = name;
+		}
+
+		public String getAcronym() {
+			return acronym;
+		}
+
+		public void setAcronym(String acronym) {
+			this.acronym = acronym;
+		}
+
+		public String getUrl() {
+			return url;
+		}
+
+		public void setUrl(String url) {
+			this.url = url;
+		}
+
+		public boolean isEnabled() {
+			return enabled;
+		}
+
+		public void setEnabled(boolean enabled) {
+			this.enabled = enabled;
+		}
+
+	}
+
+	@Setup
+	public void setUp() throws IOException {
+		factory = wireFormat.createFactory();
+		reader = new ObjectMapper().readerFor(ClubDto.class);
+
+		List<ClubDto> dtos = new ArrayList<>(size);
+		for (int i = 0; i < size; i++) {
+			ClubDto dto = new ClubDto();
+			dto.setId((long) i);
+			dto.setName("Club " + i);
+			dto.setAcronym("C" + i);
+			dto.setUrl("http://www.club" + i + ".org");
+			dto.setEnabled(i % 2 == 0);
+			dtos.add(dto);
+		}
+		body = new ObjectMapper(factory).writeValueAsBytes(dtos);
+	}
+
+	@Benchmark
+	public void decodeArray(Blackhole blackhole) throws IOException {
+		try (JsonParser parser = factory.createParser(body)) {
+			new JsonArrayIterator<ClubDto>(parser, reader).forEachRemaining(blackhole::consume);
+		}
+	}
+
+}
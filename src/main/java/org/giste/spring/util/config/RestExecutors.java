@@ -0,0 +1,54 @@
+package org.giste.spring.util.config;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+/**
+ * Factory methods for the executors used to call the REST server
+ * asynchronously. Executors are bounded both in threads and in queued calls,
+ * so a slow REST server can't make them grow without limit. Calls beyond the
+ * limits are rejected with a <code>RejectedExecutionException</code>.
+ *
+ * @author Giste
+ */
+public final class RestExecutors {
+
+	private static final String THREAD_NAME_PREFIX = "rest-";
+
+	private RestExecutors() {
+
+	}
+
+	/**
+	 * Creates a new bounded executor configured from
+	 * {@link RestProperties#getAsyncPoolSize()} and
+	 * {@link RestProperties#getAsyncQueueCapacity()}.
+	 *
+	 * @param restProperties <code>RestProperties</code> with data for
+	 *            configuring the executor.
+	 * @return The created executor.
+	 */
+	public static ExecutorService newBoundedExecutor(RestProperties restProperties) {
+		return newBoundedExecutor(restProperties.getAsyncPoolSize(), restProperties.getAsyncQueueCapacity());
+	}
+
+	/**
+	 * Creates a new bounded executor.
+	 *
+	 * @param poolSize The number of threads of the executor.
+	 * @param queueCapacity The maximum number of calls waiting for a thread.
+	 * @return The created executor.
+	 */
+	public static ExecutorService newBoundedExecutor(int poolSize, int queueCapacity) {
+		CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(THREAD_NAME_PREFIX);
+		threadFactory.setDaemon(true);
+
+		return new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<>(queueCapacity), threadFactory, new ThreadPoolExecutor.AbortPolicy());
+	}
+
+}
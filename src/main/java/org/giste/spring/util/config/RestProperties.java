@@ -1,13 +1,61 @@
 package org.giste.spring.util.config;
 
+import java.util.Collections;
+import java.util.List;
+
+import org.giste.spring.util.config.balancer.LoadBalancingStrategy;
+import org.giste.spring.util.config.client.HttpProtocol;
+import org.giste.spring.util.config.compression.ContentEncoding;
+
 /**
  * Interface for getting access to REST server properties. It has getters for
  * the different properties needed to identify the REST server.
  * 
+ * Only the properties that identify the REST server have to be implemented.
+ * The others return their <code>DEFAULT_*</code> values unless they are
+ * overridden.
+ * 
  * @author Giste
  */
 public interface RestProperties {
 
+	// Defaults of the properties.
+	int DEFAULT_MAX_CONNECTIONS = 200;
+	int DEFAULT_MAX_CONNECTIONS_PER_ROUTE = 50;
+	int DEFAULT_CONNECT_TIMEOUT = 2000;
+	int DEFAULT_READ_TIMEOUT = 10000;
+	long DEFAULT_IDLE_CONNECTION_TIMEOUT = 30000;
+	long DEFAULT_KEEP_ALIVE = 30000;
+	int DEFAULT_ASYNC_POOL_SIZE = 20;
+	int DEFAULT_ASYNC_QUEUE_CAPACITY = 1000;
+	int DEFAULT_BULK_CHUNK_SIZE = 100;
+	int DEFAULT_CIRCUIT_BREAKER_FAILURE_RATE = 50;
+	int DEFAULT_CIRCUIT_BREAKER_SLOW_CALL_RATE = 80;
+	long DEFAULT_CIRCUIT_BREAKER_SLOW_CALL_DURATION = 5000;
+	int DEFAULT_CIRCUIT_BREAKER_WINDOW_SIZE = 100;
+	int DEFAULT_CIRCUIT_BREAKER_MINIMUM_CALLS = 20;
+	long DEFAULT_CIRCUIT_BREAKER_OPEN_DURATION = 30000;
+	int DEFAULT_CIRCUIT_BREAKER_HALF_OPEN_CALLS = 5;
+	int DEFAULT_RETRY_MAX_ATTEMPTS = 3;
+	long DEFAULT_RETRY_INITIAL_BACKOFF = 100;
+	long DEFAULT_RETRY_MAX_BACKOFF = 2000;
+	int DEFAULT_RETRY_BUDGET_PERCENT = 10;
+	int DEFAULT_HEDGE_PERCENTILE = 95;
+	long DEFAULT_HEDGE_MIN_DELAY = 20;
+	int DEFAULT_HEDGE_MAX_PERCENT = 5;
+	LoadBalancingStrategy DEFAULT_LOAD_BALANCING_STRATEGY = LoadBalancingStrategy.ROUND_ROBIN;
+	int DEFAULT_EJECTION_FAILURES = 5;
+	long DEFAULT_EJECTION_TIME = 30000;
+	int DEFAULT_CONCURRENCY_LIMIT_INITIAL = 20;
+	int DEFAULT_CONCURRENCY_LIMIT_MAX = 200;
+	long DEFAULT_CONCURRENCY_LIMIT_MAX_WAIT = 0;
+	long DEFAULT_CONCURRENCY_LIMIT_LATENCY = 2000;
+	int DEFAULT_COMPRESSION_THRESHOLD = 2048;
+	ContentEncoding DEFAULT_COMPRESSION_ENCODING = ContentEncoding.GZIP;
+	HttpProtocol DEFAULT_HTTP_PROTOCOL = HttpProtocol.HTTP_1_1;
+	int DEFAULT_WARM_UP_CONNECTIONS = 10;
+	int DEFAULT_WARM_UP_ITERATIONS = 1000;
+
 	/**
 	 * Gets the scheme of the REST server (usually HTTP).
 	 * 
@@ -36,4 +84,403 @@ public interface RestProperties {
 	 */
 	String getPath();
 
+	/**
+	 * Gets the maximum number of pooled connections to the REST server.
+	 * 
+	 * @return The maximum number of connections in the pool.
+	 */
+	default int getMaxConnections() {
+		return DEFAULT_MAX_CONNECTIONS;
+	}
+
+	/**
+	 * Gets the maximum number of pooled connections for each route (host and
+	 * port) of the REST server.
+	 * 
+	 * @return The maximum number of connections per route.
+	 */
+	default int getMaxConnectionsPerRoute() {
+		return DEFAULT_MAX_CONNECTIONS_PER_ROUTE;
+	}
+
+	/**
+	 * Gets the timeout in milliseconds for establishing a connection with the
+	 * REST server.
+	 * 
+	 * @return The connect timeout in milliseconds.
+	 */
+	default int getConnectTimeout() {
+		return DEFAULT_CONNECT_TIMEOUT;
+	}
+
+	/**
+	 * Gets the timeout in milliseconds for waiting data from the REST server.
+	 * 
+	 * @return The read timeout in milliseconds.
+	 */
+	default int getReadTimeout() {
+		return DEFAULT_READ_TIMEOUT;
+	}
+
+	/**
+	 * Gets the time in milliseconds after which an idle pooled connection is
+	 * evicted from the pool.
+	 * 
+	 * @return The idle time in milliseconds before evicting a connection.
+	 */
+	default long getIdleConnectionTimeout() {
+		return DEFAULT_IDLE_CONNECTION_TIMEOUT;
+	}
+
+	/**
+	 * Gets the time in milliseconds a connection is kept alive when the REST
+	 * server doesn't send a <code>Keep-Alive</code> header.
+	 * 
+	 * @return The default keep alive time in milliseconds.
+	 */
+	default long getKeepAlive() {
+		return DEFAULT_KEEP_ALIVE;
+	}
+
+	/**
+	 * Gets the number of threads for executing asynchronous calls to the REST
+	 * server.
+	 * 
+	 * @return The number of threads for asynchronous calls.
+	 */
+	default int getAsyncPoolSize() {
+		return DEFAULT_ASYNC_POOL_SIZE;
+	}
+
+	/**
+	 * Gets the maximum number of asynchronous calls waiting for a free thread.
+	 * Calls beyond this limit are rejected.
+	 * 
+	 * @return The capacity of the queue of asynchronous calls.
+	 */
+	default int getAsyncQueueCapacity() {
+		return DEFAULT_ASYNC_QUEUE_CAPACITY;
+	}
+
+	/**
+	 * Gets the number of entities sent or requested together in bulk
+	 * operations.
+	 * 
+	 * @return The size of the chunks of bulk operations.
+	 */
+	default int getBulkChunkSize() {
+		return DEFAULT_BULK_CHUNK_SIZE;
+	}
+
+	/**
+	 * Gets the percentage of failed calls to the REST server in the sliding
+	 * window of the circuit breaker above which the circuit is opened.
+	 * 
+	 * @return The failure rate threshold in percent.
+	 */
+	default int getCircuitBreakerFailureRate() {
+		return DEFAULT_CIRCUIT_BREAKER_FAILURE_RATE;
+	}
+
+	/**
+	 * Gets the percentage of slow calls to the REST server in the sliding
+	 * window of the circuit breaker above which the circuit is opened.
+	 * 
+	 * @return The slow call rate threshold in percent.
+	 */
+	default int getCircuitBreakerSlowCallRate() {
+		return DEFAULT_CIRCUIT_BREAKER_SLOW_CALL_RATE;
+	}
+
+	/**
+	 * Gets the time in milliseconds after which a call to the REST server is
+	 * considered slow by the circuit breaker.
+	 * 
+	 * @return The slow call duration in milliseconds.
+	 */
+	default long getCircuitBreakerSlowCallDuration() {
+		return DEFAULT_CIRCUIT_BREAKER_SLOW_CALL_DURATION;
+	}
+
+	/**
+	 * Gets the number of last calls to the REST server whose outcome is used
+	 * by the circuit breaker to compute the failure and slow call rates.
+	 * 
+	 * @return The size of the sliding window.
+	 */
+	default int getCircuitBreakerWindowSize() {
+		return DEFAULT_CIRCUIT_BREAKER_WINDOW_SIZE;
+	}
+
+	/**
+	 * Gets the minimum number of calls in the sliding window before the
+	 * circuit breaker can open the circuit.
+	 * 
+	 * @return The minimum number of calls.
+	 */
+	default int getCircuitBreakerMinimumCalls() {
+		return DEFAULT_CIRCUIT_BREAKER_MINIMUM_CALLS;
+	}
+
+	/**
+	 * Gets the time in milliseconds the circuit stays open before letting
+	 * probe calls through.
+	 * 
+	 * @return The open duration in milliseconds.
+	 */
+	default long getCircuitBreakerOpenDuration() {
+		return DEFAULT_CIRCUIT_BREAKER_OPEN_DURATION;
+	}
+
+	/**
+	 * Gets the number of probe calls let through when the circuit is half
+	 * open. Their outcome decides if the circuit is closed or opened again.
+	 * 
+	 * @return The number of probe calls.
+	 */
+	default int getCircuitBreakerHalfOpenCalls() {
+		return DEFAULT_CIRCUIT_BREAKER_HALF_OPEN_CALLS;
+	}
+
+	/**
+	 * Gets the maximum number of attempts of an idempotent call to the REST
+	 * server, the first one included, when retries are enabled.
+	 * 
+	 * @return The maximum number of attempts.
+	 */
+	default int getRetryMaxAttempts() {
+		return DEFAULT_RETRY_MAX_ATTEMPTS;
+	}
+
+	/**
+	 * Gets the maximum time in milliseconds to wait before the first retry.
+	 * It doubles for each following retry.
+	 * 
+	 * @return The initial backoff in milliseconds.
+	 */
+	default long getRetryInitialBackoff() {
+		return DEFAULT_RETRY_INITIAL_BACKOFF;
+	}
+
+	/**
+	 * Gets the maximum time in milliseconds to wait before any retry.
+	 * 
+	 * @return The maximum backoff in milliseconds.
+	 */
+	default long getRetryMaxBackoff() {
+		return DEFAULT_RETRY_MAX_BACKOFF;
+	}
+
+	/**
+	 * Gets the maximum percentage of calls to the REST server that can be
+	 * retries.
+	 * 
+	 * @return The retry budget in percent.
+	 */
+	default int getRetryBudgetPercent() {
+		return DEFAULT_RETRY_BUDGET_PERCENT;
+	}
+
+	/**
+	 * Gets the percentile of the latency of the REST server after which a
+	 * hedged call sends a second request.
+	 * 
+	 * @return The hedging percentile.
+	 */
+	default int getHedgePercentile() {
+		return DEFAULT_HEDGE_PERCENTILE;
+	}
+
+	/**
+	 * Gets the minimum time in milliseconds a hedged call waits before sending
+	 * a second request.
+	 * 
+	 * @return The minimum hedging delay in milliseconds.
+	 */
+	default long getHedgeMinDelay() {
+		return DEFAULT_HEDGE_MIN_DELAY;
+	}
+
+	/**
+	 * Gets the maximum percentage of hedged calls that can send a second
+	 * request.
+	 * 
+	 * @return The maximum hedge rate in percent.
+	 */
+	default int getHedgeMaxPercent() {
+		return DEFAULT_HEDGE_MAX_PERCENT;
+	}
+
+	/**
+	 * Gets the base URIs, like <code>http://host:port</code>, of the replicas
+	 * of the REST server. When there is more than one, requests are balanced
+	 * between them with the strategy from {@link #getLoadBalancingStrategy()}.
+	 * Scheme, host and port are still used to build the URIs of the requests,
+	 * which are sent to the chosen endpoint.
+	 * 
+	 * @return The endpoints of the REST server, or an empty list for sending
+	 *         requests to scheme, host and port.
+	 */
+	default List<String> getEndpoints() {
+		return Collections.emptyList();
+	}
+
+	/**
+	 * Gets the strategy for choosing the endpoint of each request.
+	 * 
+	 * @return The load balancing strategy.
+	 */
+	default LoadBalancingStrategy getLoadBalancingStrategy() {
+		return DEFAULT_LOAD_BALANCING_STRATEGY;
+	}
+
+	/**
+	 * Gets the number of consecutive failed requests after which an endpoint
+	 * is ejected from load balancing.
+	 * 
+	 * @return The number of failures before ejecting an endpoint.
+	 */
+	default int getEjectionFailures() {
+		return DEFAULT_EJECTION_FAILURES;
+	}
+
+	/**
+	 * Gets the time in milliseconds an ejected endpoint doesn't receive
+	 * requests.
+	 * 
+	 * @return The ejection time in milliseconds.
+	 */
+	default long getEjectionTime() {
+		return DEFAULT_EJECTION_TIME;
+	}
+
+	/**
+	 * Gets the initial limit of concurrent calls of each service to REST server,
+	 * used by <code>ConcurrencyLimiter</code>.
+	 * 
+	 * @return The initial limit of concurrent calls.
+	 */
+	default int getConcurrencyLimitInitial() {
+		return DEFAULT_CONCURRENCY_LIMIT_INITIAL;
+	}
+
+	/**
+	 * Gets the maximum limit of concurrent calls of each service to REST server.
+	 * 
+	 * @return The maximum limit of concurrent calls.
+	 */
+	default int getConcurrencyLimitMax() {
+		return DEFAULT_CONCURRENCY_LIMIT_MAX;
+	}
+
+	/**
+	 * Gets the time a call waits for a permit when the limit of concurrent calls
+	 * has been reached.
+	 * 
+	 * @return The maximum waiting time in milliseconds, or 0 for rejecting
+	 *         calls without waiting.
+	 */
+	default long getConcurrencyLimitMaxWait() {
+		return DEFAULT_CONCURRENCY_LIMIT_MAX_WAIT;
+	}
+
+	/**
+	 * Gets the latency above which a call means the REST server is overloaded,
+	 * so the limit of concurrent calls is decreased.
+	 * 
+	 * @return The latency threshold in milliseconds.
+	 */
+	default long getConcurrencyLimitLatency() {
+		return DEFAULT_CONCURRENCY_LIMIT_LATENCY;
+	}
+
+	/**
+	 * Checks if bodies of requests and responses are compressed, using
+	 * <code>CompressionInterceptor</code>.
+	 * 
+	 * @return <code>true</code> if compression is enabled.
+	 */
+	default boolean isCompressionEnabled() {
+		return false;
+	}
+
+	/**
+	 * Gets the minimum size of a request body to be compressed.
+	 * 
+	 * @return The compression threshold in bytes.
+	 */
+	default int getCompressionThreshold() {
+		return DEFAULT_COMPRESSION_THRESHOLD;
+	}
+
+	/**
+	 * Gets the encoding for compressing request bodies.
+	 * 
+	 * @return The encoding of compressed requests.
+	 */
+	default ContentEncoding getCompressionEncoding() {
+		return DEFAULT_COMPRESSION_ENCODING;
+	}
+
+	/**
+	 * Gets the protocol for communicating with REST server. HTTP/2 protocols
+	 * need OkHttp in the classpath.
+	 * 
+	 * @return The HTTP protocol.
+	 */
+	default HttpProtocol getHttpProtocol() {
+		return DEFAULT_HTTP_PROTOCOL;
+	}
+
+	/**
+	 * Checks if services are warmed up at startup by <code>ServiceWarmUp</code>.
+	 * 
+	 * @return <code>true</code> if warm up is enabled.
+	 */
+	default boolean isWarmUpEnabled() {
+		return false;
+	}
+
+	/**
+	 * Gets the number of connections opened with each endpoint of REST server
+	 * at startup.
+	 * 
+	 * @return The number of connections to open.
+	 */
+	default int getWarmUpConnections() {
+		return DEFAULT_WARM_UP_CONNECTIONS;
+	}
+
+	/**
+	 * Gets the number of times each service writes and reads its DTOs at
+	 * startup.
+	 * 
+	 * @return The number of warm up iterations.
+	 */
+	default int getWarmUpIterations() {
+		return DEFAULT_WARM_UP_ITERATIONS;
+	}
+
+	/**
+	 * Checks if Jackson converters of <code>RestTemplate</code> use
+	 * Afterburner, which replaces reflection with generated bytecode for
+	 * reading and writing DTOs. It needs
+	 * <code>jackson-module-afterburner</code> in the classpath.
+	 * 
+	 * @return <code>true</code> if Afterburner is enabled.
+	 */
+	default boolean isAfterburnerEnabled() {
+		return false;
+	}
+
+	/**
+	 * Checks if calls of services to REST server are measured, with latency
+	 * histograms, error counts and payload sizes of each operation.
+	 * 
+	 * @return <code>true</code> if metrics are enabled.
+	 */
+	default boolean isMetricsEnabled() {
+		return false;
+	}
+
 }
\ No newline at end of file
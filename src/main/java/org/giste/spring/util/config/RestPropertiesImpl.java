@@ -1,5 +1,12 @@
 package org.giste.spring.util.config;
 
+import java.util.ArrayList;
+import java.util.List;
+
+import org.giste.spring.util.config.balancer.LoadBalancingStrategy;
+import org.giste.spring.util.config.client.HttpProtocol;
+import org.giste.spring.util.config.compression.ContentEncoding;
+
 /**
  * Configuration class for storing Rest Server properties.
  * 
@@ -11,6 +18,46 @@ public class RestPropertiesImpl implements RestProperties {
 	private String host;
 	private int port;
 	private String path;
+	private int maxConnections = DEFAULT_MAX_CONNECTIONS;
+	private int maxConnectionsPerRoute = DEFAULT_MAX_CONNECTIONS_PER_ROUTE;
+	private int connectTimeout = DEFAULT_CONNECT_TIMEOUT;
+	private int readTimeout = DEFAULT_READ_TIMEOUT;
+	private long idleConnectionTimeout = DEFAULT_IDLE_CONNECTION_TIMEOUT;
+	private long keepAlive = DEFAULT_KEEP_ALIVE;
+	private int asyncPoolSize = DEFAULT_ASYNC_POOL_SIZE;
+	private int asyncQueueCapacity = DEFAULT_ASYNC_QUEUE_CAPACITY;
+	private int bulkChunkSize = DEFAULT_BULK_CHUNK_SIZE;
+	private int circuitBreakerFailureRate = DEFAULT_CIRCUIT_BREAKER_FAILURE_RATE;
+	private int circuitBreakerSlowCallRate = DEFAULT_CIRCUIT_BREAKER_SLOW_CALL_RATE;
+	private long circuitBreakerSlowCallDuration = DEFAULT_CIRCUIT_BREAKER_SLOW_CALL_DURATION;
+	private int circuitBreakerWindowSize = DEFAULT_CIRCUIT_BREAKER_WINDOW_SIZE;
+	private int circuitBreakerMinimumCalls = DEFAULT_CIRCUIT_BREAKER_MINIMUM_CALLS;
+	private long circuitBreakerOpenDuration = DEFAULT_CIRCUIT_BREAKER_OPEN_DURATION;
+	private int circuitBreakerHalfOpenCalls = DEFAULT_CIRCUIT_BREAKER_HALF_OPEN_CALLS;
+	private int retryMaxAttempts = DEFAULT_RETRY_MAX_ATTEMPTS;
+	private long retryInitialBackoff = DEFAULT_RETRY_INITIAL_BACKOFF;
+	private long retryMaxBackoff = DEFAULT_RETRY_MAX_BACKOFF;
+	private int retryBudgetPercent = DEFAULT_RETRY_BUDGET_PERCENT;
+	private int hedgePercentile = DEFAULT_HEDGE_PERCENTILE;
+	private long hedgeMinDelay = DEFAULT_HEDGE_MIN_DELAY;
+	private int hedgeMaxPercent = DEFAULT_HEDGE_MAX_PERCENT;
+	private List<String> endpoints = new ArrayList<>();
+	private LoadBalancingStrategy loadBalancingStrategy = DEFAULT_LOAD_BALANCING_STRATEGY;
+	private int ejectionFailures = DEFAULT_EJECTION_FAILURES;
+	private long ejectionTime = DEFAULT_EJECTION_TIME;
+	private int concurrencyLimitInitial = DEFAULT_CONCURRENCY_LIMIT_INITIAL;
+	private int concurrencyLimitMax = DEFAULT_CONCURRENCY_LIMIT_MAX;
+	private long concurrencyLimitMaxWait = DEFAULT_CONCURRENCY_LIMIT_MAX_WAIT;
+	private long concurrencyLimitLatency = DEFAULT_CONCURRENCY_LIMIT_LATENCY;
+	private boolean compressionEnabled;
+	private int compressionThreshold = DEFAULT_COMPRESSION_THRESHOLD;
+	private ContentEncoding compressionEncoding = DEFAULT_COMPRESSION_ENCODING;
+	private HttpProtocol httpProtocol = DEFAULT_HTTP_PROTOCOL;
+	private boolean warmUpEnabled;
+	private int warmUpConnections = DEFAULT_WARM_UP_CONNECTIONS;
+	private int warmUpIterations = DEFAULT_WARM_UP_ITERATIONS;
+	private boolean afterburnerEnabled;
+	private boolean metricsEnabled;
 
 	@Override
 	public String getScheme() {
@@ -48,4 +95,364 @@ public class RestPropertiesImpl implements RestProperties {
 		this.path = path;
 	}
 
-}
+	@Override
+	public int getMaxConnections() {
+		return maxConnections;
+	}
+
+	public void setMaxConnections(int maxConnections) {
+		this.maxConnections = maxConnections;
+	}
+
+	@Override
+	public int getMaxConnectionsPerRoute() {
+		return maxConnectionsPerRoute;
+	}
+
+	public void setMaxConnectionsPerRoute(int maxConnectionsPerRoute) {
+		this.maxConnectionsPerRoute = maxConnectionsPerRoute;
+	}
+
+	@Override
+	public int getConnectTimeout() {
+		return connectTimeout;
+	}
+
+	public void setConnectTimeout(int connectTimeout) {
+		this.connectTimeout = connectTimeout;
+	}
+
+	@Override
+	public int getReadTimeout() {
+		return readTimeout;
+	}
+
+	public void setReadTimeout(int readTimeout) {
+		this.readTimeout = readTimeout;
+	}
+
+	@Override
+	public long getIdleConnectionTimeout() {
+		return idleConnectionTimeout;
+	}
+
+	public void setIdleConnectionTimeout(long idleConnectionTimeout) {
+		this.idleConnectionTimeout = idleConnectionTimeout;
+	}
+
+	@Override
+	public long getKeepAlive() {
+		return keepAlive;
+	}
+
+	public void setKeepAlive(long keepAlive) {
+		this.keepAlive = keepAlive;
+	}
+
+	@Override
+	public int getAsyncPoolSize() {
+		return asyncPoolSize;
+	}
+
+	public void setAsyncPoolSize(int asyncPoolSize) {
+		this.asyncPoolSize = asyncPoolSize;
+	}
+
+	@Override
+	public int getAsyncQueueCapacity() {
+		return asyncQueueCapacity;
+	}
+
+	public void setAsyncQueueCapacity(int asyncQueueCapacity) {
+		this.asyncQueueCapacity = asyncQueueCapacity;
+	}
+
+	@Override
+	public int getBulkChunkSize() {
+		return bulkChunkSize;
+	}
+
+	public void setBulkChunkSize(int bulkChunkSize) {
+		this.bulkChunkSize = bulkChunkSize;
+	}
+
+	@Override
+	public int getCircuitBreakerFailureRate() {
+		return circuitBreakerFailureRate;
+	}
+
+	public void setCircuitBreakerFailureRate(int circuitBreakerFailureRate) {
+		this.circuitBreakerFailureRate = circuitBreakerFailureRate;
+	}
+
+	@Override
+	public int getCircuitBreakerSlowCallRate() {
+		return circuitBreakerSlowCallRate;
+	}
+
+	public void setCircuitBreakerSlowCallRate(int circuitBreakerSlowCallRate) {
+		this.circuitBreakerSlowCallRate = circuitBreakerSlowCallRate;
+	}
+
+	@Override
+	public long getCircuitBreakerSlowCallDuration() {
+		return circuitBreakerSlowCallDuration;
+	}
+
+	public void setCircuitBreakerSlowCallDuration(long circuitBreakerSlowCallDuration) {
+		this.circuitBreakerSlowCallDuration = circuitBreakerSlowCallDuration;
+	}
+
+	@Override
+	public int getCircuitBreakerWindowSize() {
+		return circuitBreakerWindowSize;
+	}
+
+	public void setCircuitBreakerWindowSize(int circuitBreakerWindowSize) {
+		this.circuitBreakerWindowSize = circuitBreakerWindowSize;
+	}
+
+	@Override
+	public int getCircuitBreakerMinimumCalls() {
+		return circuitBreakerMinimumCalls;
+	}
+
+	public void setCircuitBreakerMinimumCalls(int circuitBreakerMinimumCalls) {
+		this.circuitBreakerMinimumCalls = circuitBreakerMinimumCalls;
+	}
+
+	@Override
+	public long getCircuitBreakerOpenDuration() {
+		return circuitBreakerOpenDuration;
+	}
+
+	public void setCircuitBreakerOpenDuration(long circuitBreakerOpenDuration) {
+		this.circuitBreakerOpenDuration = circuitBreakerOpenDuration;
+	}
+
+	@Override
+	public int getCircuitBreakerHalfOpenCalls() {
+		return circuitBreakerHalfOpenCalls;
+	}
+
+	public void setCircuitBreakerHalfOpenCalls(int circuitBreakerHalfOpenCalls) {
+		this.circuitBreakerHalfOpenCalls = circuitBreakerHalfOpenCalls;
+	}
+
+	@Override
+	public int getRetryMaxAttempts() {
+		return retryMaxAttempts;
+	}
+
+	public void setRetryMaxAttempts(int retryMaxAttempts) {
+		this.retryMaxAttempts = retryMaxAttempts;
+	}
+
+	@Override
+	public long getRetryInitialBackoff() {
+		return retryInitialBackoff;
+	}
+
+	public void setRetryInitialBackoff(long retryInitialBackoff) {
+		this.retryInitialBackoff = retryInitialBackoff;
+	}
+
+	@Override
+	public long getRetryMaxBackoff() {
+		return retryMaxBackoff;
+	}
+
+	public void setRetryMaxBackoff(long retryMaxBackoff) {
+		this.retryMaxBackoff = retryMaxBackoff;
+	}
+
+	@Override
+	public int getRetryBudgetPercent() {
+		return retryBudgetPercent;
+	}
+
+	public void setRetryBudgetPercent(int retryBudgetPercent) {
+		this.retryBudgetPercent = retryBudgetPercent;
+	}
+
+	@Override
+	public int getHedgePercentile() {
+		return hedgePercentile;
+	}
+
+	public void setHedgePercentile(int hedgePercentile) {
+		this.hedgePercentile = hedgePercentile;
+	}
+
+	@Override
+	public long getHedgeMinDelay() {
+		return hedgeMinDelay;
+	}
+
+	public void setHedgeMinDelay(long hedgeMinDelay) {
+		this.hedgeMinDelay = hedgeMinDelay;
+	}
+
+	@Override
+	public int getHedgeMaxPercent() {
+		return hedgeMaxPercent;
+	}
+
+	public void setHedgeMaxPercent(int hedgeMaxPercent) {
+		this.hedgeMaxPercent = hedgeMaxPercent;
+	}
+
+	@Override
+	public List<String> getEndpoints() {
+		return endpoints;
+	}
+
+	public void setEndpoints(List<String> endpoints) {
+		this.endpoints = endpoints;
+	}
+
+	@Override
+	public LoadBalancingStrategy getLoadBalancingStrategy() {
+		return loadBalancingStrategy;
+	}
+
+	public void setLoadBalancingStrategy(LoadBalancingStrategy loadBalancingStrategy) {
+		this.loadBalancingStrategy = loadBalancingStrategy;
+	}
+
+	@Override
+	public int getEjectionFailures() {
+		return ejectionFailures;
+	}
+
+	public void setEjectionFailures(int ejectionFailures) {
+		this.ejectionFailures = ejectionFailures;
+	}
+
+	@Override
+	public long getEjectionTime() {
+		return ejectionTime;
+	}
+
+	public void setEjectionTime(long ejectionTime) {
+		this.ejectionTime = ejectionTime;
+	}
+
+	@Override
+	public int getConcurrencyLimitInitial() {
+		return concurrencyLimitInitial;
+	}
+
+	public void setConcurrencyLimitInitial(int concurrencyLimitInitial) {
+		this.concurrencyLimitInitial = concurrencyLimitInitial;
+	}
+
+	@Override
+	public int getConcurrencyLimitMax() {
+		return concurrencyLimitMax;
+	}
+
+	public void setConcurrencyLimitMax(int concurrencyLimitMax) {
+		this.concurrencyLimitMax = concurrencyLimitMax;
+	}
+
+	@Override
+	public long getConcurrencyLimitMaxWait() {
+		return concurrencyLimitMaxWait;
+	}
+
+	public void setConcurrencyLimitMaxWait(long concurrencyLimitMaxWait) {
+		this.concurrencyLimitMaxWait = concurrencyLimitMaxWait;
+	}
+
+	@Override
+	public long getConcurrencyLimitLatency() {
+		return concurrencyLimitLatency;
+	}
+
+	public void setConcurrencyLimitLatency(long concurrencyLimitLatency) {
+		this.concurrencyLimitLatency = concurrencyLimitLatency;
+	}
+
+	@Override
+	public boolean isCompressionEnabled() {
+		return compressionEnabled;
+	}
+
+	public void setCompressionEnabled(boolean compressionEnabled) {
+		this.compressionEnabled = compressionEnabled;
+	}
+
+	@Override
+	public int getCompressionThreshold() {
+		return compressionThreshold;
+	}
+
+	public void setCompressionThreshold(int compressionThreshold) {
+		this.compressionThreshold = compressionThreshold;
+	}
+
+	@Override
+	public ContentEncoding getCompressionEncoding() {
+		return compressionEncoding;
+	}
+
+	public void setCompressionEncoding(ContentEncoding compressionEncoding) {
+		this.compressionEncoding = compressionEncoding;
+	}
+
+	@Override
+	public HttpProtocol getHttpProtocol() {
+		return httpProtocol;
+	}
+
+	public void setHttpProtocol(HttpProtocol httpProtocol) {
+		this.httpProtocol = httpProtocol;
+	}
+
+	@Override
+	public boolean isWarmUpEnabled() {
+		return warmUpEnabled;
+	}
+
+	public void setWarmUpEnabled(boolean warmUpEnabled) {
+		this.warmUpEnabled = warmUpEnabled;
+	}
+
+	@Override
+	public int getWarmUpConnections() {
+		return warmUpConnections;
+	}
+
+	public void setWarmUpConnections(int warmUpConnections) {
+		this.warmUpConnections = warmUpConnections;
+	}
+
+	@Override
+	public int getWarmUpIterations() {
+		return warmUpIterations;
+	}
+
+	public void setWarmUpIterations(int warmUpIterations) {
+		this.warmUpIterations = warmUpIterations;
+	}
+
+	@Override
+	public boolean isAfterburnerEnabled() {
+		return afterburnerEnabled;
+	}
+
+	public void setAfterburnerEnabled(boolean afterburnerEnabled) {
+		this.afterburnerEnabled = afterburnerEnabled;
+	}
+
+	@Override
+	public boolean isMetricsEnabled() {
+		return metricsEnabled;
+	}
+
+	public void setMetricsEnabled(boolean metricsEnabled) {
+		this.metricsEnabled = metricsEnabled;
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,444 @@
+package org.giste.spring.util.config;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.http.HttpClientConnection;
+import org.apache.http.HttpHost;
+import org.apache.http.client.HttpClient;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.protocol.HttpClientContext;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.conn.UnsupportedSchemeException;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.impl.conn.DefaultSchemePortResolver;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.protocol.HttpContext;
+import org.giste.spring.util.config.balancer.Endpoint;
+import org.giste.spring.util.config.balancer.LoadBalancer;
+import org.giste.spring.util.config.balancer.LoadBalancingInterceptor;
+import org.giste.spring.util.config.balancer.LoadBalancingStrategy;
+import org.giste.spring.util.config.client.HttpProtocol;
+import org.giste.spring.util.config.client.OkHttpRequestFactory;
+import org.giste.spring.util.config.compression.CompressionInterceptor;
+import org.giste.spring.util.config.compression.ContentEncoding;
+import org.giste.spring.util.config.format.AfterburnerSupport;
+import org.giste.spring.util.config.format.MappingJackson2CborHttpMessageConverter;
+import org.giste.spring.util.config.format.WireFormat;
+import org.giste.spring.util.service.metrics.PayloadSizeInterceptor;
+import org.giste.spring.util.service.timeout.CallTimeouts;
+import org.giste.spring.util.service.timeout.Deadline;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * Factory for <code>RestTemplate</code> objects that communicate with the REST
+ * server through a pool of keep-alive connections. All the
+ * <code>RestTemplate</code> objects created by the same factory share the same
+ * connection pool, so services for different entities reuse the connections
+ * already opened with the REST server.
+ *
+ * The pool is configured from {@link RestProperties}:
+ * <ul>
+ * <li>{@link RestProperties#getMaxConnections()} and
+ * {@link RestProperties#getMaxConnectionsPerRoute()} to limit the size of the
+ * pool.</li>
+ * <li>{@link RestProperties#getIdleConnectionTimeout()} to evict idle
+ * connections.</li>
+ * <li>{@link RestProperties#getKeepAlive()} to keep connections alive when the
+ * server doesn't say for how long.</li>
+ * <li>{@link RestProperties#getConnectTimeout()} and
+ * {@link RestProperties#getReadTimeout()} for the timeouts of each
+ * request.</li>
+ * </ul>
+ *
+ * Timeouts of a request are overridden by the ones set by services with
+ * {@link CallTimeouts} for the call in progress. If the call has a deadline,
+ * the remaining time is sent to the REST server in the
+ * {@link Deadline#HEADER_REQUEST_TIMEOUT} header.
+ *
+ * When {@link RestProperties#getHttpProtocol()} is an HTTP/2 protocol, requests
+ * are sent with OkHttp instead, and concurrent requests share a few
+ * multiplexed connections. The pool keeps up to
+ * {@link RestProperties#getMaxConnectionsPerRoute()} idle connections for
+ * {@link RestProperties#getIdleConnectionTimeout()}.
+ *
+ * When {@link RestProperties#isCompressionEnabled()} is set, the created
+ * <code>RestTemplate</code> objects compress request bodies larger than
+ * {@link RestProperties#getCompressionThreshold()} and ask for compressed
+ * responses, through a single {@link CompressionInterceptor}. Otherwise, the
+ * HTTP client asks for compressed responses on its own.
+ *
+ * When {@link RestProperties#getEndpoints()} has endpoints, the created
+ * <code>RestTemplate</code> objects balance their requests between them with a
+ * single {@link LoadBalancer}, so the load of all services is taken into
+ * account.
+ *
+ * The factory should be closed when the application stops to release the
+ * pooled connections.
+ *
+ * @author Giste
+ */
+public class RestTemplateFactory implements Closeable {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(RestTemplateFactory.class);
+
+	private final RestProperties restProperties;
+	private final HttpProtocol httpProtocol;
+	private final PoolingHttpClientConnectionManager connectionManager;
+	private final ClientHttpRequestFactory requestFactory;
+	private final LoadBalancer loadBalancer;
+	private final CompressionInterceptor compressionInterceptor;
+
+	/**
+	 * Constructs a new factory and the connection pool shared by all the
+	 * <code>RestTemplate</code> objects created by it.
+	 *
+	 * @param restProperties <code>RestProperties</code> with data for
+	 *            configuring the connection pool.
+	 */
+	public RestTemplateFactory(RestProperties restProperties) {
+		this.restProperties = restProperties;
+		this.httpProtocol = restProperties.getHttpProtocol() == null
+				? RestProperties.DEFAULT_HTTP_PROTOCOL
+				: restProperties.getHttpProtocol();
+		this.connectionManager = httpProtocol == HttpProtocol.HTTP_1_1 ? createConnectionManager() : null;
+		this.requestFactory = createRequestFactory();
+		this.loadBalancer = createLoadBalancer();
+		this.compressionInterceptor = createCompressionInterceptor();
+	}
+
+	private CompressionInterceptor createCompressionInterceptor() {
+		if (!restProperties.isCompressionEnabled()) {
+			return null;
+		}
+
+		ContentEncoding encoding = restProperties.getCompressionEncoding() == null
+				? RestProperties.DEFAULT_COMPRESSION_ENCODING
+				: restProperties.getCompressionEncoding();
+
+		return new CompressionInterceptor(encoding, restProperties.getCompressionThreshold());
+	}
+
+	private ClientHttpRequestFactory createRequestFactory() {
+		if (httpProtocol != HttpProtocol.HTTP_1_1) {
+			return new OkHttpRequestFactory(restProperties, httpProtocol);
+		}
+
+		TimeoutRequestFactory timeoutRequestFactory = new TimeoutRequestFactory(createHttpClient());
+		timeoutRequestFactory.setConnectTimeout(restProperties.getConnectTimeout());
+		timeoutRequestFactory.setReadTimeout(restProperties.getReadTimeout());
+
+		return timeoutRequestFactory;
+	}
+
+	private LoadBalancer createLoadBalancer() {
+		List<String> uris = restProperties.getEndpoints();
+		if (uris == null || uris.isEmpty()) {
+			return null;
+		}
+
+		List<Endpoint> endpoints = new ArrayList<>(uris.size());
+		for (String uri : uris) {
+			endpoints.add(new Endpoint(uri));
+		}
+
+		LoadBalancingStrategy strategy = restProperties.getLoadBalancingStrategy() == null
+				? RestProperties.DEFAULT_LOAD_BALANCING_STRATEGY
+				: restProperties.getLoadBalancingStrategy();
+
+		return strategy.create(endpoints, restProperties.getEjectionFailures(), restProperties.getEjectionTime());
+	}
+
+	private PoolingHttpClientConnectionManager createConnectionManager() {
+		PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+		connectionManager.setMaxTotal(restProperties.getMaxConnections());
+		connectionManager.setDefaultMaxPerRoute(restProperties.getMaxConnectionsPerRoute());
+
+		return connectionManager;
+	}
+
+	private CloseableHttpClient createHttpClient() {
+		HttpClientBuilder builder = HttpClientBuilder.create()
+				.setConnectionManager(connectionManager)
+				.setKeepAliveStrategy(createKeepAliveStrategy())
+				.evictExpiredConnections()
+				.evictIdleConnections(restProperties.getIdleConnectionTimeout(), TimeUnit.MILLISECONDS);
+		if (restProperties.isCompressionEnabled()) {
+			// Compression is done by CompressionInterceptor, so it can count
+			// the bytes on the wire.
+			builder.disableContentCompression();
+		}
+
+		return builder.build();
+	}
+
+	private ConnectionKeepAliveStrategy createKeepAliveStrategy() {
+		final long keepAlive = restProperties.getKeepAlive();
+
+		return (response, context) -> {
+			// Honor Keep-Alive header from server if present.
+			long duration = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+
+			return duration > 0 ? duration : keepAlive;
+		};
+	}
+
+	/**
+	 * Gets the <code>ClientHttpRequestFactory</code> backed by the connection
+	 * pool of this factory. It's an {@link OkHttpRequestFactory} for HTTP/2
+	 * protocols.
+	 *
+	 * @return The pooled <code>ClientHttpRequestFactory</code>.
+	 */
+	public ClientHttpRequestFactory getRequestFactory() {
+		return requestFactory;
+	}
+
+	/**
+	 * Opens connections with the REST server in advance and leaves them idle
+	 * in the pool, so the first requests don't pay for connection setup. With
+	 * endpoints, connections are opened with each one of them. With HTTP/2
+	 * nothing is done, as the few shared connections are opened by the first
+	 * requests. Connections that can't be opened are logged and skipped.
+	 *
+	 * @param count The number of connections to open with each endpoint,
+	 *            limited by {@link RestProperties#getMaxConnectionsPerRoute()}.
+	 * @return The number of connections opened.
+	 */
+	public int openConnections(int count) {
+		if (connectionManager == null) {
+			return 0;
+		}
+
+		List<HttpHost> hosts = new ArrayList<>();
+		if (loadBalancer == null) {
+			if (restProperties.getHost() != null) {
+				hosts.add(new HttpHost(restProperties.getHost(), restProperties.getPort(),
+						restProperties.getScheme()));
+			}
+		} else {
+			for (Endpoint endpoint : loadBalancer.getEndpoints()) {
+				URI uri = endpoint.getUri();
+				hosts.add(new HttpHost(uri.getHost(), uri.getPort(), uri.getScheme()));
+			}
+		}
+
+		int opened = 0;
+		for (HttpHost host : hosts) {
+			opened += openConnections(host, Math.min(count, connectionManager.getDefaultMaxPerRoute()));
+		}
+
+		return opened;
+	}
+
+	private int openConnections(HttpHost host, int count) {
+		HttpRoute route;
+		try {
+			// Same route as the one planned by HttpClient, so connections are
+			// reused.
+			HttpHost target = new HttpHost(host.getHostName(),
+					DefaultSchemePortResolver.INSTANCE.resolve(host), host.getSchemeName());
+			route = new HttpRoute(target, null, "https".equalsIgnoreCase(target.getSchemeName()));
+		} catch (UnsupportedSchemeException e) {
+			LOGGER.warn("Can't open connections with {}: {}", host, e.getMessage());
+			return 0;
+		}
+
+		// Lease all the connections at once, so each one is a new connection.
+		List<HttpClientConnection> connections = new ArrayList<>(count);
+		try {
+			for (int i = 0; i < count; i++) {
+				HttpClientConnection connection = connectionManager.requestConnection(route, null)
+						.get(restProperties.getConnectTimeout(), TimeUnit.MILLISECONDS);
+				connections.add(connection);
+				if (!connection.isOpen()) {
+					HttpClientContext context = HttpClientContext.create();
+					connectionManager.connect(connection, route, restProperties.getConnectTimeout(), context);
+					connectionManager.routeComplete(connection, route, context);
+				}
+			}
+		} catch (IOException | ExecutionException e) {
+			LOGGER.warn("Can't open connections with {}: {}", route, e.getMessage());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} finally {
+			for (HttpClientConnection connection : connections) {
+				if (connection.isOpen()) {
+					connectionManager.releaseConnection(connection, null, restProperties.getKeepAlive(),
+							TimeUnit.MILLISECONDS);
+				} else {
+					// Never connected, so it's not kept in the pool.
+					connectionManager.releaseConnection(connection, null, 0, TimeUnit.MILLISECONDS);
+				}
+			}
+		}
+
+		int opened = 0;
+		for (HttpClientConnection connection : connections) {
+			if (connection.isOpen()) {
+				opened++;
+			}
+		}
+
+		return opened;
+	}
+
+	/**
+	 * Gets the load balancer shared by the <code>RestTemplate</code> objects
+	 * created by this factory.
+	 *
+	 * @return The load balancer, or <code>null</code> if there are no
+	 *         endpoints.
+	 */
+	public LoadBalancer getLoadBalancer() {
+		return loadBalancer;
+	}
+
+	/**
+	 * Gets the compression interceptor shared by the <code>RestTemplate</code>
+	 * objects created by this factory, with the counters of compressed bytes.
+	 *
+	 * @return The compression interceptor, or <code>null</code> if compression
+	 *         is not enabled.
+	 */
+	public CompressionInterceptor getCompressionInterceptor() {
+		return compressionInterceptor;
+	}
+
+	/**
+	 * Creates a new <code>RestTemplate</code> that uses the connection pool of
+	 * this factory, and its load balancer and compression interceptor if there
+	 * are any. It measures the payload sizes of the calls of services if
+	 * metrics are enabled, and it can read Smile and CBOR responses besides
+	 * JSON if their Jackson modules are in the classpath. Its Jackson
+	 * converters use Afterburner if it's enabled.
+	 *
+	 * @return The created <code>RestTemplate</code>.
+	 */
+	public RestTemplate createRestTemplate() {
+		List<ClientHttpRequestInterceptor> interceptors = new ArrayList<>();
+		if (loadBalancer != null) {
+			interceptors.add(new LoadBalancingInterceptor(loadBalancer));
+		}
+		if (restProperties.isMetricsEnabled()) {
+			// Interceptors make RestTemplate buffer request bodies.
+			interceptors.add(new PayloadSizeInterceptor());
+		}
+		if (compressionInterceptor != null) {
+			// Last one, so the others see decoded bodies.
+			interceptors.add(compressionInterceptor);
+		}
+
+		RestTemplate restTemplate = new RestTemplate(requestFactory);
+		restTemplate.setInterceptors(interceptors);
+		// After the JSON converter, so JSON stays the preferred format.
+		if (WireFormat.SMILE.isAvailable()) {
+			restTemplate.getMessageConverters().add(new MappingJackson2SmileHttpMessageConverter());
+		}
+		if (WireFormat.CBOR.isAvailable()) {
+			restTemplate.getMessageConverters().add(new MappingJackson2CborHttpMessageConverter());
+		}
+		if (restProperties.isAfterburnerEnabled()) {
+			registerAfterburner(restTemplate);
+		}
+
+		return restTemplate;
+	}
+
+	private void registerAfterburner(RestTemplate restTemplate) {
+		if (!AfterburnerSupport.isAvailable()) {
+			LOGGER.warn("Afterburner is enabled but jackson-module-afterburner is not in the classpath");
+			return;
+		}
+
+		for (HttpMessageConverter<?> converter : restTemplate.getMessageConverters()) {
+			if (converter instanceof AbstractJackson2HttpMessageConverter) {
+				AfterburnerSupport.register(((AbstractJackson2HttpMessageConverter) converter).getObjectMapper());
+			}
+		}
+	}
+
+	/**
+	 * Request factory that applies the timeouts of the call in progress.
+	 */
+	private class TimeoutRequestFactory extends HttpComponentsClientHttpRequestFactory {
+
+		TimeoutRequestFactory(HttpClient httpClient) {
+			super(httpClient);
+		}
+
+		@Override
+		protected HttpContext createHttpContext(HttpMethod httpMethod, URI uri) {
+			CallTimeouts callTimeouts = CallTimeouts.current();
+			if (callTimeouts == null) {
+				return null;
+			}
+
+			int connectTimeout = callTimeouts.getConnectTimeout() > 0
+					? callTimeouts.getConnectTimeout()
+					: restProperties.getConnectTimeout();
+			int readTimeout = callTimeouts.getReadTimeout() > 0
+					? callTimeouts.getReadTimeout()
+					: restProperties.getReadTimeout();
+			RequestConfig requestConfig = RequestConfig.custom()
+					.setConnectTimeout(connectTimeout)
+					.setConnectionRequestTimeout(connectTimeout)
+					.setSocketTimeout(readTimeout)
+					.build();
+
+			HttpClientContext context = HttpClientContext.create();
+			context.setRequestConfig(requestConfig);
+
+			return context;
+		}
+
+		@Override
+		public ClientHttpRequest createRequest(URI uri, HttpMethod httpMethod) throws IOException {
+			ClientHttpRequest request = super.createRequest(uri, httpMethod);
+
+			CallTimeouts callTimeouts = CallTimeouts.current();
+			if (callTimeouts != null && callTimeouts.getDeadline() != null) {
+				long remaining = Math.max(1, callTimeouts.getDeadline().getRemaining());
+				request.getHeaders().set(Deadline.HEADER_REQUEST_TIMEOUT, String.valueOf(remaining));
+			}
+
+			return request;
+		}
+
+	}
+
+	/**
+	 * Closes the connection pool shared by all the <code>RestTemplate</code>
+	 * objects created by this factory.
+	 */
+	@Override
+	public void close() throws IOException {
+		try {
+			((DisposableBean) requestFactory).destroy();
+		} catch (IOException | RuntimeException e) {
+			throw e;
+		} catch (Exception e) {
+			throw new IOException("Couldn't close request factory", e);
+		}
+	}
+
+}
@@ -0,0 +1,192 @@
+package org.giste.spring.util.config.balancer;
+
+import java.net.URI;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Replica of the REST server that receives balanced requests. It keeps the
+ * statistics used by load balancing strategies: requests in progress, moving
+ * average of the latency and consecutive failures. Statistics are updated
+ * with atomic operations instead of locks.
+ *
+ * @author Giste
+ */
+public class Endpoint {
+
+	// Weight of a new sample in the moving average of the latency, as 1/n.
+	private static final int LATENCY_DECAY = 8;
+
+	private final URI uri;
+	private final String prefix;
+
+	private final AtomicInteger outstanding = new AtomicInteger();
+	private final AtomicInteger consecutiveFailures = new AtomicInteger();
+	private final AtomicLong latency = new AtomicLong();
+	private volatile long ejectedUntil;
+
+	private final LongAdder requestCount = new LongAdder();
+	private final LongAdder failureCount = new LongAdder();
+	private final LongAdder ejectionCount = new LongAdder();
+
+	/**
+	 * Constructs a new endpoint.
+	 *
+	 * @param uri The base URI of the endpoint, like
+	 *            <code>http://host:port</code>. Its path, if any, is ignored.
+	 */
+	public Endpoint(String uri) {
+		this.uri = URI.create(uri);
+		if (this.uri.getScheme() == null || this.uri.getHost() == null) {
+			throw new IllegalArgumentException("Endpoint needs scheme and host: " + uri);
+		}
+
+		this.prefix = this.uri.getScheme() + "://" + this.uri.getRawAuthority();
+		this.ejectedUntil = System.nanoTime();
+	}
+
+	/**
+	 * Gets the URI of a request sent to this endpoint, replacing scheme, host
+	 * and port of the original URI with the ones of this endpoint.
+	 *
+	 * @param original The original URI of the request.
+	 * @return The URI for this endpoint.
+	 */
+	public URI resolve(URI original) {
+		StringBuilder resolved = new StringBuilder(prefix);
+		if (original.getRawPath() != null) {
+			resolved.append(original.getRawPath());
+		}
+		if (original.getRawQuery() != null) {
+			resolved.append('?').append(original.getRawQuery());
+		}
+		if (original.getRawFragment() != null) {
+			resolved.append('#').append(original.getRawFragment());
+		}
+
+		return URI.create(resolved.toString());
+	}
+
+	/**
+	 * Records the start of a request sent to this endpoint.
+	 */
+	void onStart() {
+		outstanding.incrementAndGet();
+		requestCount.increment();
+	}
+
+	/**
+	 * Records a successful request.
+	 *
+	 * @param requestLatency The latency of the request in nanoseconds.
+	 */
+	void onSuccess(long requestLatency) {
+		outstanding.decrementAndGet();
+		consecutiveFailures.set(0);
+		updateLatency(requestLatency);
+	}
+
+	/**
+	 * Records a failed request.
+	 *
+	 * @param requestLatency The latency of the request in nanoseconds.
+	 * @return The number of consecutive failures of this endpoint.
+	 */
+	int onFailure(long requestLatency) {
+		outstanding.decrementAndGet();
+		failureCount.increment();
+		updateLatency(requestLatency);
+
+		return consecutiveFailures.incrementAndGet();
+	}
+
+	/**
+	 * Ejects this endpoint from load balancing.
+	 *
+	 * @param ejectionTime The time in nanoseconds the endpoint is ejected.
+	 */
+	void eject(long ejectionTime) {
+		ejectedUntil = System.nanoTime() + ejectionTime;
+		consecutiveFailures.set(0);
+		ejectionCount.increment();
+	}
+
+	private void updateLatency(long requestLatency) {
+		// Compare and set loop, so concurrent samples are not lost.
+		latency.updateAndGet(
+				current -> current == 0 ? requestLatency : current + (requestLatency - current) / LATENCY_DECAY);
+	}
+
+	/**
+	 * Checks if this endpoint can receive requests, as it's not ejected.
+	 *
+	 * @param now The current time from <code>System.nanoTime()</code>.
+	 * @return <code>true</code> if the endpoint is available.
+	 */
+	public boolean isAvailable(long now) {
+		return now - ejectedUntil >= 0;
+	}
+
+	/**
+	 * Gets the base URI of this endpoint.
+	 *
+	 * @return The base URI.
+	 */
+	public URI getUri() {
+		return uri;
+	}
+
+	/**
+	 * Gets the number of requests in progress.
+	 *
+	 * @return The number of outstanding requests.
+	 */
+	public int getOutstanding() {
+		return outstanding.get();
+	}
+
+	/**
+	 * Gets the moving average of the latency of the requests.
+	 *
+	 * @return The latency in nanoseconds, or 0 if there are no requests yet.
+	 */
+	public long getLatency() {
+		return latency.get();
+	}
+
+	/**
+	 * Gets the number of requests sent to this endpoint.
+	 *
+	 * @return The number of requests.
+	 */
+	public long getRequestCount() {
+		return requestCount.sum();
+	}
+
+	/**
+	 * Gets the number of failed requests.
+	 *
+	 * @return The number of failures.
+	 */
+	public long getFailureCount() {
+		return failureCount.sum();
+	}
+
+	/**
+	 * Gets the number of times this endpoint has been ejected.
+	 *
+	 * @return The number of ejections.
+	 */
+	public long getEjectionCount() {
+		return ejectionCount.sum();
+	}
+
+	@Override
+	public String toString() {
+		return "Endpoint [uri=" + uri + ", outstanding=" + outstanding + ", latency="
+				+ TimeUnit.NANOSECONDS.toMillis(latency.get()) + "ms]";
+	}
+
+}
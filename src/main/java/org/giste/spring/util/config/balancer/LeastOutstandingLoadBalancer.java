@@ -0,0 +1,43 @@
+package org.giste.spring.util.config.balancer;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Load balancer that sends each request to the available endpoint with fewer
+ * requests in progress. The search starts at a random endpoint, so ties don't
+ * always send requests to the same one.
+ *
+ * @author Giste
+ */
+public class LeastOutstandingLoadBalancer extends LoadBalancer {
+
+	/**
+	 * Constructs a new least outstanding requests load balancer.
+	 *
+	 * @param endpoints The endpoints of the REST server.
+	 * @param ejectionFailures The number of consecutive failures that ejects an
+	 *            endpoint.
+	 * @param ejectionTime The time in milliseconds an endpoint is ejected.
+	 */
+	public LeastOutstandingLoadBalancer(List<Endpoint> endpoints, int ejectionFailures, long ejectionTime) {
+		super(endpoints, ejectionFailures, ejectionTime);
+	}
+
+	@Override
+	protected Endpoint choose(List<Endpoint> available) {
+		int size = available.size();
+		int start = ThreadLocalRandom.current().nextInt(size);
+
+		Endpoint chosen = available.get(start);
+		for (int i = 1; i < size; i++) {
+			Endpoint endpoint = available.get((start + i) % size);
+			if (endpoint.getOutstanding() < chosen.getOutstanding()) {
+				chosen = endpoint;
+			}
+		}
+
+		return chosen;
+	}
+
+}
@@ -0,0 +1,125 @@
+package org.giste.spring.util.config.balancer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Base class for load balancers that choose the endpoint of each request to
+ * the REST server. Endpoints with too many consecutive failures are ejected
+ * for a while. If all endpoints are ejected, requests are balanced between all
+ * of them, as sending requests is the only way to find out if they recovered.
+ *
+ * Subclasses have to implement {@link #choose(List)} to choose an endpoint
+ * among the available ones.
+ *
+ * @author Giste
+ */
+public abstract class LoadBalancer {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(LoadBalancer.class);
+
+	private final List<Endpoint> endpoints;
+	private final int ejectionFailures;
+	private final long ejectionTime;
+
+	/**
+	 * Constructs a new load balancer.
+	 *
+	 * @param endpoints The endpoints of the REST server.
+	 * @param ejectionFailures The number of consecutive failures that ejects an
+	 *            endpoint.
+	 * @param ejectionTime The time in milliseconds an endpoint is ejected.
+	 */
+	public LoadBalancer(List<Endpoint> endpoints, int ejectionFailures, long ejectionTime) {
+		if (endpoints.isEmpty()) {
+			throw new IllegalArgumentException("At least one endpoint is required");
+		}
+
+		this.endpoints = Collections.unmodifiableList(new ArrayList<>(endpoints));
+		this.ejectionFailures = ejectionFailures;
+		this.ejectionTime = TimeUnit.MILLISECONDS.toNanos(ejectionTime);
+	}
+
+	/**
+	 * Chooses the endpoint for a request and records its start. The caller has
+	 * to call {@link #onSuccess(Endpoint, long)} or
+	 * {@link #onFailure(Endpoint, long)} when the request finishes.
+	 *
+	 * @return The chosen endpoint.
+	 */
+	public Endpoint choose() {
+		long now = System.nanoTime();
+
+		List<Endpoint> available = endpoints;
+		for (Endpoint endpoint : endpoints) {
+			if (!endpoint.isAvailable(now)) {
+				available = getAvailable(now);
+				break;
+			}
+		}
+
+		Endpoint endpoint = choose(available.isEmpty() ? endpoints : available);
+		endpoint.onStart();
+
+		return endpoint;
+	}
+
+	private List<Endpoint> getAvailable(long now) {
+		List<Endpoint> available = new ArrayList<>(endpoints.size());
+		for (Endpoint endpoint : endpoints) {
+			if (endpoint.isAvailable(now)) {
+				available.add(endpoint);
+			}
+		}
+
+		return available;
+	}
+
+	/**
+	 * Chooses an endpoint for a request.
+	 *
+	 * @param available The endpoints that can receive the request. It's never
+	 *            empty.
+	 * @return The chosen endpoint.
+	 */
+	protected abstract Endpoint choose(List<Endpoint> available);
+
+	/**
+	 * Records a successful request.
+	 *
+	 * @param endpoint The endpoint of the request.
+	 * @param latency The latency of the request in nanoseconds.
+	 */
+	public void onSuccess(Endpoint endpoint, long latency) {
+		endpoint.onSuccess(latency);
+	}
+
+	/**
+	 * Records a failed request, ejecting the endpoint if it has failed too
+	 * many consecutive times.
+	 *
+	 * @param endpoint The endpoint of the request.
+	 * @param latency The latency of the request in nanoseconds.
+	 */
+	public void onFailure(Endpoint endpoint, long latency) {
+		if (endpoint.onFailure(latency) >= ejectionFailures) {
+			LOGGER.warn("Ejecting {} for {} ms", endpoint.getUri(), TimeUnit.NANOSECONDS.toMillis(ejectionTime));
+			endpoint.eject(ejectionTime);
+		}
+	}
+
+	/**
+	 * Gets the endpoints balanced by this load balancer.
+	 *
+	 * @return The endpoints of the REST server.
+	 */
+	public List<Endpoint> getEndpoints() {
+		return endpoints;
+	}
+
+}
@@ -0,0 +1,138 @@
+package org.giste.spring.util.config.balancer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.client.support.HttpRequestWrapper;
+
+/**
+ * Interceptor that sends each request of a <code>RestTemplate</code> to the
+ * endpoint chosen by a {@link LoadBalancer}, replacing scheme, host and port
+ * of its URI. The outcome of the request is reported to the load balancer: I/O
+ * errors and server errors are failures, any other answer is a success. The
+ * latency is measured until the headers of the response are received, but the
+ * outcome is only reported when the response is closed, so the request is
+ * outstanding while its body is read.
+ *
+ * @author Giste
+ */
+public class LoadBalancingInterceptor implements ClientHttpRequestInterceptor {
+
+	private final LoadBalancer loadBalancer;
+
+	/**
+	 * Constructs a new interceptor.
+	 *
+	 * @param loadBalancer The load balancer that chooses the endpoints.
+	 */
+	public LoadBalancingInterceptor(LoadBalancer loadBalancer) {
+		this.loadBalancer = loadBalancer;
+	}
+
+	@Override
+	public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+			throws IOException {
+		Endpoint endpoint = loadBalancer.choose();
+		URI uri = endpoint.resolve(request.getURI());
+		HttpRequest balancedRequest = new HttpRequestWrapper(request) {
+
+			@Override
+			public URI getURI() {
+				return uri;
+			}
+		};
+
+		long start = System.nanoTime();
+		ClientHttpResponse response = null;
+		try {
+			response = execution.execute(balancedRequest, body);
+			boolean failed = response.getRawStatusCode() >= 500;
+
+			return new BalancedResponse(response, endpoint, System.nanoTime() - start, failed);
+		} catch (IOException | RuntimeException e) {
+			if (response != null) {
+				response.close();
+			}
+			loadBalancer.onFailure(endpoint, System.nanoTime() - start);
+			throw e;
+		}
+	}
+
+	/**
+	 * Gets the load balancer that chooses the endpoints.
+	 *
+	 * @return The load balancer.
+	 */
+	public LoadBalancer getLoadBalancer() {
+		return loadBalancer;
+	}
+
+	/**
+	 * Response that reports the outcome of its request to the load balancer
+	 * when it's closed.
+	 */
+	private class BalancedResponse implements ClientHttpResponse {
+
+		private final ClientHttpResponse response;
+		private final Endpoint endpoint;
+		private final long latency;
+		private final boolean failed;
+		private boolean closed;
+
+		BalancedResponse(ClientHttpResponse response, Endpoint endpoint, long latency, boolean failed) {
+			this.response = response;
+			this.endpoint = endpoint;
+			this.latency = latency;
+			this.failed = failed;
+		}
+
+		@Override
+		public HttpStatus getStatusCode() throws IOException {
+			return response.getStatusCode();
+		}
+
+		@Override
+		public int getRawStatusCode() throws IOException {
+			return response.getRawStatusCode();
+		}
+
+		@Override
+		public String getStatusText() throws IOException {
+			return response.getStatusText();
+		}
+
+		@Override
+		public HttpHeaders getHeaders() {
+			return response.getHeaders();
+		}
+
+		@Override
+		public InputStream getBody() throws IOException {
+			return response.getBody();
+		}
+
+		@Override
+		public void close() {
+			try {
+				response.close();
+			} finally {
+				if (!closed) {
+					closed = true;
+					if (failed) {
+						loadBalancer.onFailure(endpoint, latency);
+					} else {
+						loadBalancer.onSuccess(endpoint, latency);
+					}
+				}
+			}
+		}
+	}
+
+}
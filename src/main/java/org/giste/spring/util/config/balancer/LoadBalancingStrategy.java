@@ -0,0 +1,54 @@
+package org.giste.spring.util.config.balancer;
+
+import java.util.List;
+
+/**
+ * Strategies for balancing requests between the endpoints of the REST server.
+ *
+ * @author Giste
+ */
+public enum LoadBalancingStrategy {
+
+	/**
+	 * Endpoints receive requests in turn.
+	 */
+	ROUND_ROBIN {
+		@Override
+		public LoadBalancer create(List<Endpoint> endpoints, int ejectionFailures, long ejectionTime) {
+			return new RoundRobinLoadBalancer(endpoints, ejectionFailures, ejectionTime);
+		}
+	},
+
+	/**
+	 * The endpoint with fewer requests in progress receives the request.
+	 */
+	LEAST_OUTSTANDING {
+		@Override
+		public LoadBalancer create(List<Endpoint> endpoints, int ejectionFailures, long ejectionTime) {
+			return new LeastOutstandingLoadBalancer(endpoints, ejectionFailures, ejectionTime);
+		}
+	},
+
+	/**
+	 * The less loaded of two random endpoints receives the request, using
+	 * latency and requests in progress.
+	 */
+	POWER_OF_TWO_CHOICES {
+		@Override
+		public LoadBalancer create(List<Endpoint> endpoints, int ejectionFailures, long ejectionTime) {
+			return new PowerOfTwoChoicesLoadBalancer(endpoints, ejectionFailures, ejectionTime);
+		}
+	};
+
+	/**
+	 * Creates a load balancer with this strategy.
+	 *
+	 * @param endpoints The endpoints of the REST server.
+	 * @param ejectionFailures The number of consecutive failures that ejects an
+	 *            endpoint.
+	 * @param ejectionTime The time in milliseconds an endpoint is ejected.
+	 * @return The created load balancer.
+	 */
+	public abstract LoadBalancer create(List<Endpoint> endpoints, int ejectionFailures, long ejectionTime);
+
+}
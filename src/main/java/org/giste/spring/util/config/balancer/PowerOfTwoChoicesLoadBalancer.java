@@ -0,0 +1,55 @@
+package org.giste.spring.util.config.balancer;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Load balancer that picks two random available endpoints and sends the
+ * request to the one with the lower load, measured as the moving average of
+ * its latency times its requests in progress. It avoids both slow endpoints
+ * and the herding of all clients on the same least loaded endpoint.
+ *
+ * Endpoints without latency yet have the lowest load, so new or recovered
+ * endpoints get requests soon.
+ *
+ * @author Giste
+ */
+public class PowerOfTwoChoicesLoadBalancer extends LoadBalancer {
+
+	/**
+	 * Constructs a new power of two choices load balancer.
+	 *
+	 * @param endpoints The endpoints of the REST server.
+	 * @param ejectionFailures The number of consecutive failures that ejects an
+	 *            endpoint.
+	 * @param ejectionTime The time in milliseconds an endpoint is ejected.
+	 */
+	public PowerOfTwoChoicesLoadBalancer(List<Endpoint> endpoints, int ejectionFailures, long ejectionTime) {
+		super(endpoints, ejectionFailures, ejectionTime);
+	}
+
+	@Override
+	protected Endpoint choose(List<Endpoint> available) {
+		int size = available.size();
+		if (size == 1) {
+			return available.get(0);
+		}
+
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		int first = random.nextInt(size);
+		int second = random.nextInt(size - 1);
+		if (second >= first) {
+			second++;
+		}
+
+		Endpoint a = available.get(first);
+		Endpoint b = available.get(second);
+
+		return getLoad(a) <= getLoad(b) ? a : b;
+	}
+
+	private double getLoad(Endpoint endpoint) {
+		return (double) endpoint.getLatency() * (endpoint.getOutstanding() + 1);
+	}
+
+}
@@ -0,0 +1,32 @@
+package org.giste.spring.util.config.balancer;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Load balancer that sends requests to the available endpoints in turn.
+ *
+ * @author Giste
+ */
+public class RoundRobinLoadBalancer extends LoadBalancer {
+
+	private final AtomicInteger next = new AtomicInteger();
+
+	/**
+	 * Constructs a new round robin load balancer.
+	 *
+	 * @param endpoints The endpoints of the REST server.
+	 * @param ejectionFailures The number of consecutive failures that ejects an
+	 *            endpoint.
+	 * @param ejectionTime The time in milliseconds an endpoint is ejected.
+	 */
+	public RoundRobinLoadBalancer(List<Endpoint> endpoints, int ejectionFailures, long ejectionTime) {
+		super(endpoints, ejectionFailures, ejectionTime);
+	}
+
+	@Override
+	protected Endpoint choose(List<Endpoint> available) {
+		return available.get(Math.floorMod(next.getAndIncrement(), available.size()));
+	}
+
+}
@@ -0,0 +1,30 @@
+package org.giste.spring.util.config.client;
+
+/**
+ * Protocols for communicating with the REST server.
+ *
+ * @author Giste
+ */
+public enum HttpProtocol {
+
+	/**
+	 * HTTP/1.1 through a pool of keep-alive connections of Apache
+	 * HttpClient. Each request in progress needs its own connection.
+	 */
+	HTTP_1_1,
+
+	/**
+	 * HTTP/2 negotiated with ALPN over TLS through OkHttp, falling back to
+	 * HTTP/1.1 if the REST server doesn't support it. Concurrent requests
+	 * share a few multiplexed connections.
+	 */
+	HTTP_2,
+
+	/**
+	 * HTTP/2 over cleartext with prior knowledge through OkHttp, for REST
+	 * servers known to support it without TLS. Concurrent requests share a few
+	 * multiplexed connections.
+	 */
+	H2C
+
+}
@@ -0,0 +1,123 @@
+package org.giste.spring.util.config.client;
+
+import java.net.URI;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import org.giste.spring.util.config.RestProperties;
+import org.giste.spring.util.service.timeout.CallTimeouts;
+import org.giste.spring.util.service.timeout.Deadline;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.OkHttp3ClientHttpRequestFactory;
+
+import okhttp3.ConnectionPool;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+
+/**
+ * Request factory backed by OkHttp, which can talk HTTP/2 with the REST
+ * server. With HTTP/2, concurrent requests are multiplexed over the same
+ * connection instead of each one taking a connection of the pool.
+ *
+ * The client is configured from {@link RestProperties}: timeouts of each
+ * request, and idle connections kept and for how long. Like the default
+ * request factory of <code>RestTemplateFactory</code>, it applies the timeouts
+ * set by services with {@link CallTimeouts} and sends the remaining time of
+ * the deadline in the {@link Deadline#HEADER_REQUEST_TIMEOUT} header.
+ *
+ * OkHttp is an optional dependency, needed only when this factory is used.
+ *
+ * @author Giste
+ */
+public class OkHttpRequestFactory extends OkHttp3ClientHttpRequestFactory {
+
+	private final OkHttpClient client;
+
+	/**
+	 * Constructs a new request factory.
+	 *
+	 * @param restProperties <code>RestProperties</code> with data for
+	 *            configuring the client.
+	 * @param protocol The protocol for communicating with the REST server. It
+	 *            can't be {@link HttpProtocol#HTTP_1_1}.
+	 */
+	public OkHttpRequestFactory(RestProperties restProperties, HttpProtocol protocol) {
+		this(createClient(restProperties, protocol));
+	}
+
+	private OkHttpRequestFactory(OkHttpClient client) {
+		super(client);
+		this.client = client;
+	}
+
+	private static OkHttpClient createClient(RestProperties restProperties, HttpProtocol protocol) {
+		OkHttpClient.Builder builder = new OkHttpClient.Builder()
+				.connectTimeout(restProperties.getConnectTimeout(), TimeUnit.MILLISECONDS)
+				.readTimeout(restProperties.getReadTimeout(), TimeUnit.MILLISECONDS)
+				.writeTimeout(restProperties.getReadTimeout(), TimeUnit.MILLISECONDS)
+				.connectionPool(new ConnectionPool(restProperties.getMaxConnectionsPerRoute(),
+						restProperties.getIdleConnectionTimeout(), TimeUnit.MILLISECONDS));
+
+		switch (protocol) {
+		case HTTP_2:
+			builder.protocols(Arrays.asList(Protocol.HTTP_2, Protocol.HTTP_1_1));
+			break;
+		case H2C:
+			builder.protocols(Collections.singletonList(Protocol.H2_PRIOR_KNOWLEDGE));
+			break;
+		default:
+			throw new IllegalArgumentException("Protocol not supported by OkHttp factory: " + protocol);
+		}
+
+		return builder.build();
+	}
+
+	/**
+	 * Gets the OkHttp client used by this factory.
+	 *
+	 * @return The OkHttp client.
+	 */
+	public OkHttpClient getClient() {
+		return client;
+	}
+
+	@Override
+	public ClientHttpRequest createRequest(URI uri, HttpMethod httpMethod) {
+		CallTimeouts callTimeouts = CallTimeouts.current();
+		if (callTimeouts == null) {
+			return super.createRequest(uri, httpMethod);
+		}
+
+		// Derived clients share connections and threads with the original one.
+		OkHttpClient.Builder builder = client.newBuilder();
+		if (callTimeouts.getConnectTimeout() > 0) {
+			builder.connectTimeout(callTimeouts.getConnectTimeout(), TimeUnit.MILLISECONDS);
+		}
+		if (callTimeouts.getReadTimeout() > 0) {
+			builder.readTimeout(callTimeouts.getReadTimeout(), TimeUnit.MILLISECONDS);
+			builder.writeTimeout(callTimeouts.getReadTimeout(), TimeUnit.MILLISECONDS);
+		}
+		ClientHttpRequest request = new OkHttp3ClientHttpRequestFactory(builder.build())
+				.createRequest(uri, httpMethod);
+
+		if (callTimeouts.getDeadline() != null) {
+			long remaining = Math.max(1, callTimeouts.getDeadline().getRemaining());
+			request.getHeaders().set(Deadline.HEADER_REQUEST_TIMEOUT, String.valueOf(remaining));
+		}
+
+		return request;
+	}
+
+	/**
+	 * Releases the connections and threads of the client. The superclass only
+	 * does it for clients it creates itself.
+	 */
+	@Override
+	public void destroy() {
+		client.dispatcher().executorService().shutdown();
+		client.connectionPool().evictAll();
+	}
+
+}
@@ -0,0 +1,265 @@
+package org.giste.spring.util.config.compression;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PushbackInputStream;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.giste.spring.util.service.metrics.CountingInputStream;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.util.StringUtils;
+
+/**
+ * Interceptor that compresses the bodies of requests and responses exchanged
+ * with the REST server:
+ * <ul>
+ * <li>Requests ask for compressed responses with an
+ * <code>Accept-Encoding</code> header for GZIP and DEFLATE, and compressed
+ * responses are decoded while they are read.</li>
+ * <li>Request bodies with at least the threshold size are compressed with the
+ * configured encoding. Smaller bodies are sent as they are, as compressing them
+ * costs more than it saves.</li>
+ * </ul>
+ *
+ * It keeps counters of the bytes on the wire and of the decoded bytes, in both
+ * directions, to show how much compression saves.
+ *
+ * @author Giste
+ */
+public class CompressionInterceptor implements ClientHttpRequestInterceptor {
+
+	private static final String ACCEPT_ENCODING = ContentEncoding.GZIP.getToken() + ", "
+			+ ContentEncoding.DEFLATE.getToken();
+
+	private final ContentEncoding requestEncoding;
+	private final int threshold;
+
+	private final LongAdder requestBytes = new LongAdder();
+	private final LongAdder requestWireBytes = new LongAdder();
+	private final LongAdder responseBytes = new LongAdder();
+	private final LongAdder responseWireBytes = new LongAdder();
+	private final LongAdder compressedRequestCount = new LongAdder();
+	private final LongAdder compressedResponseCount = new LongAdder();
+
+	/**
+	 * Constructs a new interceptor.
+	 *
+	 * @param requestEncoding The encoding for compressing request bodies.
+	 * @param threshold The minimum size in bytes of a request body to be
+	 *            compressed.
+	 */
+	public CompressionInterceptor(ContentEncoding requestEncoding, int threshold) {
+		this.requestEncoding = requestEncoding;
+		this.threshold = threshold;
+	}
+
+	@Override
+	public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+			throws IOException {
+		HttpHeaders headers = request.getHeaders();
+		if (!headers.containsKey(HttpHeaders.ACCEPT_ENCODING)) {
+			headers.set(HttpHeaders.ACCEPT_ENCODING, ACCEPT_ENCODING);
+		}
+
+		byte[] wireBody = body;
+		if (body.length >= threshold && body.length > 0 && !headers.containsKey(HttpHeaders.CONTENT_ENCODING)) {
+			wireBody = compress(body);
+			headers.set(HttpHeaders.CONTENT_ENCODING, requestEncoding.getToken());
+			headers.setContentLength(wireBody.length);
+			compressedRequestCount.increment();
+		}
+		requestBytes.add(body.length);
+		requestWireBytes.add(wireBody.length);
+
+		ClientHttpResponse response = execution.execute(request, wireBody);
+		String contentEncoding = StringUtils
+				.collectionToCommaDelimitedString(response.getHeaders().get(HttpHeaders.CONTENT_ENCODING));
+
+		return new DecodingResponse(response, contentEncoding, ContentEncoding.fromHeader(contentEncoding));
+	}
+
+	private byte[] compress(byte[] body) throws IOException {
+		ByteArrayOutputStream compressed = new ByteArrayOutputStream(body.length / 4 + 64);
+		try (OutputStream out = requestEncoding.compress(compressed)) {
+			out.write(body);
+		}
+
+		return compressed.toByteArray();
+	}
+
+	/**
+	 * Gets the number of request body bytes before compression.
+	 *
+	 * @return The decoded bytes sent.
+	 */
+	public long getRequestBytes() {
+		return requestBytes.sum();
+	}
+
+	/**
+	 * Gets the number of request body bytes sent on the wire.
+	 *
+	 * @return The bytes sent on the wire.
+	 */
+	public long getRequestWireBytes() {
+		return requestWireBytes.sum();
+	}
+
+	/**
+	 * Gets the number of response body bytes after decompression.
+	 *
+	 * @return The decoded bytes received.
+	 */
+	public long getResponseBytes() {
+		return responseBytes.sum();
+	}
+
+	/**
+	 * Gets the number of response body bytes received on the wire.
+	 *
+	 * @return The bytes received on the wire.
+	 */
+	public long getResponseWireBytes() {
+		return responseWireBytes.sum();
+	}
+
+	/**
+	 * Gets the number of compressed requests.
+	 *
+	 * @return The number of compressed requests.
+	 */
+	public long getCompressedRequestCount() {
+		return compressedRequestCount.sum();
+	}
+
+	/**
+	 * Gets the number of compressed responses.
+	 *
+	 * @return The number of compressed responses.
+	 */
+	public long getCompressedResponseCount() {
+		return compressedResponseCount.sum();
+	}
+
+	/**
+	 * Response that decodes its body, if it's compressed, and counts the bytes
+	 * read from the wire and the decoded ones. A body with several codings is
+	 * decoded in reverse order of the codings. A successful response with a
+	 * coding that is not supported can't be read, while error responses with
+	 * such a coding keep their body as it is, so they are still handled by
+	 * their status.
+	 */
+	private class DecodingResponse implements ClientHttpResponse {
+
+		private final ClientHttpResponse response;
+		private final String contentEncoding;
+		private final List<ContentEncoding> encodings;
+		private HttpHeaders headers;
+		private CountingInputStream wireBody;
+		private CountingInputStream body;
+		private boolean closed;
+
+		DecodingResponse(ClientHttpResponse response, String contentEncoding, List<ContentEncoding> encodings) {
+			this.response = response;
+			this.contentEncoding = contentEncoding;
+			this.encodings = encodings;
+		}
+
+		@Override
+		public InputStream getBody() throws IOException {
+			if (encodings == null && isSuccessful()) {
+				throw new HttpMessageNotReadableException(
+						"Content-Encoding of response not supported: " + contentEncoding);
+			}
+
+			if (body == null) {
+				wireBody = new CountingInputStream(response.getBody());
+				if (encodings == null || encodings.isEmpty()) {
+					body = wireBody;
+				} else {
+					// An empty body, like the one of NOT MODIFIED, has nothing
+					// to decode.
+					PushbackInputStream pushback = new PushbackInputStream(wireBody);
+					int first = pushback.read();
+					if (first >= 0) {
+						pushback.unread(first);
+						compressedResponseCount.increment();
+					}
+					body = new CountingInputStream(first < 0 ? pushback : decode(pushback));
+				}
+			}
+
+			return body;
+		}
+
+		private boolean isSuccessful() throws IOException {
+			int status = response.getRawStatusCode();
+
+			return status >= 200 && status < 300;
+		}
+
+		private InputStream decode(InputStream in) throws IOException {
+			InputStream decoded = in;
+			for (int i = encodings.size() - 1; i >= 0; i--) {
+				decoded = encodings.get(i).decompress(decoded);
+			}
+
+			return decoded;
+		}
+
+		@Override
+		public HttpHeaders getHeaders() {
+			if (headers == null) {
+				if (encodings == null || encodings.isEmpty()) {
+					headers = response.getHeaders();
+				} else {
+					// Describe the decoded body.
+					headers = new HttpHeaders();
+					headers.putAll(response.getHeaders());
+					headers.remove(HttpHeaders.CONTENT_ENCODING);
+					headers.remove(HttpHeaders.CONTENT_LENGTH);
+				}
+			}
+
+			return headers;
+		}
+
+		@Override
+		public HttpStatus getStatusCode() throws IOException {
+			return response.getStatusCode();
+		}
+
+		@Override
+		public int getRawStatusCode() throws IOException {
+			return response.getRawStatusCode();
+		}
+
+		@Override
+		public String getStatusText() throws IOException {
+			return response.getStatusText();
+		}
+
+		@Override
+		public void close() {
+			if (!closed) {
+				closed = true;
+				if (body != null) {
+					responseWireBytes.add(wireBody.getCount());
+					responseBytes.add(body.getCount());
+				}
+			}
+			response.close();
+		}
+
+	}
+
+}
@@ -0,0 +1,136 @@
+package org.giste.spring.util.config.compression;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Content encodings for compressing the bodies of requests and responses.
+ *
+ * @author Giste
+ */
+public enum ContentEncoding {
+
+	/**
+	 * GZIP format, as in RFC 1952.
+	 */
+	GZIP("gzip") {
+		@Override
+		public OutputStream compress(OutputStream out) throws IOException {
+			return new GZIPOutputStream(out);
+		}
+
+		@Override
+		public InputStream decompress(InputStream in) throws IOException {
+			return new GZIPInputStream(in);
+		}
+	},
+
+	/**
+	 * ZLIB format, as in RFC 1950.
+	 */
+	DEFLATE("deflate") {
+		@Override
+		public OutputStream compress(OutputStream out) throws IOException {
+			return new DeflaterOutputStream(out);
+		}
+
+		@Override
+		public InputStream decompress(InputStream in) throws IOException {
+			return new InflaterInputStream(in);
+		}
+	};
+
+	// Coding that leaves the body as it is.
+	private static final String IDENTITY = "identity";
+
+	private final String token;
+
+	private ContentEncoding(String token) {
+		this.token = token;
+	}
+
+	/**
+	 * Gets the token of the encoding used in <code>Content-Encoding</code> and
+	 * <code>Accept-Encoding</code> headers.
+	 *
+	 * @return The token of the encoding.
+	 */
+	public String getToken() {
+		return token;
+	}
+
+	/**
+	 * Gets the encoding for a single token of a <code>Content-Encoding</code>
+	 * header.
+	 *
+	 * @param token The token of the encoding.
+	 * @return The encoding, or <code>null</code> if it's not supported.
+	 */
+	public static ContentEncoding fromToken(String token) {
+		if (token != null) {
+			for (ContentEncoding encoding : values()) {
+				if (encoding.token.equalsIgnoreCase(token.trim())) {
+					return encoding;
+				}
+			}
+		}
+
+		return null;
+	}
+
+	/**
+	 * Gets the encodings of a <code>Content-Encoding</code> header, which may
+	 * list several comma separated codings, like <code>"gzip, deflate"</code>.
+	 * Codings are returned in the order they were applied, so they have to be
+	 * decoded in reverse order. The <code>identity</code> coding is skipped.
+	 *
+	 * @param header The value of the header, or <code>null</code> if there is
+	 *            no header.
+	 * @return The encodings, empty if the body is not encoded, or
+	 *         <code>null</code> if any of them is not supported.
+	 */
+	public static List<ContentEncoding> fromHeader(String header) {
+		List<ContentEncoding> encodings = new ArrayList<>();
+		if (header != null) {
+			for (String token : header.split(",")) {
+				if (token.trim().isEmpty() || IDENTITY.equalsIgnoreCase(token.trim())) {
+					continue;
+				}
+
+				ContentEncoding encoding = fromToken(token);
+				if (encoding == null) {
+					return null;
+				}
+				encodings.add(encoding);
+			}
+		}
+
+		return encodings;
+	}
+
+	/**
+	 * Wraps a stream for compressing the data written to it.
+	 *
+	 * @param out The stream that receives the compressed data.
+	 * @return The compressing stream.
+	 * @throws IOException If the stream can't be created.
+	 */
+	public abstract OutputStream compress(OutputStream out) throws IOException;
+
+	/**
+	 * Wraps a stream for decompressing the data read from it.
+	 *
+	 * @param in The stream with the compressed data.
+	 * @return The decompressing stream.
+	 * @throws IOException If the stream can't be created.
+	 */
+	public abstract InputStream decompress(InputStream in) throws IOException;
+
+}
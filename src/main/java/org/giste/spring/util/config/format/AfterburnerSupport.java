@@ -0,0 +1,44 @@
+package org.giste.spring.util.config.format;
+
+import org.springframework.util.ClassUtils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.module.afterburner.AfterburnerModule;
+
+/**
+ * Registration of the Jackson Afterburner module, which reads and writes
+ * properties of DTOs with generated bytecode instead of reflection.
+ *
+ * Afterburner is an optional dependency, so this is the only class that refers
+ * to it, and it's only used after checking it's in the classpath.
+ *
+ * @author Giste
+ */
+public final class AfterburnerSupport {
+
+	private static final String AFTERBURNER_CLASS = "com.fasterxml.jackson.module.afterburner.AfterburnerModule";
+
+	private AfterburnerSupport() {
+	}
+
+	/**
+	 * Checks if Afterburner is in the classpath.
+	 *
+	 * @return <code>true</code> if Afterburner can be registered.
+	 */
+	public static boolean isAvailable() {
+		return ClassUtils.isPresent(AFTERBURNER_CLASS, AfterburnerSupport.class.getClassLoader());
+	}
+
+	/**
+	 * Registers Afterburner in an <code>ObjectMapper</code>. It has to be done
+	 * before the mapper reads or writes anything, as serializers and
+	 * deserializers already built are not changed.
+	 *
+	 * @param objectMapper The mapper to register Afterburner in.
+	 */
+	public static void register(ObjectMapper objectMapper) {
+		objectMapper.registerModule(new AfterburnerModule());
+	}
+
+}
@@ -0,0 +1,39 @@
+package org.giste.spring.util.config.format;
+
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+
+/**
+ * Message converter that reads and writes CBOR with Jackson, like the
+ * <code>MappingJackson2SmileHttpMessageConverter</code> of Spring does for
+ * Smile.
+ *
+ * @author Giste
+ */
+public class MappingJackson2CborHttpMessageConverter extends AbstractJackson2HttpMessageConverter {
+
+	/**
+	 * Constructs a new converter with the default configuration of
+	 * <code>Jackson2ObjectMapperBuilder</code>.
+	 */
+	public MappingJackson2CborHttpMessageConverter() {
+		this(Jackson2ObjectMapperBuilder.json().factory(new CBORFactory()).build());
+	}
+
+	/**
+	 * Constructs a new converter with a custom <code>ObjectMapper</code>.
+	 *
+	 * @param objectMapper The <code>ObjectMapper</code>, which has to use a
+	 *            <code>CBORFactory</code>.
+	 */
+	public MappingJackson2CborHttpMessageConverter(ObjectMapper objectMapper) {
+		super(objectMapper, WireFormat.CBOR.getMediaType());
+		if (!(objectMapper.getFactory() instanceof CBORFactory)) {
+			throw new IllegalArgumentException("ObjectMapper has to use a CBORFactory");
+		}
+	}
+
+}
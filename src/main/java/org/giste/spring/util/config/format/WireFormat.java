@@ -0,0 +1,98 @@
+package org.giste.spring.util.config.format;
+
+import org.springframework.beans.BeanUtils;
+import org.springframework.http.MediaType;
+import org.springframework.util.ClassUtils;
+
+import com.fasterxml.jackson.core.JsonFactory;
+
+/**
+ * Formats for transferring DTOs with the REST server. Binary formats are
+ * parsed by Jackson like JSON, but they are faster to decode and smaller on
+ * the wire.
+ *
+ * Binary formats need their Jackson dataformat module, which is an optional
+ * dependency, so their factories are only referred to by name and created
+ * after checking they are in the classpath.
+ *
+ * @author Giste
+ */
+public enum WireFormat {
+
+	/**
+	 * JSON text.
+	 */
+	JSON(MediaType.APPLICATION_JSON, "com.fasterxml.jackson.core.JsonFactory"),
+
+	/**
+	 * Smile, the binary JSON format of Jackson.
+	 */
+	SMILE(new MediaType("application", "x-jackson-smile"), "com.fasterxml.jackson.dataformat.smile.SmileFactory"),
+
+	/**
+	 * CBOR, as in RFC 7049.
+	 */
+	CBOR(new MediaType("application", "cbor"), "com.fasterxml.jackson.dataformat.cbor.CBORFactory");
+
+	private final MediaType mediaType;
+	private final String factoryClassName;
+
+	private WireFormat(MediaType mediaType, String factoryClassName) {
+		this.mediaType = mediaType;
+		this.factoryClassName = factoryClassName;
+	}
+
+	/**
+	 * Gets the media type of the format.
+	 *
+	 * @return The media type.
+	 */
+	public MediaType getMediaType() {
+		return mediaType;
+	}
+
+	/**
+	 * Checks if the Jackson module of the format is in the classpath.
+	 *
+	 * @return <code>true</code> if the format can be read and written.
+	 */
+	public boolean isAvailable() {
+		return ClassUtils.isPresent(factoryClassName, WireFormat.class.getClassLoader());
+	}
+
+	/**
+	 * Creates a new Jackson factory for parsing and generating the format.
+	 *
+	 * @return The factory.
+	 * @throws IllegalStateException If the Jackson module of the format is not
+	 *             in the classpath.
+	 */
+	public JsonFactory createFactory() {
+		if (!isAvailable()) {
+			throw new IllegalStateException(name() + " format needs " + factoryClassName + " in the classpath");
+		}
+
+		Class<?> factoryClass = ClassUtils.resolveClassName(factoryClassName, WireFormat.class.getClassLoader());
+
+		return (JsonFactory) BeanUtils.instantiateClass(factoryClass);
+	}
+
+	/**
+	 * Gets the format of a content type.
+	 *
+	 * @param contentType The content type.
+	 * @return The format, or <code>null</code> if it's not supported.
+	 */
+	public static WireFormat fromMediaType(MediaType contentType) {
+		if (contentType != null) {
+			for (WireFormat format : values()) {
+				if (format.mediaType.isCompatibleWith(contentType)) {
+					return format;
+				}
+			}
+		}
+
+		return null;
+	}
+
+}
@@ -5,6 +5,10 @@ import java.util.List;
 import javax.validation.Valid;
 
 import org.giste.spring.util.service.BaseRestService;
+import org.giste.spring.util.service.page.Page;
+import org.giste.spring.util.service.page.PagePrefetcher;
+import org.giste.spring.util.service.page.PageRequest;
+import org.giste.spring.util.service.timeout.Deadline;
 import org.giste.util.dto.BaseDto;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
@@ -12,11 +16,13 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 
 /**
  * Base class for controllers. It provides the following mappings:
  * <ul>
- * <li>GET on "basePath" to get a view with the list of all entities.</li>
+ * <li>GET on "basePath" to get a view with the list of all entities, or with
+ * a page of entities if "page" or "size" parameters are present.</li>
  * <li>GET on "basePath/{id}" to get the view of a single entity.</li>
  * <li>POST on "basePath" to create a new entity.</li>
  * <li>POST on "basePath/{id}" to update a single entity.
@@ -40,10 +46,21 @@ public abstract class BaseController<DTO extends BaseDto> {
 	// Model objects.
 	protected static final String ENTITY = "entity";
 	protected static final String ENTITY_LIST = "entityList";
+	protected static final String ENTITY_PAGE = "entityPage";
 
 	// Properties.
 	protected static final String PROPERTY_ID = "id";
 
+	// Page parameters.
+	protected static final String PARAM_PAGE = "page";
+	protected static final String PARAM_SIZE = "size";
+	protected static final String PARAM_SORT = "sort";
+	protected static final int DEFAULT_PAGE_SIZE = 20;
+	protected static final int MAX_PAGE_SIZE = 100;
+
+	// Time in milliseconds to serve a request, 0 for no deadline.
+	protected static final long DEFAULT_REQUEST_TIMEOUT = 0;
+
 	// Paths
 	protected static final String PATH_ID = "/{id}";
 	protected static final String PATH_NEW = "/new";
@@ -58,6 +75,8 @@ public abstract class BaseController<DTO extends BaseDto> {
 	
 	// Rest service.
 	private BaseRestService<DTO> restService;
+	private PagePrefetcher<DTO> pagePrefetcher;
+	private long requestTimeout = DEFAULT_REQUEST_TIMEOUT;
 
 	/**
 	 * Constructs a BaseController with a given BaseRestService.
@@ -65,7 +84,21 @@ public abstract class BaseController<DTO extends BaseDto> {
 	 * @param restService Service used to communicate with the REST server.
 	 */
 	public BaseController(BaseRestService<DTO> restService) {
+		this(restService, null);
+	}
+
+	/**
+	 * Constructs a BaseController with a given BaseRestService and a
+	 * PagePrefetcher that loads the next page in background while the current
+	 * one is rendered.
+	 * 
+	 * @param restService Service used to communicate with the REST server.
+	 * @param pagePrefetcher Prefetcher for pages of entities, or
+	 *            <code>null</code> for not prefetching pages.
+	 */
+	public BaseController(BaseRestService<DTO> restService, PagePrefetcher<DTO> pagePrefetcher) {
 		this.restService = restService;
+		this.pagePrefetcher = pagePrefetcher;
 		this.viewBase = getBaseView();
 		viewList = viewBase + VIEW_LIST;
 		viewEntity = viewBase;
@@ -123,6 +156,51 @@ public abstract class BaseController<DTO extends BaseDto> {
 		return viewEntity;
 	}
 
+	/**
+	 * Discards the pages prefetched before an entity is changed, so next pages
+	 * are loaded again from REST server. Handlers that change entities have to
+	 * call it after the change.
+	 */
+	protected void invalidatePages() {
+		if (pagePrefetcher != null) {
+			pagePrefetcher.invalidateAll();
+		}
+	}
+
+	/**
+	 * Gets the time to serve a request.
+	 * 
+	 * @return The request timeout in milliseconds, or 0 if requests don't
+	 *         have a deadline.
+	 */
+	public long getRequestTimeout() {
+		return requestTimeout;
+	}
+
+	/**
+	 * Sets the time to serve a request. Calls to REST server made while
+	 * serving the request, including the ones run by other threads for it,
+	 * are bounded by its deadline, and the remaining time is sent to REST
+	 * server. Requests don't have a deadline by default.
+	 * 
+	 * @param requestTimeout The request timeout in milliseconds, or 0 for not
+	 *            setting a deadline to requests.
+	 */
+	public void setRequestTimeout(long requestTimeout) {
+		this.requestTimeout = requestTimeout;
+	}
+
+	/**
+	 * Sets the deadline of the request on entry, before any handler method
+	 * runs.
+	 */
+	@ModelAttribute
+	public void startDeadline() {
+		if (requestTimeout > 0) {
+			Deadline.setCurrent(Deadline.after(requestTimeout));
+		}
+	}
+
 	/**
 	 * Gets all the entities from REST server, put them into
 	 * <code>"entityList"</code> model object, and returns
@@ -140,6 +218,57 @@ public abstract class BaseController<DTO extends BaseDto> {
 		return viewList;
 	}
 
+	/**
+	 * Gets a page of entities from REST server, put its entities into
+	 * <code>"entityList"</code> model object and the page into
+	 * <code>"entityPage"</code> model object, and returns
+	 * <code>"entityList"</code> view. It's mapped when "page" parameter is
+	 * present.
+	 * 
+	 * @param page The number of the page, starting from 0.
+	 * @param size The number of entities in a page, or <code>null</code> for
+	 *            the default size. Sizes over <code>MAX_PAGE_SIZE</code> are
+	 *            reduced to it.
+	 * @param sort The sort order of the entities, or <code>null</code> for
+	 *            the default order.
+	 * @param model The model where the entity list and page are stored.
+	 * @return The view to show.
+	 */
+	@GetMapping(params = PARAM_PAGE)
+	public String findPage(@RequestParam(PARAM_PAGE) int page,
+			@RequestParam(value = PARAM_SIZE, required = false) Integer size,
+			@RequestParam(value = PARAM_SORT, required = false) String sort, Model model) {
+
+		int pageSize = size == null ? DEFAULT_PAGE_SIZE : Math.min(size, MAX_PAGE_SIZE);
+		PageRequest pageRequest = new PageRequest(page, pageSize, sort);
+		Page<DTO> dtoPage = pagePrefetcher == null
+				? getRestService().findPage(pageRequest)
+				: pagePrefetcher.findPage(pageRequest);
+		model.addAttribute(ENTITY_LIST, dtoPage.getContent());
+		model.addAttribute(ENTITY_PAGE, dtoPage);
+
+		return viewList;
+	}
+
+	/**
+	 * Gets the first page of entities like
+	 * {@link #findPage(int, Integer, String, Model)}. It's mapped when "size"
+	 * parameter is present without "page" parameter.
+	 * 
+	 * @param size The number of entities in a page, up to
+	 *            <code>MAX_PAGE_SIZE</code>.
+	 * @param sort The sort order of the entities, or <code>null</code> for
+	 *            the default order.
+	 * @param model The model where the entity list and page are stored.
+	 * @return The view to show.
+	 */
+	@GetMapping(params = { PARAM_SIZE, "!" + PARAM_PAGE })
+	public String findFirstPage(@RequestParam(PARAM_SIZE) int size,
+			@RequestParam(value = PARAM_SORT, required = false) String sort, Model model) {
+
+		return findPage(0, size, sort, model);
+	}
+
 	/**
 	 * Gets one entity by it identifier, put it into <code>"entity"</code> model
 	 * object and return the <code>"entity"</code> view.
@@ -172,6 +301,7 @@ public abstract class BaseController<DTO extends BaseDto> {
 		}
 
 		getRestService().create(dto);
+		invalidatePages();
 
 		return "redirect:" + getBasePath();
 	}
@@ -194,6 +324,7 @@ public abstract class BaseController<DTO extends BaseDto> {
 		}
 
 		getRestService().update(dto);
+		invalidatePages();
 
 		return "redirect:" + getBasePath();
 	}
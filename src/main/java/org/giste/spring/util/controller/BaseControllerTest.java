@@ -23,6 +23,8 @@ import java.util.List;
 
 import org.giste.spring.util.service.BaseRestService;
 import org.giste.spring.util.service.exception.EntityNotFoundException;
+import org.giste.spring.util.service.page.Page;
+import org.giste.spring.util.service.page.PageRequest;
 import org.giste.util.dto.BaseDto;
 import org.giste.util.dto.NonRemovableDto;
 import org.junit.Before;
@@ -185,6 +187,73 @@ public abstract class BaseControllerTest<DTO extends BaseDto> {
 		verifyNoMoreInteractions(getMockService());
 	}
 
+	/**
+	 * Checks the <code>findPage()</code> method of the controller when page
+	 * parameters are present.
+	 * <ul>
+	 * <li>Constructs a page with two DTOs to be returned by the mocked
+	 * service.</li>
+	 * <li>Performs the request to the controller with page parameters.</li>
+	 * <li>Checks status is OK.</li>
+	 * <li>Checks that returned view is the list view
+	 * (<code>"entitiesList"</code>).</li>
+	 * <li>Checks that the <code>"entityList"</code> model attribute has the
+	 * DTOs of the page and <code>"entityPage"</code> has the page.</li>
+	 * <li>Checks that the service is called with the requested page.</li>
+	 * </ul>
+	 * 
+	 * @throws Exception If there is an error calling the controller.
+	 */
+	@Test
+	public void findPageIsValid() throws Exception {
+		DTO dto1 = getNewDto();
+		dto1.setId(1L);
+		DTO dto2 = getNewDto();
+		dto2.setId(2L);
+		List<DTO> dtoList = new ArrayList<DTO>();
+		dtoList.add(dto1);
+		dtoList.add(dto2);
+		PageRequest pageRequest = new PageRequest(1, 2, "id,asc");
+		Page<DTO> page = new Page<>(dtoList, pageRequest, 10);
+
+		when(getMockService().findPage(pageRequest)).thenReturn(page);
+
+		mockMvc.perform(get(pathBase).param("page", "1").param("size", "2").param("sort", "id,asc"))
+				.andExpect(status().isOk())
+				.andExpect(view().name(viewList))
+				.andExpect(model().attribute("entityList", hasSize(dtoList.size())))
+				.andExpect(model().attribute("entityPage", is(page)));
+
+		verify(getMockService()).findPage(pageRequest);
+		verifyNoMoreInteractions(getMockService());
+	}
+
+	/**
+	 * Checks the <code>findPage()</code> method of the controller when the
+	 * requested size is too big.
+	 * <ul>
+	 * <li>Performs the request to the controller with a huge page size.</li>
+	 * <li>Checks status is OK.</li>
+	 * <li>Checks that the service is called with the maximum page size.</li>
+	 * </ul>
+	 * 
+	 * @throws Exception If there is an error calling the controller.
+	 */
+	@Test
+	public void findPageSizeIsLimited() throws Exception {
+		PageRequest pageRequest = new PageRequest(0, BaseController.MAX_PAGE_SIZE);
+		Page<DTO> page = new Page<>(new ArrayList<DTO>(), pageRequest, 0);
+
+		when(getMockService().findPage(pageRequest)).thenReturn(page);
+
+		mockMvc.perform(get(pathBase).param("page", "0").param("size", "2000000000"))
+				.andExpect(status().isOk())
+				.andExpect(view().name(viewList));
+
+		verify(getMockService()).findPage(pageRequest);
+		verifyNoMoreInteractions(getMockService());
+	}
+
 	/**
 	 * Checks the <code>findById()</code> method of the controller when a valid
 	 * identifier is passed as parameter.
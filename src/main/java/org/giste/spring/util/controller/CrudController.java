@@ -1,19 +1,33 @@
 package org.giste.spring.util.controller;
 
+import java.util.List;
+import java.util.Set;
+
 import org.giste.spring.util.service.BaseRestService;
 import org.giste.spring.util.service.CrudRestService;
+import org.giste.spring.util.service.page.PagePrefetcher;
 import org.giste.util.dto.BaseDto;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 public abstract class CrudController<DTO extends BaseDto> extends BaseController<DTO> {
 
 	protected static final String PATH_DELETE = PATH_ID + "/delete";
+	protected static final String PATH_DELETE_ALL = "/delete";
+
+	protected static final String PARAM_IDS = "ids";
+	protected static final String MISSING_IDS = "missingIds";
 	
 	public CrudController(BaseRestService<DTO> restService) {
 		super(restService);
 	}
 
+	public CrudController(BaseRestService<DTO> restService, PagePrefetcher<DTO> pagePrefetcher) {
+		super(restService, pagePrefetcher);
+	}
+
 	/**
 	 * Deletes an entity and returns the <code>"entityList"</code> view.
 	 * 
@@ -23,6 +37,28 @@ public abstract class CrudController<DTO extends BaseDto> extends BaseController
 	@PostMapping(PATH_DELETE)
 	public String delete(@PathVariable(PROPERTY_ID) long id) {
 		getRestService().delete(id);
+		invalidatePages();
+
+		return "redirect:" + getBasePath();
+	}
+
+	/**
+	 * Deletes several entities in a single request and returns the
+	 * <code>"entityList"</code> view. Identifiers of the entities that don't
+	 * exist are passed to the view as the <code>"missingIds"</code> flash
+	 * attribute.
+	 * 
+	 * @param ids The identifiers of the entities to delete.
+	 * @param redirectAttributes Attributes for the redirected view.
+	 * @return The view to show.
+	 */
+	@PostMapping(PATH_DELETE_ALL)
+	public String deleteAll(@RequestParam(PARAM_IDS) List<Long> ids, RedirectAttributes redirectAttributes) {
+		Set<Long> missingIds = getRestService().deleteAll(ids);
+		invalidatePages();
+		if (!missingIds.isEmpty()) {
+			redirectAttributes.addFlashAttribute(MISSING_IDS, missingIds);
+		}
 
 		return "redirect:" + getBasePath();
 	}
@@ -3,11 +3,18 @@ package org.giste.spring.util.controller;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.flash;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.redirectedUrl;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.view;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
 import org.giste.spring.util.service.CrudRestService;
 import org.giste.spring.util.service.exception.EntityNotFoundException;
 import org.giste.util.dto.BaseDto;
@@ -128,4 +135,37 @@ public abstract class CrudControllerTest<DTO extends BaseDto> extends BaseContro
 		verify(getMockService()).delete(id);
 		verifyNoMoreInteractions(getMockService());
 	}
-}
+
+	/**
+	 * Checks the <code>deleteAll()</code> method of the controller when one of
+	 * the entities doesn't exist.
+	 * <ul>
+	 * <li>Performs the request to the controller with two identifiers.</li>
+	 * <li>Checks status is FOUND.</li>
+	 * <li>Checks that returned view is redirected to the base path
+	 * (<code>"redirect:/entities"</code>).</li>
+	 * <li>Checks that the missing identifier is passed as flash
+	 * attribute.</li>
+	 * </ul>
+	 * 
+	 * @throws Exception If there is an error calling the controller.
+	 */
+	@Test
+	public void deleteAllIsValid() throws Exception {
+		final List<Long> ids = Arrays.asList(1L, 2L);
+		final Set<Long> missingIds = Collections.singleton(2L);
+
+		when(getMockService().deleteAll(ids)).thenReturn(missingIds);
+
+		getMockMvc().perform(post(getPathBase() + CrudController.PATH_DELETE_ALL)
+				.param("ids", "1", "2")
+				.contentType(MediaType.APPLICATION_FORM_URLENCODED))
+				.andExpect(status().isFound())
+				.andExpect(view().name("redirect:" + getPathBase()))
+				.andExpect(redirectedUrl(getPathBase()))
+				.andExpect(flash().attribute("missingIds", missingIds));
+
+		verify(getMockService()).deleteAll(ids);
+		verifyNoMoreInteractions(getMockService());
+	}
+}
\ No newline at end of file
@@ -1,9 +1,17 @@
 package org.giste.spring.util.controller;
 
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
 import org.giste.spring.util.service.CrudeRestService;
+import org.giste.spring.util.service.page.PagePrefetcher;
 import org.giste.util.dto.NonRemovableDto;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 /**
  * Base class for CRUDE controllers. It provides the following mappings:
@@ -14,6 +22,10 @@ import org.springframework.web.bind.annotation.PostMapping;
  * <li>POST on "basePath/{id}" to update a single entity.
  * <li>POST on "basePath/{id}/enable" to enable an entity.</li>
  * <li>POST on "basePath/{id}/disable" to disable an entity.</li>
+ * <li>POST on "basePath/enable" to enable the entities whose identifiers are
+ * given in the "ids" parameter.</li>
+ * <li>POST on "basePath/disable" to disable the entities whose identifiers
+ * are given in the "ids" parameter.</li>
  * <li>GET on "basePath/new" to get a view for creating an entity.</li>
  * </ul>
  * 
@@ -34,6 +46,12 @@ public abstract class CrudeController<DTO extends NonRemovableDto> extends BaseC
 	// Paths
 	protected static final String PATH_ENABLE = PATH_ID + "/enable";
 	protected static final String PATH_DISABLE = PATH_ID + "/disable";
+	protected static final String PATH_ENABLE_ALL = "/enable";
+	protected static final String PATH_DISABLE_ALL = "/disable";
+
+	// Parameters
+	protected static final String PARAM_IDS = "ids";
+	protected static final String MISSING_IDS = "missingIds";
 
 	/**
 	 * Constructs a CrudeController with a given CrudeRestService.
@@ -44,6 +62,18 @@ public abstract class CrudeController<DTO extends NonRemovableDto> extends BaseC
 		super(restService);
 	}
 
+	/**
+	 * Constructs a CrudeController with a given CrudeRestService and a
+	 * PagePrefetcher.
+	 * 
+	 * @param restService Service used to communicate with the REST server.
+	 * @param pagePrefetcher Prefetcher for pages of entities, or
+	 *            <code>null</code> for not prefetching pages.
+	 */
+	public CrudeController(CrudeRestService<DTO> restService, PagePrefetcher<DTO> pagePrefetcher) {
+		super(restService, pagePrefetcher);
+	}
+
 	@Override
 	protected CrudeRestService<DTO> getRestService() {
 		return (CrudeRestService<DTO>) super.getRestService();
@@ -58,6 +88,7 @@ public abstract class CrudeController<DTO extends NonRemovableDto> extends BaseC
 	@PostMapping(PATH_DISABLE)
 	public String disable(@PathVariable(PROPERTY_ID) long id) {
 		getRestService().disable(id);
+		invalidatePages();
 
 		return "redirect:" + getBasePath();
 	}
@@ -71,8 +102,53 @@ public abstract class CrudeController<DTO extends NonRemovableDto> extends BaseC
 	@PostMapping(PATH_ENABLE)
 	public String enable(@PathVariable(PROPERTY_ID) long id) {
 		getRestService().enable(id);
+		invalidatePages();
+
+		return "redirect:" + getBasePath();
+	}
+
+	/**
+	 * Disables several entities in a single request and redirects to the base
+	 * path. Identifiers of the entities that don't exist are passed to the
+	 * redirected view as the <code>"missingIds"</code> flash attribute.
+	 * 
+	 * @param ids The identifiers of the entities to disable.
+	 * @param redirectAttributes Attributes for the redirected view.
+	 * @return The view to show.
+	 */
+	@PostMapping(PATH_DISABLE_ALL)
+	public String disableAll(@RequestParam(PARAM_IDS) List<Long> ids, RedirectAttributes redirectAttributes) {
+		Map<Long, DTO> changed = getRestService().disableAll(ids);
+		invalidatePages();
+		addMissingIds(ids, changed, redirectAttributes);
 
 		return "redirect:" + getBasePath();
 	}
 
+	/**
+	 * Enables several entities in a single request and redirects to the base
+	 * path. Identifiers of the entities that don't exist are passed to the
+	 * redirected view as the <code>"missingIds"</code> flash attribute.
+	 * 
+	 * @param ids The identifiers of the entities to enable.
+	 * @param redirectAttributes Attributes for the redirected view.
+	 * @return The view to show.
+	 */
+	@PostMapping(PATH_ENABLE_ALL)
+	public String enableAll(@RequestParam(PARAM_IDS) List<Long> ids, RedirectAttributes redirectAttributes) {
+		Map<Long, DTO> changed = getRestService().enableAll(ids);
+		invalidatePages();
+		addMissingIds(ids, changed, redirectAttributes);
+
+		return "redirect:" + getBasePath();
+	}
+
+	private void addMissingIds(List<Long> ids, Map<Long, DTO> changed, RedirectAttributes redirectAttributes) {
+		Set<Long> missingIds = new LinkedHashSet<>(ids);
+		missingIds.removeAll(changed.keySet());
+		if (!missingIds.isEmpty()) {
+			redirectAttributes.addFlashAttribute(MISSING_IDS, missingIds);
+		}
+	}
+
 }
\ No newline at end of file
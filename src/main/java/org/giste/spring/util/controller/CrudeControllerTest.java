@@ -8,11 +8,16 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.flash;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.model;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.redirectedUrl;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.view;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
 import org.giste.spring.util.service.CrudeRestService;
 import org.giste.spring.util.service.exception.EntityNotFoundException;
 import org.giste.util.dto.NonRemovableDto;
@@ -183,6 +188,76 @@ public abstract class CrudeControllerTest<DTO extends NonRemovableDto> extends B
 		verifyNoMoreInteractions(getMockService());
 	}
 
+	/**
+	 * Checks the <code>disableAll()</code> method of the controller when one
+	 * of the entities doesn't exist.
+	 * <ul>
+	 * <li>Performs the request to the controller with two identifiers.</li>
+	 * <li>Checks status is FOUND.</li>
+	 * <li>Checks that returned view is redirected to the base path
+	 * (<code>"redirect:/entities"</code>).</li>
+	 * <li>Checks that the missing identifier is passed as flash
+	 * attribute.</li>
+	 * <li>Checks that the service is called once with all identifiers.</li>
+	 * </ul>
+	 * 
+	 * @throws Exception If there is an error calling the controller.
+	 */
+	@Test
+	public void disableAllIsValid() throws Exception {
+		List<Long> ids = Arrays.asList(1L, 2L);
+		DTO dto = getNewDto();
+		dto.setId(1L);
+
+		when(getMockService().disableAll(ids)).thenReturn(Collections.singletonMap(1L, dto));
+
+		getMockMvc().perform(post(getPathBase() + CrudeController.PATH_DISABLE_ALL)
+				.param("ids", "1", "2")
+				.contentType(MediaType.APPLICATION_FORM_URLENCODED))
+				.andExpect(status().isFound())
+				.andExpect(view().name("redirect:" + getPathBase()))
+				.andExpect(redirectedUrl(getPathBase()))
+				.andExpect(flash().attribute("missingIds", Collections.singleton(2L)));
+
+		verify(getMockService()).disableAll(ids);
+		verifyNoMoreInteractions(getMockService());
+	}
+
+	/**
+	 * Checks the <code>enableAll()</code> method of the controller when one
+	 * of the entities doesn't exist.
+	 * <ul>
+	 * <li>Performs the request to the controller with two identifiers.</li>
+	 * <li>Checks status is FOUND.</li>
+	 * <li>Checks that returned view is redirected to the base path
+	 * (<code>"redirect:/entities"</code>).</li>
+	 * <li>Checks that the missing identifier is passed as flash
+	 * attribute.</li>
+	 * <li>Checks that the service is called once with all identifiers.</li>
+	 * </ul>
+	 * 
+	 * @throws Exception If there is an error calling the controller.
+	 */
+	@Test
+	public void enableAllIsValid() throws Exception {
+		List<Long> ids = Arrays.asList(1L, 2L);
+		DTO dto = getNewDto();
+		dto.setId(1L);
+
+		when(getMockService().enableAll(ids)).thenReturn(Collections.singletonMap(1L, dto));
+
+		getMockMvc().perform(post(getPathBase() + CrudeController.PATH_ENABLE_ALL)
+				.param("ids", "1", "2")
+				.contentType(MediaType.APPLICATION_FORM_URLENCODED))
+				.andExpect(status().isFound())
+				.andExpect(view().name("redirect:" + getPathBase()))
+				.andExpect(redirectedUrl(getPathBase()))
+				.andExpect(flash().attribute("missingIds", Collections.singleton(2L)));
+
+		verify(getMockService()).enableAll(ids);
+		verifyNoMoreInteractions(getMockService());
+	}
+
 	@Override
 	protected void constructPaths() {
 		super.constructPaths();
@@ -0,0 +1,194 @@
+package org.giste.spring.util.error;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.giste.spring.util.error.dto.FieldErrorDto;
+import org.giste.spring.util.error.dto.RestErrorDto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+/**
+ * Decoder for the {@link RestErrorDto} returned in the body of error
+ * responses from REST server. It has two ways of decoding an error:
+ * <ul>
+ * <li>{@link #decodeSummary(byte[])} streams the body and only reads status,
+ * code, message and developer info, skipping the field error list.</li>
+ * <li>{@link #decode(byte[])} reads the whole error, field error list
+ * included.</li>
+ * </ul>
+ *
+ * All decoders share the same <code>ObjectReader</code>, which is warmed up
+ * when this class is loaded. Each decoder keeps its own count and time of
+ * decoded errors.
+ *
+ * @author Giste
+ */
+public class RestErrorDecoder {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(RestErrorDecoder.class);
+
+	// Property names of RestErrorDto.
+	private static final String STATUS = "status";
+	private static final String CODE = "code";
+	private static final String MESSAGE = "message";
+	private static final String DEVELOPER_INFO = "developerInfo";
+
+	private static final ObjectReader READER = new ObjectMapper().readerFor(RestErrorDto.class);
+
+	static {
+		warmUp();
+	}
+
+	private final LongAdder decodeCount = new LongAdder();
+	private final LongAdder fullDecodeCount = new LongAdder();
+	private final LongAdder decodeTime = new LongAdder();
+	private final AtomicLong maxDecodeTime = new AtomicLong();
+
+	private static void warmUp() {
+		try {
+			RestErrorDto error = new RestErrorDto(HttpStatus.CONFLICT, "0", "Message", "Developer info");
+			error.addFieldError(new FieldErrorDto("field", "Message"));
+
+			READER.readValue(new ObjectMapper().writeValueAsBytes(error));
+		} catch (IOException e) {
+			LOGGER.debug("Couldn't warm up RestErrorDto reader", e);
+		}
+	}
+
+	/**
+	 * Reads status, code, message and developer info of the error in the body
+	 * of a response, without reading its field error list.
+	 *
+	 * @param body The body of the response.
+	 * @return A <code>RestErrorDto</code> without field errors, or
+	 *         <code>null</code> if the body doesn't have a
+	 *         <code>RestErrorDto</code>.
+	 */
+	public RestErrorDto decodeSummary(byte[] body) {
+		long start = System.nanoTime();
+
+		try (JsonParser parser = READER.getFactory().createParser(body)) {
+			if (parser.nextToken() != JsonToken.START_OBJECT) {
+				return null;
+			}
+
+			HttpStatus status = null;
+			String code = null;
+			String message = null;
+			String developerInfo = null;
+
+			while (parser.nextToken() == JsonToken.FIELD_NAME) {
+				String name = parser.getCurrentName();
+				JsonToken token = parser.nextToken();
+
+				if (STATUS.equals(name)) {
+					status = readStatus(parser, token);
+				} else if (CODE.equals(name)) {
+					code = parser.getValueAsString();
+				} else if (MESSAGE.equals(name)) {
+					message = parser.getValueAsString();
+				} else if (DEVELOPER_INFO.equals(name)) {
+					developerInfo = parser.getValueAsString();
+				} else {
+					// Field error list and unknown properties.
+					parser.skipChildren();
+				}
+			}
+
+			return status == null ? null : new RestErrorDto(status, code, message, developerInfo);
+		} catch (IOException | IllegalArgumentException e) {
+			LOGGER.debug("Body is not a RestErrorDto", e);
+
+			return null;
+		} finally {
+			record(start);
+		}
+	}
+
+	/**
+	 * Reads the whole error in the body of a response, including its field
+	 * error list.
+	 *
+	 * @param body The body of the response.
+	 * @return The <code>RestErrorDto</code>, or <code>null</code> if the body
+	 *         doesn't have a <code>RestErrorDto</code>.
+	 */
+	public RestErrorDto decode(byte[] body) {
+		long start = System.nanoTime();
+
+		try {
+			fullDecodeCount.increment();
+
+			return READER.readValue(body);
+		} catch (IOException e) {
+			LOGGER.debug("Body is not a RestErrorDto", e);
+
+			return null;
+		} finally {
+			record(start);
+		}
+	}
+
+	private HttpStatus readStatus(JsonParser parser, JsonToken token) throws IOException {
+		if (token == JsonToken.VALUE_NUMBER_INT) {
+			return HttpStatus.valueOf(parser.getIntValue());
+		} else if (token == JsonToken.VALUE_STRING) {
+			return HttpStatus.valueOf(parser.getText());
+		}
+
+		return null;
+	}
+
+	private void record(long start) {
+		long time = System.nanoTime() - start;
+
+		decodeCount.increment();
+		decodeTime.add(time);
+		maxDecodeTime.accumulateAndGet(time, Math::max);
+	}
+
+	/**
+	 * Gets the number of errors decoded, either summarized or full.
+	 *
+	 * @return The number of decoded errors.
+	 */
+	public long getDecodeCount() {
+		return decodeCount.sum();
+	}
+
+	/**
+	 * Gets the number of errors decoded with their field error list.
+	 *
+	 * @return The number of fully decoded errors.
+	 */
+	public long getFullDecodeCount() {
+		return fullDecodeCount.sum();
+	}
+
+	/**
+	 * Gets the total time spent decoding errors.
+	 *
+	 * @return The total decoding time in nanoseconds.
+	 */
+	public long getDecodeTime() {
+		return decodeTime.sum();
+	}
+
+	/**
+	 * Gets the longest time spent decoding a single error.
+	 *
+	 * @return The maximum decoding time in nanoseconds.
+	 */
+	public long getMaxDecodeTime() {
+		return maxDecodeTime.get();
+	}
+
+}
@@ -0,0 +1,62 @@
+package org.giste.spring.util.service;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.giste.spring.util.service.exception.EntityNotFoundException;
+import org.giste.util.dto.BaseDto;
+
+/**
+ * Asynchronous version of {@link BaseRestService}. Its methods return at once
+ * and complete the returned <code>CompletableFuture</code> when the REST
+ * server answers. Errors are the same as in {@link BaseRestService}, but they
+ * complete the future exceptionally instead of being thrown. It has the
+ * following methods:
+ * <ul>
+ * <li>{@link #findAll()} to get a list of all entities.</li>
+ * <li>{@link #findById(long)} to get a single entity.</li>
+ * <li>{@link #create(BaseDto)} to create a new entity.</li>
+ * <li>{@link #update(BaseDto)} to update a single entity.</li>
+ * </ul>
+ * 
+ * @author Giste
+ *
+ * @param <DTO> The DTO of the managed entity.
+ */
+public interface AsyncBaseRestService<DTO extends BaseDto> {
+
+	/**
+	 * Retrieves all items.
+	 * 
+	 * @return Future completed with the list of existing items in the
+	 *         application.
+	 */
+	CompletableFuture<List<DTO>> findAll();
+
+	/**
+	 * Retrieves one item by its identifier. The future is completed with
+	 * {@link EntityNotFoundException} if the entity does not exist.
+	 * 
+	 * @param id Identifier for the looked up item.
+	 * @return Future completed with the DTO of the retrieved item.
+	 */
+	CompletableFuture<DTO> findById(long id);
+
+	/**
+	 * Creates a new item in the application.
+	 * 
+	 * @param dto DTO with the data for the new item.
+	 * @return Future completed with the DTO of the created item.
+	 */
+	CompletableFuture<DTO> create(DTO dto);
+
+	/**
+	 * Updates the data of an existing item. The future is completed with
+	 * {@link EntityNotFoundException} if the entity does not exist.
+	 * 
+	 * @param dto DTO with the data of the item to update.
+	 * @return Future completed with the DTO of the updated item.
+	 */
+	CompletableFuture<DTO> update(DTO dto);
+
+}
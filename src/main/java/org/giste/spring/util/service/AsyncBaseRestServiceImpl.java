@@ -0,0 +1,100 @@
+package org.giste.spring.util.service;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+import org.giste.spring.util.config.RestExecutors;
+import org.giste.spring.util.service.timeout.Deadline;
+import org.giste.util.dto.BaseDto;
+
+/**
+ * Implementation of {@link AsyncBaseRestService} that runs the calls of a
+ * {@link BaseRestService} in an <code>Executor</code>. Errors are mapped by
+ * the wrapped service, so they are the same as in the synchronous version
+ * (for example, {@link BaseRestServiceImpl} maps NOT_FOUND to
+ * <code>EntityNotFoundException</code> and handles CONFLICT).
+ * 
+ * The executor should be bounded, like the ones created by
+ * {@link RestExecutors}. If it rejects a call, the returned future is
+ * completed with the <code>RejectedExecutionException</code>.
+ * 
+ * @author Giste
+ *
+ * @param <DTO> The DTO of the entity to be managed by this service.
+ */
+public class AsyncBaseRestServiceImpl<DTO extends BaseDto> implements AsyncBaseRestService<DTO> {
+
+	private final BaseRestService<DTO> restService;
+	private final Executor executor;
+
+	/**
+	 * Constructs a new asynchronous service.
+	 * 
+	 * @param restService The synchronous service to call.
+	 * @param executor The <code>Executor</code> where calls are run.
+	 */
+	public AsyncBaseRestServiceImpl(BaseRestService<DTO> restService, Executor executor) {
+		this.restService = restService;
+		this.executor = executor;
+	}
+
+	/**
+	 * Gets the synchronous service called by this service.
+	 * 
+	 * @return The synchronous service.
+	 */
+	protected BaseRestService<DTO> getRestService() {
+		return restService;
+	}
+
+	/**
+	 * Gets the <code>Executor</code> where calls are run.
+	 * 
+	 * @return The <code>Executor</code> where calls are run.
+	 */
+	protected Executor getExecutor() {
+		return executor;
+	}
+
+	/**
+	 * Runs a call in the executor of this service, bounded by the deadline of
+	 * the calling thread.
+	 * 
+	 * @param call The call to run.
+	 * @return Future completed with the result of the call.
+	 */
+	protected <T> CompletableFuture<T> supply(Supplier<T> call) {
+		try {
+			return CompletableFuture.supplyAsync(Deadline.propagate(call), executor);
+		} catch (RejectedExecutionException e) {
+			CompletableFuture<T> future = new CompletableFuture<>();
+			future.completeExceptionally(e);
+
+			return future;
+		}
+	}
+
+	@Override
+	public CompletableFuture<List<DTO>> findAll() {
+		return supply(restService::findAll);
+	}
+
+	@Override
+	public CompletableFuture<DTO> findById(long id) {
+		return supply(() -> restService.findById(id));
+	}
+
+	@Override
+	public CompletableFuture<DTO> create(DTO dto) {
+		return supply(() -> restService.create(dto));
+	}
+
+	@Override
+	public CompletableFuture<DTO> update(DTO dto) {
+		return supply(() -> restService.update(dto));
+	}
+
+}
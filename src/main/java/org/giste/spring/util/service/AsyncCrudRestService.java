@@ -0,0 +1,27 @@
+package org.giste.spring.util.service;
+
+import java.util.concurrent.CompletableFuture;
+
+import org.giste.spring.util.service.exception.EntityNotFoundException;
+import org.giste.util.dto.BaseDto;
+
+/**
+ * Asynchronous version of {@link CrudRestService}.
+ * 
+ * @author Giste
+ *
+ * @param <DTO> The DTO of the managed entity.
+ */
+public interface AsyncCrudRestService<DTO extends BaseDto> extends AsyncBaseRestService<DTO> {
+
+	/**
+	 * Deletes the entity with the identifier passed as parameter. The future
+	 * is completed with {@link EntityNotFoundException} if the entity does not
+	 * exist.
+	 * 
+	 * @param id The identifier of the entity to delete.
+	 * @return Future completed when the entity is deleted.
+	 */
+	CompletableFuture<Void> delete(Long id);
+
+}
@@ -0,0 +1,43 @@
+package org.giste.spring.util.service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import org.giste.util.dto.BaseDto;
+
+/**
+ * Implementation of {@link AsyncCrudRestService} that runs the calls of a
+ * {@link CrudRestService} in an <code>Executor</code>.
+ * 
+ * @author Giste
+ *
+ * @param <DTO> The DTO of the entity to be managed by this service.
+ */
+public class AsyncCrudRestServiceImpl<DTO extends BaseDto> extends AsyncBaseRestServiceImpl<DTO>
+		implements AsyncCrudRestService<DTO> {
+
+	/**
+	 * Constructs a new asynchronous CRUD service.
+	 * 
+	 * @param restService The synchronous service to call.
+	 * @param executor The <code>Executor</code> where calls are run.
+	 */
+	public AsyncCrudRestServiceImpl(CrudRestService<DTO> restService, Executor executor) {
+		super(restService, executor);
+	}
+
+	@Override
+	protected CrudRestService<DTO> getRestService() {
+		return (CrudRestService<DTO>) super.getRestService();
+	}
+
+	@Override
+	public CompletableFuture<Void> delete(Long id) {
+		return supply(() -> {
+			getRestService().delete(id);
+
+			return null;
+		});
+	}
+
+}
@@ -0,0 +1,40 @@
+package org.giste.spring.util.service;
+
+import java.util.concurrent.CompletableFuture;
+
+import org.giste.spring.util.service.exception.EntityNotFoundException;
+import org.giste.util.dto.NonRemovableDto;
+
+/**
+ * Asynchronous version of {@link CrudeRestService}. It adds the following
+ * methods to {@link AsyncBaseRestService}:
+ * <ul>
+ * <li>{@link #enable(long)} to enable a single entity.</li>
+ * <li>{@link #disable(long)} to disable a single entity.</li>
+ * </ul>
+ * 
+ * @author Giste
+ *
+ * @param <DTO> The DTO of the managed entity.
+ */
+public interface AsyncCrudeRestService<DTO extends NonRemovableDto> extends AsyncBaseRestService<DTO> {
+
+	/**
+	 * Disables an item in the application. The future is completed with
+	 * {@link EntityNotFoundException} if the entity does not exist.
+	 * 
+	 * @param id Identifier of the item to disable.
+	 * @return Future completed with the DTO of the disabled item.
+	 */
+	CompletableFuture<DTO> disable(long id);
+
+	/**
+	 * Enables an item in the application. The future is completed with
+	 * {@link EntityNotFoundException} if the entity does not exist.
+	 * 
+	 * @param id Identifier of the item to enable.
+	 * @return Future completed with the DTO of the enabled item.
+	 */
+	CompletableFuture<DTO> enable(long id);
+
+}
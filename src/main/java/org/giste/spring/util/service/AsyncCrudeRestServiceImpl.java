@@ -0,0 +1,44 @@
+package org.giste.spring.util.service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import org.giste.util.dto.NonRemovableDto;
+
+/**
+ * Implementation of {@link AsyncCrudeRestService} that runs the calls of a
+ * {@link CrudeRestService} in an <code>Executor</code>.
+ * 
+ * @author Giste
+ *
+ * @param <DTO> The DTO of the entity to be managed by this service.
+ */
+public class AsyncCrudeRestServiceImpl<DTO extends NonRemovableDto> extends AsyncBaseRestServiceImpl<DTO>
+		implements AsyncCrudeRestService<DTO> {
+
+	/**
+	 * Constructs a new asynchronous CRUDE service.
+	 * 
+	 * @param restService The synchronous service to call.
+	 * @param executor The <code>Executor</code> where calls are run.
+	 */
+	public AsyncCrudeRestServiceImpl(CrudeRestService<DTO> restService, Executor executor) {
+		super(restService, executor);
+	}
+
+	@Override
+	protected CrudeRestService<DTO> getRestService() {
+		return (CrudeRestService<DTO>) super.getRestService();
+	}
+
+	@Override
+	public CompletableFuture<DTO> disable(long id) {
+		return supply(() -> getRestService().disable(id));
+	}
+
+	@Override
+	public CompletableFuture<DTO> enable(long id) {
+		return supply(() -> getRestService().enable(id));
+	}
+
+}
@@ -1,8 +1,15 @@
 package org.giste.spring.util.service;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 import org.giste.spring.util.service.exception.EntityNotFoundException;
+import org.giste.spring.util.service.page.Page;
+import org.giste.spring.util.service.page.PageRequest;
 import org.giste.util.dto.BaseDto;
 import org.giste.util.dto.NonRemovableDto;
 
@@ -11,9 +18,15 @@ import org.giste.util.dto.NonRemovableDto;
  * basic operations on the entity managed by them. It has the following methods:
  * <ul>
  * <li>{@link #findAll()} to get a list of all entities.</li>
+ * <li>{@link #findAll(Consumer)} to process all entities one by one.</li>
+ * <li>{@link #streamAll(Function)} to process a stream of all entities.</li>
+ * <li>{@link #findPage(PageRequest)} to get a page of entities.</li>
  * <li>{@link #findById(long)} to get a single entity.</li>
+ * <li>{@link #findByIds(Collection)} to get several entities.</li>
  * <li>{@link #create(NonRemovableDto)} to create a new entity.</li>
  * <li>{@link #update(NonRemovableDto)} to update a single entity.</li>
+ * <li>{@link #createAll(List)} to create several entities.</li>
+ * <li>{@link #updateAll(List)} to update several entities.</li>
  * </ul>
  * 
  * @author Giste
@@ -29,6 +42,32 @@ public interface BaseRestService<DTO extends BaseDto> {
 	 */
 	List<DTO> findAll();
 
+	/**
+	 * Retrieves all items and passes them one by one to a consumer, without
+	 * keeping the whole list in memory.
+	 * 
+	 * @param consumer Consumer for each retrieved item.
+	 */
+	void findAll(Consumer<? super DTO> consumer);
+
+	/**
+	 * Retrieves all items as a stream read while it's consumed, without
+	 * keeping the whole list in memory. The stream is only valid inside the
+	 * function.
+	 * 
+	 * @param function Function that consumes the stream of retrieved items.
+	 * @return The result of the function.
+	 */
+	<R> R streamAll(Function<? super Stream<DTO>, ? extends R> function);
+
+	/**
+	 * Retrieves a page of items.
+	 * 
+	 * @param pageRequest The number, size and sort of the page.
+	 * @return The page with the items and the total number of items.
+	 */
+	Page<DTO> findPage(PageRequest pageRequest);
+
 	/**
 	 * Retrieves one item by its identifier.
 	 * 
@@ -38,6 +77,17 @@ public interface BaseRestService<DTO extends BaseDto> {
 	 */
 	DTO findById(long id) throws EntityNotFoundException;
 
+	/**
+	 * Retrieves several items by their identifiers. Items that don't exist are
+	 * not included in the returned map, instead of throwing
+	 * {@link EntityNotFoundException} for the whole batch.
+	 * 
+	 * @param ids Identifiers of the looked up items.
+	 * @return Map with the found items by their identifiers, in the order of
+	 *         the identifiers.
+	 */
+	Map<Long, DTO> findByIds(Collection<Long> ids);
+
 	/**
 	 * Creates a new item in the application.
 	 * 
@@ -55,4 +105,22 @@ public interface BaseRestService<DTO extends BaseDto> {
 	 */
 	DTO update(DTO dto) throws EntityNotFoundException;
 
+	/**
+	 * Creates several items in the application. Items are sent in chunks, and
+	 * an error with an item doesn't stop the others.
+	 * 
+	 * @param dtos DTOs with the data for the new items.
+	 * @return The result for each item, in the same order as the DTOs.
+	 */
+	List<BulkResult<DTO>> createAll(List<DTO> dtos);
+
+	/**
+	 * Updates several existing items. Items are sent in chunks, and an error
+	 * with an item doesn't stop the others.
+	 * 
+	 * @param dtos DTOs with the data of the items to update.
+	 * @return The result for each item, in the same order as the DTOs.
+	 */
+	List<BulkResult<DTO>> updateAll(List<DTO> dtos);
+
 }
\ No newline at end of file
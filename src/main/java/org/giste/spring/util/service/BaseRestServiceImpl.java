@@ -1,23 +1,81 @@
 package org.giste.spring.util.service;
 
+import java.io.IOException;
+import java.lang.reflect.Array;
+import java.net.URI;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import org.giste.spring.util.config.RestProperties;
+import org.giste.spring.util.config.format.WireFormat;
+import org.giste.spring.util.error.RestErrorDecoder;
 import org.giste.spring.util.error.dto.RestErrorDto;
+import org.giste.spring.util.service.cache.ConditionalGetCache;
+import org.giste.spring.util.service.cache.EntityCache;
+import org.giste.spring.util.service.concurrent.ParallelRunner;
+import org.giste.spring.util.service.concurrent.SingleFlight;
+import org.giste.spring.util.service.exception.CircuitBreakerOpenException;
+import org.giste.spring.util.service.exception.ConcurrencyLimitExceededException;
+import org.giste.spring.util.service.exception.DeadlineExceededException;
 import org.giste.spring.util.service.exception.EntityNotFoundException;
+import org.giste.spring.util.service.metrics.OperationMetrics;
+import org.giste.spring.util.service.metrics.ServiceMetrics;
+import org.giste.spring.util.service.page.Page;
+import org.giste.spring.util.service.page.PageRequest;
+import org.giste.spring.util.service.resilience.CircuitBreaker;
+import org.giste.spring.util.service.resilience.ConcurrencyLimiter;
+import org.giste.spring.util.service.resilience.HedgingPolicy;
+import org.giste.spring.util.service.resilience.RetryPolicy;
+import org.giste.spring.util.service.timeout.CallTimeouts;
+import org.giste.spring.util.service.timeout.Deadline;
+import org.giste.spring.util.service.timeout.OperationTimeouts;
 import org.giste.util.dto.BaseDto;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.util.StreamUtils;
+import org.springframework.util.StringUtils;
 import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResponseExtractor;
 import org.springframework.web.client.RestTemplate;
-import org.springframework.web.util.UriComponents;
 import org.springframework.web.util.UriComponentsBuilder;
 
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
 
 /**
  * Base implementation class for services that performs CRUDE operations with a
@@ -37,6 +95,20 @@ import com.fasterxml.jackson.databind.ObjectMapper;
  */
 public abstract class BaseRestServiceImpl<DTO extends BaseDto> implements BaseRestService<DTO> {
 
+	// Parameters and headers for paged requests.
+	protected static final String PARAM_PAGE = "page";
+	protected static final String PARAM_SIZE = "size";
+	protected static final String PARAM_SORT = "sort";
+	protected static final String HEADER_TOTAL_COUNT = "X-Total-Count";
+
+	// Parameter for bulk requests.
+	protected static final String PARAM_IDS = "ids";
+
+	private static final List<MediaType> ACCEPT_JSON = Collections.singletonList(MediaType.APPLICATION_JSON);
+	// Statuses of responses whose errors usually have field errors.
+	private static final Set<HttpStatus> FIELD_ERROR_STATUSES = Collections.unmodifiableSet(
+			EnumSet.of(HttpStatus.BAD_REQUEST, HttpStatus.CONFLICT, HttpStatus.UNPROCESSABLE_ENTITY));
+
 	private final Logger LOGGER = LoggerFactory.getLogger(getClass());
 
 	private RestTemplate restTemplate;
@@ -45,6 +117,35 @@ public abstract class BaseRestServiceImpl<DTO extends BaseDto> implements BaseRe
 	private String pathBase;
 	private String pathId;
 
+	private RestUriTemplate uriBase;
+	private RestUriTemplate uriId;
+	private RestUriTemplate uriBulkFind;
+	private RestUriTemplate uriBulkCreate;
+	private RestUriTemplate uriBulkUpdate;
+
+	private final RestErrorDecoder errorDecoder = new RestErrorDecoder();
+
+	private EntityCache<DTO> entityCache;
+	private ConditionalGetCache conditionalGetCache;
+	private SingleFlight<FlightKey> singleFlight;
+	private ParallelRunner parallelRunner = new ParallelRunner(null, 1);
+	private CircuitBreaker circuitBreaker;
+	private RetryPolicy retryPolicy;
+	private HedgingPolicy hedgingPolicy;
+	private ConcurrencyLimiter concurrencyLimiter;
+	private ServiceMetrics metrics;
+	private volatile Map<RestOperation, OperationTimeouts> timeouts = new EnumMap<>(RestOperation.class);
+
+	private ObjectMapper objectMapper;
+	private ObjectReader dtoReader;
+	private ObjectReader arrayReader;
+	private ObjectWriter dtoWriter;
+	private ObjectWriter arrayWriter;
+	private WireFormat wireFormat = WireFormat.JSON;
+	private JsonFactory wireFactory;
+	private List<MediaType> acceptTypes = ACCEPT_JSON;
+	private boolean cachedCodecs;
+
 	/**
 	 * Construct a new <code>CrudeRestserviceImpl</code>.
 	 * 
@@ -52,16 +153,74 @@ public abstract class BaseRestServiceImpl<DTO extends BaseDto> implements BaseRe
 	 *            REST service.
 	 * @param restPropertiesImpl <code>RestPropertiesImpl</code> with data for
 	 *            connecting to REST service.
+	 * @throws IllegalArgumentException If the bulk chunk size of the
+	 *             properties isn't greater than 0.
 	 */
 	public BaseRestServiceImpl(RestTemplate restTemplate, RestProperties restPropertiesImpl) {
 		this.restTemplate = restTemplate;
 		this.restPropertiesImpl = restPropertiesImpl;
+		// Fail on construction instead of on the first bulk operation.
+		getBulkChunkSize();
 		constructPaths();
+		constructReaders();
+		circuitBreaker = new CircuitBreaker(pathBase, restPropertiesImpl);
+		if (restPropertiesImpl.isMetricsEnabled()) {
+			metrics = new ServiceMetrics(pathBase);
+		}
 	}
 
 	private void constructPaths() {
 		pathBase = getBasePath();
 		pathId = pathBase + "/{id}";
+
+		uriBase = new RestUriTemplate(restPropertiesImpl, pathBase);
+		uriId = new RestUriTemplate(restPropertiesImpl, pathId);
+		if (getBulkFindPath() != null) {
+			uriBulkFind = new RestUriTemplate(restPropertiesImpl, getBulkFindPath());
+		}
+		if (getBulkCreatePath() != null) {
+			uriBulkCreate = new RestUriTemplate(restPropertiesImpl, getBulkCreatePath());
+		}
+		if (getBulkUpdatePath() != null) {
+			uriBulkUpdate = new RestUriTemplate(restPropertiesImpl, getBulkUpdatePath());
+		}
+	}
+
+	private void constructReaders() {
+		objectMapper = new ObjectMapper();
+		for (HttpMessageConverter<?> converter : restTemplate.getMessageConverters()) {
+			if (converter instanceof MappingJackson2HttpMessageConverter) {
+				// Use the same configuration as RestTemplate.
+				objectMapper = ((MappingJackson2HttpMessageConverter) converter).getObjectMapper();
+				break;
+			}
+		}
+
+		// Cached readers and writers only replace the stock JSON converter, so
+		// custom converters of RestTemplate still apply.
+		cachedCodecs = isStockJsonConverter(findJsonConverter(true)) && isStockJsonConverter(findJsonConverter(false));
+
+		// Resolved once, instead of looking them up for each request.
+		dtoReader = objectMapper.readerFor(getDtoType());
+		arrayReader = objectMapper.readerFor(getArrayType());
+		dtoWriter = objectMapper.writerFor(getDtoType());
+		arrayWriter = objectMapper.writerFor(getArrayType());
+	}
+
+	private HttpMessageConverter<?> findJsonConverter(boolean read) {
+		for (HttpMessageConverter<?> converter : restTemplate.getMessageConverters()) {
+			if (read ? converter.canRead(getDtoType(), MediaType.APPLICATION_JSON)
+					: converter.canWrite(getDtoType(), MediaType.APPLICATION_JSON)) {
+				return converter;
+			}
+		}
+
+		return null;
+	}
+
+	private boolean isStockJsonConverter(HttpMessageConverter<?> converter) {
+		return converter != null && converter.getClass() == MappingJackson2HttpMessageConverter.class
+				&& ((MappingJackson2HttpMessageConverter) converter).getObjectMapper() == objectMapper;
 	}
 
 	/**
@@ -72,7 +231,12 @@ public abstract class BaseRestServiceImpl<DTO extends BaseDto> implements BaseRe
 	 * 
 	 * @return The <code>UriComponentsBuilder</code> with the properties to
 	 *         communicate with the REST service.
+	 * @deprecated URIs of requests are built from the compiled templates of
+	 *             {@link #getUriBase()} and {@link #getUriId()}, so overriding
+	 *             this method doesn't change them anymore. Use
+	 *             {@link RestUriTemplate} for other paths.
 	 */
+	@Deprecated
 	protected UriComponentsBuilder constructUriBuilder() {
 		return UriComponentsBuilder.newInstance()
 				.scheme(restPropertiesImpl.getScheme())
@@ -99,6 +263,25 @@ public abstract class BaseRestServiceImpl<DTO extends BaseDto> implements BaseRe
 		return pathId;
 	}
 
+	/**
+	 * Gets the compiled URI template for the base path of the entity managed
+	 * by this service.
+	 * 
+	 * @return The URI template for the base path.
+	 */
+	protected RestUriTemplate getUriBase() {
+		return uriBase;
+	}
+
+	/**
+	 * Gets the compiled URI template for the actions on a single entity.
+	 * 
+	 * @return The URI template for the actions on a single entity.
+	 */
+	protected RestUriTemplate getUriId() {
+		return uriId;
+	}
+
 	/**
 	 * Gets the <code>RestPropertiesImpl</code> with data for accessing the REST
 	 * service.
@@ -110,6 +293,442 @@ public abstract class BaseRestServiceImpl<DTO extends BaseDto> implements BaseRe
 		return restPropertiesImpl;
 	}
 
+	/**
+	 * Gets the <code>ObjectMapper</code> used to read and write DTOs. It's the
+	 * one used by the JSON converter of <code>RestTemplate</code>, if any.
+	 * 
+	 * @return The <code>ObjectMapper</code> for reading DTOs.
+	 */
+	protected ObjectMapper getObjectMapper() {
+		return objectMapper;
+	}
+
+	/**
+	 * Gets the reader resolved once for the DTO of this service.
+	 * 
+	 * @return The <code>ObjectReader</code> for a single DTO.
+	 */
+	protected ObjectReader getDtoReader() {
+		return dtoReader;
+	}
+
+	/**
+	 * Gets the reader resolved once for arrays of the DTO of this service.
+	 * 
+	 * @return The <code>ObjectReader</code> for an array of DTOs.
+	 */
+	protected ObjectReader getArrayReader() {
+		return arrayReader;
+	}
+
+	/**
+	 * Gets the format asked to REST server for lists of entities.
+	 * 
+	 * @return The wire format.
+	 */
+	public WireFormat getWireFormat() {
+		return wireFormat;
+	}
+
+	/**
+	 * Sets the format asked to REST server for lists of entities and for
+	 * entities read with conditional requests. With a binary format, JSON is
+	 * still accepted with a lower preference, so REST servers that don't
+	 * support the binary format keep working. By default, only JSON is asked.
+	 * 
+	 * @param wireFormat The wire format.
+	 * @throws IllegalStateException If the Jackson module of the format is not
+	 *             in the classpath.
+	 */
+	public void setWireFormat(WireFormat wireFormat) {
+		if (wireFormat == null || wireFormat == WireFormat.JSON) {
+			this.wireFactory = null;
+			this.acceptTypes = ACCEPT_JSON;
+		} else {
+			this.wireFactory = wireFormat.createFactory();
+			this.acceptTypes = Collections.unmodifiableList(Arrays.asList(wireFormat.getMediaType(),
+					new MediaType(MediaType.APPLICATION_JSON, Collections.singletonMap("q", "0.5"))));
+		}
+		this.wireFormat = wireFormat == null ? WireFormat.JSON : wireFormat;
+	}
+
+	/**
+	 * Gets the cache of entities read by {@link #findById(long)}.
+	 * 
+	 * @return The cache of entities, or <code>null</code> if entities are not
+	 *         cached.
+	 */
+	public EntityCache<DTO> getEntityCache() {
+		return entityCache;
+	}
+
+	/**
+	 * Sets a cache for entities read by {@link #findById(long)}. Cached
+	 * entities are refreshed with the DTO returned by REST server when they
+	 * are created, updated, enabled or disabled, and removed when they are
+	 * deleted.
+	 * 
+	 * @param entityCache The cache of entities, or <code>null</code> for not
+	 *            caching entities.
+	 */
+	public void setEntityCache(EntityCache<DTO> entityCache) {
+		this.entityCache = entityCache;
+	}
+
+	/**
+	 * Gets the cache for conditional requests of {@link #findAll()} and
+	 * {@link #findById(long)}.
+	 * 
+	 * @return The cache for conditional requests, or <code>null</code> if
+	 *         requests are not conditional.
+	 */
+	public ConditionalGetCache getConditionalGetCache() {
+		return conditionalGetCache;
+	}
+
+	/**
+	 * Sets a cache for conditional requests of {@link #findAll()} and
+	 * {@link #findById(long)}. The <code>ETag</code> and
+	 * <code>Last-Modified</code> of the last response for each URI are sent
+	 * back to REST server, and the previous result is returned if it answers
+	 * NOT MODIFIED.
+	 * 
+	 * @param conditionalGetCache The cache for conditional requests, or
+	 *            <code>null</code> for not sending conditional requests.
+	 */
+	public void setConditionalGetCache(ConditionalGetCache conditionalGetCache) {
+		this.conditionalGetCache = conditionalGetCache;
+	}
+
+	/**
+	 * Gets the runner for operations on several entities.
+	 * 
+	 * @return The runner for operations on several entities.
+	 */
+	public ParallelRunner getParallelRunner() {
+		return parallelRunner;
+	}
+
+	/**
+	 * Sets the runner for operations on several entities, like
+	 * {@link #findByIds(Collection)}. By default, operations are run one after
+	 * another in the calling thread.
+	 * 
+	 * @param parallelRunner The runner for operations on several entities.
+	 */
+	public void setParallelRunner(ParallelRunner parallelRunner) {
+		this.parallelRunner = parallelRunner;
+	}
+
+	/**
+	 * Gets the table of calls in flight used to coalesce concurrent identical
+	 * reads.
+	 * 
+	 * @return The table of calls in flight, or <code>null</code> if reads are
+	 *         not coalesced.
+	 */
+	public SingleFlight<?> getSingleFlight() {
+		return singleFlight;
+	}
+
+	/**
+	 * Enables or disables the coalescing of concurrent identical reads. When
+	 * enabled, concurrent callers of {@link #findAll()}, or of
+	 * {@link #findById(long)} with the same identifier, share a single call to
+	 * REST server and its result or exception.
+	 * 
+	 * @param requestCoalescing <code>true</code> for coalescing reads.
+	 */
+	public void setRequestCoalescing(boolean requestCoalescing) {
+		singleFlight = requestCoalescing ? new SingleFlight<>() : null;
+	}
+
+	/**
+	 * Gets the circuit breaker for the calls to REST server.
+	 * 
+	 * @return The circuit breaker, or <code>null</code> if calls are not
+	 *         protected by a circuit breaker.
+	 */
+	public CircuitBreaker getCircuitBreaker() {
+		return circuitBreaker;
+	}
+
+	/**
+	 * Sets the circuit breaker for the calls to REST server. By default, each
+	 * service has its own circuit breaker configured from
+	 * <code>RestProperties</code>.
+	 * 
+	 * @param circuitBreaker The circuit breaker, or <code>null</code> for not
+	 *            protecting calls with a circuit breaker.
+	 */
+	public void setCircuitBreaker(CircuitBreaker circuitBreaker) {
+		this.circuitBreaker = circuitBreaker;
+	}
+
+	/**
+	 * Gets the retry policy for idempotent calls to REST server.
+	 * 
+	 * @return The retry policy, or <code>null</code> if calls are not retried.
+	 */
+	public RetryPolicy getRetryPolicy() {
+		return retryPolicy;
+	}
+
+	/**
+	 * Sets the retry policy for idempotent calls to REST server. Only calls of
+	 * idempotent operations are retried. By default, calls are not retried.
+	 * 
+	 * @param retryPolicy The retry policy, or <code>null</code> for not
+	 *            retrying calls.
+	 */
+	public void setRetryPolicy(RetryPolicy retryPolicy) {
+		this.retryPolicy = retryPolicy;
+	}
+
+	/**
+	 * Gets the hedging policy for {@link #findById(long)} and
+	 * {@link #findAll()}.
+	 * 
+	 * @return The hedging policy, or <code>null</code> if calls are not
+	 *         hedged.
+	 */
+	public HedgingPolicy getHedgingPolicy() {
+		return hedgingPolicy;
+	}
+
+	/**
+	 * Sets the hedging policy for {@link #findById(long)} and
+	 * {@link #findAll()}. Other operations are never hedged, as they have side
+	 * effects on REST server or on the caller. By default, calls are not
+	 * hedged.
+	 * 
+	 * @param hedgingPolicy The hedging policy, or <code>null</code> for not
+	 *            hedging calls.
+	 */
+	public void setHedgingPolicy(HedgingPolicy hedgingPolicy) {
+		this.hedgingPolicy = hedgingPolicy;
+	}
+
+	/**
+	 * Gets the concurrency limiter for the calls to REST server.
+	 * 
+	 * @return The concurrency limiter, or <code>null</code> if concurrent
+	 *         calls are not limited.
+	 */
+	public ConcurrencyLimiter getConcurrencyLimiter() {
+		return concurrencyLimiter;
+	}
+
+	/**
+	 * Sets the concurrency limiter for the calls to REST server. Each service
+	 * should have its own limiter, so a slow resource only blocks the threads
+	 * of its own service. By default, concurrent calls are not limited.
+	 * 
+	 * @param concurrencyLimiter The concurrency limiter, or <code>null</code>
+	 *            for not limiting concurrent calls.
+	 */
+	public void setConcurrencyLimiter(ConcurrencyLimiter concurrencyLimiter) {
+		this.concurrencyLimiter = concurrencyLimiter;
+	}
+
+	/**
+	 * Gets the metrics of the calls to REST server.
+	 * 
+	 * @return The metrics, or <code>null</code> if calls are not measured.
+	 */
+	public ServiceMetrics getMetrics() {
+		return metrics;
+	}
+
+	/**
+	 * Sets the metrics of the calls to REST server. If
+	 * {@link RestProperties#isMetricsEnabled()} is set, each service has its
+	 * own metrics named after its base path by default, which can be exported
+	 * with a <code>MetricsRegistry</code>. Otherwise calls are not measured by
+	 * default. Payload sizes are only measured with a
+	 * <code>RestTemplate</code> created with metrics enabled.
+	 * 
+	 * @param metrics The metrics, or <code>null</code> for not measuring
+	 *            calls.
+	 */
+	public void setMetrics(ServiceMetrics metrics) {
+		this.metrics = metrics;
+	}
+
+	/**
+	 * Gets the timeouts for the calls of an operation.
+	 * 
+	 * @param operation The operation.
+	 * @return The timeouts, or <code>null</code> if the operation uses the
+	 *         ones of the <code>RestTemplate</code>.
+	 */
+	public OperationTimeouts getTimeouts(RestOperation operation) {
+		return timeouts.get(operation);
+	}
+
+	/**
+	 * Sets the timeouts for the calls of an operation, overriding the ones of
+	 * the <code>RestTemplate</code>. They only take effect if the
+	 * <code>RestTemplate</code> was created by <code>RestTemplateFactory</code>.
+	 * 
+	 * @param operation The operation.
+	 * @param connectTimeout The timeout in milliseconds for connecting, or 0
+	 *            for the default one.
+	 * @param readTimeout The timeout in milliseconds for reading, or 0 for the
+	 *            default one.
+	 */
+	public synchronized void setTimeouts(RestOperation operation, int connectTimeout, int readTimeout) {
+		// Copy on write, as timeouts are read by every call.
+		Map<RestOperation, OperationTimeouts> newTimeouts = new EnumMap<>(timeouts);
+		if (connectTimeout <= 0 && readTimeout <= 0) {
+			newTimeouts.remove(operation);
+		} else {
+			newTimeouts.put(operation, new OperationTimeouts(connectTimeout, readTimeout));
+		}
+		timeouts = newTimeouts;
+	}
+
+	/**
+	 * Invokes a call to REST server. All calls of the service go through this
+	 * method, which protects each attempt with the concurrency limiter and the
+	 * circuit breaker, if there are any, and retries idempotent operations
+	 * with the retry policy, if there is one. Calls are measured in the
+	 * metrics of the service, if there are any. Each attempt runs with the timeouts of the operation,
+	 * bounded by the deadline of the web request being served, and it's not
+	 * sent if the deadline has expired. Exceptions thrown by the call are
+	 * thrown unchanged.
+	 * 
+	 * @param operation The operation performed by the call.
+	 * @param call The call to REST server.
+	 * @return The result of the call.
+	 * @throws CircuitBreakerOpenException If the circuit breaker is open.
+	 * @throws ConcurrencyLimitExceededException If the service has too many
+	 *             calls in progress.
+	 * @throws DeadlineExceededException If the deadline of the web request has
+	 *             expired.
+	 */
+	protected <T> T invoke(RestOperation operation, Supplier<T> call)
+			throws CircuitBreakerOpenException, ConcurrencyLimitExceededException, DeadlineExceededException {
+		return invoke(operation, call, false);
+	}
+
+	/**
+	 * Invokes a call to REST server like {@link #invoke(RestOperation, Supplier)},
+	 * hedging each attempt with the hedging policy, if there is one and the
+	 * call can be hedged.
+	 * 
+	 * @param operation The operation performed by the call.
+	 * @param call The call to REST server.
+	 * @param hedge <code>true</code> if the call is free of side effects, so
+	 *            it can be hedged.
+	 * @return The result of the call.
+	 */
+	private <T> T invoke(RestOperation operation, Supplier<T> call, boolean hedge) {
+		// Request attributes are bound to the caller thread, not to the ones
+		// running hedged attempts.
+		Deadline deadline = Deadline.current();
+		ServiceMetrics serviceMetrics = metrics;
+		OperationMetrics operationMetrics = serviceMetrics == null ? null : serviceMetrics.get(operation);
+		Supplier<T> meteredCall = operationMetrics == null ? call : () -> operationMetrics.capturePayload(call);
+
+		OperationTimeouts operationTimeouts = getTimeouts(operation);
+		// Without a timeout for the operation, the configured one applies, so
+		// the deadline can only shorten it.
+		int connectTimeout = operationTimeouts != null && operationTimeouts.getConnectTimeout() > 0
+				? operationTimeouts.getConnectTimeout()
+				: restPropertiesImpl.getConnectTimeout();
+		int readTimeout = operationTimeouts != null && operationTimeouts.getReadTimeout() > 0
+				? operationTimeouts.getReadTimeout()
+				: restPropertiesImpl.getReadTimeout();
+		Supplier<T> timedCall = deadline == null && operationTimeouts == null
+				? meteredCall
+				: () -> CallTimeouts.run(connectTimeout, readTimeout, deadline, meteredCall);
+
+		CircuitBreaker breaker = circuitBreaker;
+		Supplier<T> breakerCall = breaker == null ? timedCall : () -> breaker.execute(timedCall);
+
+		ConcurrencyLimiter limiter = concurrencyLimiter;
+		Supplier<T> limitedCall = limiter == null ? breakerCall : () -> limiter.execute(breakerCall);
+		Supplier<T> protectedCall = deadline == null ? limitedCall : () -> {
+			// Don't count calls that can't be sent in time in the circuit
+			// breaker.
+			if (deadline.isExpired()) {
+				throw new DeadlineExceededException("Deadline expired before calling " + pathBase);
+			}
+			return limitedCall.get();
+		};
+
+		HedgingPolicy hedging = hedgingPolicy;
+		Supplier<T> attempt = hedge && hedging != null ? () -> hedging.execute(protectedCall) : protectedCall;
+
+		RetryPolicy retry = retryPolicy;
+		Supplier<T> retriedCall = retry == null || !operation.isIdempotent()
+				? attempt
+				: () -> retry.execute(attempt);
+
+		return operationMetrics == null ? retriedCall.get() : operationMetrics.record(retriedCall);
+	}
+
+	/**
+	 * Puts a copy of a DTO returned by REST server into the entity cache, if
+	 * there is one, so later changes to the DTO don't reach the cache.
+	 * 
+	 * @param dto The DTO to cache.
+	 */
+	protected void cacheDto(DTO dto) {
+		if (entityCache != null && dto != null) {
+			Long id = dto.getId();
+			if (id != null) {
+				entityCache.put(id, copyDto(dto));
+			}
+		}
+	}
+
+	/**
+	 * Copies a DTO by writing and reading it with the cached writer and reader
+	 * of this service. It's used to hand out DTOs that are shared by the
+	 * caches, as DTOs are mutable.
+	 * 
+	 * @param dto The DTO to copy.
+	 * @return A new DTO with the same properties, or <code>null</code> if the
+	 *         DTO is <code>null</code>.
+	 */
+	protected DTO copyDto(DTO dto) {
+		if (dto == null) {
+			return null;
+		}
+
+		try {
+			TokenBuffer buffer = new TokenBuffer(objectMapper, false);
+			dtoWriter.writeValue(buffer, dto);
+
+			return dtoReader.readValue(buffer.asParser());
+		} catch (IOException e) {
+			throw new IllegalStateException("Couldn't copy " + dto, e);
+		}
+	}
+
+	/**
+	 * Removes an entity from the entity cache, if there is one.
+	 * 
+	 * @param id The identifier of the entity to remove.
+	 */
+	protected void evictDto(Long id) {
+		if (entityCache != null && id != null) {
+			entityCache.invalidate(id);
+		}
+	}
+
+	/**
+	 * Gets the decoder for errors returned by REST service. It keeps the count
+	 * and time of decoded errors.
+	 * 
+	 * @return The decoder for errors returned by REST service.
+	 */
+	protected RestErrorDecoder getErrorDecoder() {
+		return errorDecoder;
+	}
+
 	/**
 	 * Gets the <code>RestTemplate</code> used to communicate with REST service.
 	 * 
@@ -122,12 +741,12 @@ public abstract class BaseRestServiceImpl<DTO extends BaseDto> implements BaseRe
 
 	@Override
 	public DTO create(DTO club) {
-		UriComponents uri = constructUriBuilder().path(pathBase).build();
-
 		DTO dto = null;
 
 		try {
-			dto = restTemplate.postForObject(uri.toUriString(), club, getDtoType());
+			dto = invoke(RestOperation.CREATE,
+					() -> exchange(uriBase.expand(), HttpMethod.POST, club, dtoWriter, dtoReader, getDtoType()));
+			cacheDto(dto);
 		} catch (HttpClientErrorException e) {
 			LOGGER.debug("Catched exception {}", e);
 			
@@ -139,20 +758,337 @@ public abstract class BaseRestServiceImpl<DTO extends BaseDto> implements BaseRe
 
 	@Override
 	public List<DTO> findAll() {
-		UriComponents uri = constructUriBuilder().path(getBasePath()).build();
+		if (singleFlight == null && conditionalGetCache == null) {
+			return loadAll();
+		}
 
-		return Arrays.stream(restTemplate.getForObject(uri.toUriString(), getArrayType()))
-				.collect(Collectors.toList());
+		List<DTO> dtoList = singleFlight == null
+				? loadAll()
+				: singleFlight.execute(new FlightKey(RestOperation.FIND_ALL, 0), this::loadAll);
+
+		// Copy the DTOs, as the ones in flight or in the cache are shared.
+		List<DTO> copies = new ArrayList<>(dtoList.size());
+		for (DTO dto : dtoList) {
+			copies.add(copyDto(dto));
+		}
+
+		return copies;
+	}
+
+	private List<DTO> loadAll() {
+		if (conditionalGetCache != null) {
+			return conditionalGet(RestOperation.FIND_ALL, uriBase.expand(), this::readDtoList);
+		}
+
+		return streamArray(RestOperation.FIND_ALL, uriBase.expand(), (headers, dtos) -> {
+			// A new list for each request, as hedged requests run together.
+			List<DTO> dtoList = new ArrayList<>();
+			dtos.forEachRemaining(dtoList::add);
+
+			return dtoList;
+		}, true);
+	}
+
+	@Override
+	public void findAll(Consumer<? super DTO> consumer) {
+		streamArray(RestOperation.FIND_ALL, uriBase.expand(), (headers, dtos) -> {
+			dtos.forEachRemaining(consumer);
+
+			return null;
+		}, false);
+	}
+
+	@Override
+	public <R> R streamAll(Function<? super Stream<DTO>, ? extends R> function) {
+		return streamArray(RestOperation.FIND_ALL, uriBase.expand(), (headers, dtos) -> {
+			Spliterator<DTO> spliterator = Spliterators.spliteratorUnknownSize(dtos, Spliterator.ORDERED);
+
+			return function.apply(StreamSupport.stream(spliterator, false));
+		}, false);
+	}
+
+	@Override
+	public Page<DTO> findPage(PageRequest pageRequest) {
+		UriComponentsBuilder uri = UriComponentsBuilder.fromUri(uriBase.expand())
+				.queryParam(PARAM_PAGE, pageRequest.getPage())
+				.queryParam(PARAM_SIZE, pageRequest.getSize());
+		if (pageRequest.getSort() != null) {
+			uri.queryParam(PARAM_SORT, pageRequest.getSort());
+		}
+
+		return streamArray(RestOperation.FIND_PAGE, uri.build().encode().toUri(), (headers, dtos) -> {
+			List<DTO> content = new ArrayList<>();
+			dtos.forEachRemaining(content::add);
+
+			// Without total count, assume there are no more pages.
+			String totalCount = headers.getFirst(HEADER_TOTAL_COUNT);
+			long totalElements = totalCount == null
+					? pageRequest.getOffset() + content.size()
+					: Long.parseLong(totalCount);
+
+			return new Page<DTO>(content, pageRequest, totalElements);
+		}, false);
+	}
+
+	/**
+	 * Requests a list of entities to the REST server and reads the DTOs of the
+	 * response one by one while the function consumes them. The iterator is
+	 * only valid inside the function, as the response is closed when it
+	 * returns.
+	 * 
+	 * @param operation The operation performed by the request.
+	 * @param uri The URI of the request.
+	 * @param function Function that consumes the headers and the DTOs of the
+	 *            response.
+	 * @param hedge <code>true</code> if the function is free of side effects,
+	 *            so the request can be hedged.
+	 * @return The result of the function.
+	 */
+	private <R> R streamArray(RestOperation operation, URI uri,
+			BiFunction<HttpHeaders, Iterator<DTO>, ? extends R> function, boolean hedge) {
+		return invoke(operation, () -> restTemplate.execute(uri, HttpMethod.GET,
+				request -> request.getHeaders().setAccept(acceptTypes),
+				(ClientHttpResponse response) -> {
+					try (JsonParser parser = createParser(response)) {
+						return function.apply(response.getHeaders(), new JsonArrayIterator<DTO>(parser, dtoReader));
+					}
+				}), hedge);
+	}
+
+	/**
+	 * Sends a conditional GET request with the validators of the last response
+	 * for the same URI. If REST server answers NOT MODIFIED, the previous
+	 * result is returned without reading the response. Otherwise, the response
+	 * is read by the extractor and stored with its validators. The request
+	 * can be hedged, so the extractor has to be free of side effects.
+	 * 
+	 * @param operation The operation performed by the request.
+	 * @param uri The URI of the request.
+	 * @param extractor The extractor for reading the response.
+	 * @return The result of the request.
+	 */
+	private <T> T conditionalGet(RestOperation operation, URI uri, ResponseExtractor<T> extractor) {
+		ConditionalGetCache.Entry entry = conditionalGetCache.get(uri);
+
+		return invoke(operation, () -> restTemplate.execute(uri, HttpMethod.GET, request -> {
+			request.getHeaders().setAccept(acceptTypes);
+			if (entry != null) {
+				entry.addConditions(request.getHeaders());
+			}
+		}, response -> {
+			if (entry != null && response.getStatusCode() == HttpStatus.NOT_MODIFIED) {
+				conditionalGetCache.notModified();
+
+				return entry.<T>getValue();
+			}
+
+			T value = extractor.extractData(response);
+			conditionalGetCache.put(uri, response.getHeaders(), value);
+
+			return value;
+		}), true);
+	}
+
+	private List<DTO> readDtoList(ClientHttpResponse response) throws IOException {
+		List<DTO> dtoList = new ArrayList<>();
+
+		try (JsonParser parser = createParser(response)) {
+			new JsonArrayIterator<DTO>(parser, dtoReader).forEachRemaining(dtoList::add);
+		}
+
+		return Collections.unmodifiableList(dtoList);
+	}
+
+	private DTO readDto(ClientHttpResponse response) throws IOException {
+		try (JsonParser parser = createParser(response)) {
+			return readValue(parser, dtoReader);
+		}
+	}
+
+	/**
+	 * Sends a JSON request whose body is written with a writer resolved for
+	 * its type, and reads the JSON response with a reader resolved for the
+	 * type of the result, instead of letting the message converters of
+	 * <code>RestTemplate</code> look them up for each request. If
+	 * <code>RestTemplate</code> has custom JSON converters, the request is
+	 * sent through them instead.
+	 * 
+	 * @param uri The URI of the request.
+	 * @param method The HTTP method of the request.
+	 * @param body The body of the request, or <code>null</code> if it has no
+	 *            body.
+	 * @param writer The writer for the body, or <code>null</code> if it has no
+	 *            body.
+	 * @param reader The reader for the body of the response.
+	 * @param type The type of the result.
+	 * @return The value read from the response, or <code>null</code> if the
+	 *         response has no body.
+	 */
+	protected <T> T exchange(URI uri, HttpMethod method, Object body, ObjectWriter writer, ObjectReader reader,
+			Class<T> type) {
+		if (!cachedCodecs) {
+			return restTemplate.exchange(uri, method, body == null ? null : new HttpEntity<>(body), type).getBody();
+		}
+
+		return restTemplate.execute(uri, method, request -> {
+			request.getHeaders().setAccept(ACCEPT_JSON);
+			if (body != null) {
+				request.getHeaders().setContentType(MediaType.APPLICATION_JSON_UTF8);
+				writer.writeValue(StreamUtils.nonClosing(request.getBody()), body);
+			}
+		}, response -> {
+			try (JsonParser parser = objectMapper.getFactory().createParser(response.getBody())) {
+				return this.<T>readValue(parser, reader);
+			}
+		});
+	}
+
+	private <T> T readValue(JsonParser parser, ObjectReader reader) throws IOException {
+		// An empty body, like the one of NO CONTENT, has no value.
+		return parser.nextToken() == null ? null : reader.readValue(parser);
+	}
+
+	/**
+	 * Creates a parser for the body of a response, in the binary wire format
+	 * of this service if the response has its content type, or in JSON
+	 * otherwise.
+	 * 
+	 * @param response The response to read.
+	 * @return The parser for the body of the response.
+	 * @throws IOException If the body can't be read.
+	 */
+	private JsonParser createParser(ClientHttpResponse response) throws IOException {
+		JsonFactory factory = wireFactory;
+		if (factory != null && WireFormat.fromMediaType(response.getHeaders().getContentType()) == wireFormat) {
+			return factory.createParser(response.getBody());
+		}
+
+		return objectMapper.getFactory().createParser(response.getBody());
 	}
 
 	@Override
 	public DTO findById(long id) throws EntityNotFoundException {
-		UriComponents uri = constructUriBuilder().path(pathId).build();
+		DTO dto = entityCache == null ? null : entityCache.get(id);
+		if (dto != null) {
+			return copyDto(dto);
+		}
+
+		if (singleFlight == null && conditionalGetCache == null) {
+			return loadById(id);
+		}
+
+		dto = singleFlight == null
+				? loadById(id)
+				: singleFlight.execute(new FlightKey(RestOperation.FIND_BY_ID, id), () -> loadById(id));
+
+		// Copy the DTO, as the one in flight or in the cache is shared.
+		return copyDto(dto);
+	}
+
+	@Override
+	public Map<Long, DTO> findByIds(Collection<Long> ids) {
+		Set<Long> uniqueIds = new LinkedHashSet<>(ids);
+		Map<Long, DTO> found = new ConcurrentHashMap<>();
+
+		if (getBulkFindPath() == null) {
+			parallelRunner.forEach(uniqueIds, id -> {
+				try {
+					DTO dto = findById(id);
+					// Without a DTO, the entity is left out like a missing one.
+					if (dto != null) {
+						found.put(id, dto);
+					}
+				} catch (EntityNotFoundException e) {
+					LOGGER.debug("Entity {} not found", id);
+				}
+			});
+		} else {
+			List<List<Long>> chunks = chunk(new ArrayList<>(uniqueIds));
+
+			parallelRunner.forEach(chunks, idChunk -> findChunk(idChunk).forEach(dto -> {
+				if (dto != null && dto.getId() != null) {
+					cacheDto(dto);
+					found.put(dto.getId(), dto);
+				}
+			}));
+		}
+
+		// Keep the order of the identifiers.
+		Map<Long, DTO> dtoMap = new LinkedHashMap<>();
+		for (Long id : uniqueIds) {
+			DTO dto = found.get(id);
+			if (dto != null) {
+				dtoMap.put(id, dto);
+			}
+		}
+
+		return dtoMap;
+	}
+
+	/**
+	 * Splits a list in chunks for bulk operations. The size of the chunks is
+	 * read from {@link RestProperties#getBulkChunkSize()}.
+	 * 
+	 * @param list The list to split.
+	 * @return The chunks of the list.
+	 * @throws IllegalArgumentException If the size of the chunks isn't
+	 *             greater than 0.
+	 */
+	protected <T> List<List<T>> chunk(List<T> list) {
+		int chunkSize = getBulkChunkSize();
+
+		List<List<T>> chunks = new ArrayList<>();
+		for (int start = 0; start < list.size(); start += chunkSize) {
+			chunks.add(list.subList(start, Math.min(start + chunkSize, list.size())));
+		}
+
+		return chunks;
+	}
+
+	private int getBulkChunkSize() {
+		int chunkSize = restPropertiesImpl.getBulkChunkSize();
+		if (chunkSize < 1) {
+			throw new IllegalArgumentException("Bulk chunk size has to be greater than 0");
+		}
+
+		return chunkSize;
+	}
+
+	private List<DTO> findChunk(List<Long> ids) {
+		URI uri = UriComponentsBuilder.fromUri(uriBulkFind.expand())
+				.queryParam(PARAM_IDS, StringUtils.collectionToCommaDelimitedString(ids))
+				.build()
+				.toUri();
+
+		try {
+			return streamArray(RestOperation.BULK_FIND, uri, (headers, dtos) -> {
+				List<DTO> dtoList = new ArrayList<>(ids.size());
+				dtos.forEachRemaining(dtoList::add);
+
+				return dtoList;
+			}, false);
+		} catch (HttpClientErrorException e) {
+			LOGGER.debug("Catched exception {}", e);
+
+			try {
+				handleHttpClientErrorException(e);
+			} catch (EntityNotFoundException enfe) {
+				LOGGER.debug("No entity of chunk {} found", ids);
+			}
+		}
 
+		return Collections.emptyList();
+	}
+
+	private DTO loadById(long id) {
 		DTO dto = null;
 
 		try {
-			dto = restTemplate.getForObject(uri.toUriString(), getDtoType(), id);
+			dto = conditionalGetCache == null
+					? invoke(RestOperation.FIND_BY_ID,
+							() -> exchange(uriId.expand(id), HttpMethod.GET, null, null, dtoReader, getDtoType()), true)
+					: conditionalGet(RestOperation.FIND_BY_ID, uriId.expand(id), this::readDto);
+			cacheDto(dto);
 		} catch (HttpClientErrorException e) {
 			LOGGER.debug("Catched exception {}", e);
 			
@@ -164,35 +1100,153 @@ public abstract class BaseRestServiceImpl<DTO extends BaseDto> implements BaseRe
 
 	@Override
 	public DTO update(DTO club) throws EntityNotFoundException {
-		UriComponents uri = constructUriBuilder().path(pathId).build();
-
 		DTO dto = null;
 
 		try {
-			dto = restTemplate.exchange(uri.toUriString(), HttpMethod.PUT, new HttpEntity<>(club),
-					getDtoType(), club.getId()).getBody();
+			dto = invoke(RestOperation.UPDATE, () -> exchange(uriId.expand(club.getId()), HttpMethod.PUT, club,
+					dtoWriter, dtoReader, getDtoType()));
+			cacheDto(dto);
 		} catch (HttpClientErrorException e) {
 			LOGGER.debug("Catched exception {}", e);
+			evictDto(club.getId());
 			
 			handleHttpClientErrorException(e);
+		} catch (RuntimeException e) {
+			// The server may have applied the update anyway.
+			evictDto(club.getId());
+
+			throw e;
 		}
 
 		return dto;
 	}
 
-	protected void handleHttpClientErrorException(HttpClientErrorException hcee) {
-		ObjectMapper objectMapper = new ObjectMapper();
-		RestErrorDto error;
+	@Override
+	public List<BulkResult<DTO>> createAll(List<DTO> dtos) {
+		return runBulk(dtos, uriBulkCreate, RestOperation.BULK_CREATE, this::create);
+	}
+
+	@Override
+	public List<BulkResult<DTO>> updateAll(List<DTO> dtos) {
+		return runBulk(dtos, uriBulkUpdate, RestOperation.BULK_UPDATE, this::update);
+	}
+
+	/**
+	 * Runs a bulk operation. DTOs are split in chunks, and chunks are sent
+	 * concurrently by the parallel runner. Each chunk is sent to the bulk
+	 * endpoint if there is one, or item by item with the single entity
+	 * operation otherwise.
+	 * 
+	 * @param dtos The DTOs to send.
+	 * @param uriBulk The URI of the bulk endpoint, or <code>null</code> if
+	 *            there isn't any.
+	 * @param operation The operation performed by the bulk endpoint.
+	 * @param singleOperation The single entity operation.
+	 * @return The result for each DTO.
+	 */
+	private List<BulkResult<DTO>> runBulk(List<DTO> dtos, RestUriTemplate uriBulk, RestOperation operation,
+			UnaryOperator<DTO> singleOperation) {
+		List<List<DTO>> chunks = chunk(dtos);
+		AtomicReferenceArray<List<BulkResult<DTO>>> chunkResults = new AtomicReferenceArray<>(chunks.size());
+
+		List<Integer> indexes = IntStream.range(0, chunks.size()).boxed().collect(Collectors.toList());
+		parallelRunner.forEach(indexes, index -> chunkResults.set(index, uriBulk == null
+				? runChunk(chunks.get(index), singleOperation)
+				: sendChunk(chunks.get(index), uriBulk, operation)));
+
+		List<BulkResult<DTO>> results = new ArrayList<>(dtos.size());
+		for (int i = 0; i < chunkResults.length(); i++) {
+			results.addAll(chunkResults.get(i));
+		}
+
+		return results;
+	}
+
+	private List<BulkResult<DTO>> runChunk(List<DTO> chunk, UnaryOperator<DTO> operation) {
+		List<BulkResult<DTO>> results = new ArrayList<>(chunk.size());
+
+		for (DTO dto : chunk) {
+			try {
+				results.add(new BulkResult<>(dto, operation.apply(dto), null));
+			} catch (RuntimeException e) {
+				LOGGER.debug("Bulk operation failed for {}", dto, e);
+				results.add(new BulkResult<>(dto, null, e));
+			}
+		}
+
+		return results;
+	}
+
+	private List<BulkResult<DTO>> sendChunk(List<DTO> chunk, RestUriTemplate uriBulk, RestOperation operation) {
+		List<BulkResult<DTO>> results = new ArrayList<>(chunk.size());
+		DTO[] saved = null;
+		RuntimeException exception = null;
 
 		try {
-			error = objectMapper.readValue(hcee.getResponseBodyAsByteArray(), RestErrorDto.class);
-			LOGGER.debug("RestError={}", error);
-		} catch (Exception e) {
+			saved = invoke(operation, () -> exchange(uriBulk.expand(), operation.getMethod(),
+					chunk.toArray(newArray(chunk.size())), arrayWriter, arrayReader, getArrayType()));
+		} catch (HttpClientErrorException e) {
+			LOGGER.debug("Catched exception {}", e);
+
+			try {
+				handleHttpClientErrorException(e);
+			} catch (RuntimeException handled) {
+				exception = handled;
+			}
+		} catch (RuntimeException e) {
+			exception = e;
+		}
+
+		// REST server returns the DTOs in the same order they were sent.
+		for (int i = 0; i < chunk.size(); i++) {
+			DTO dto = chunk.get(i);
+			DTO result = saved != null && i < saved.length ? saved[i] : null;
+
+			if (result == null) {
+				evictDto(dto.getId());
+			} else {
+				cacheDto(result);
+			}
+			results.add(new BulkResult<>(dto, result, exception));
+		}
+
+		return results;
+	}
+
+	/**
+	 * Handles an <code>HttpClientErrorException</code> thrown when calling the
+	 * REST server. The embedded <code>RestErrorDto</code> is read whole, field
+	 * error list included, when the status of the response is one that
+	 * carries field errors (BAD_REQUEST, CONFLICT or UNPROCESSABLE_ENTITY) or
+	 * when the error is a CONFLICT. Otherwise, only its status, code and
+	 * messages are read, skipping the field error list.
+	 * <ul>
+	 * <li>NOT_FOUND throws an {@link EntityNotFoundException}.</li>
+	 * <li>CONFLICT calls {@link #handleHttpStatusConflict(RestErrorDto)}.</li>
+	 * <li>Any other status, or a body without <code>RestErrorDto</code>,
+	 * throws the original exception.</li>
+	 * </ul>
+	 * 
+	 * @param hcee The exception thrown when calling the REST server.
+	 */
+	protected void handleHttpClientErrorException(HttpClientErrorException hcee) {
+		byte[] body = hcee.getResponseBodyAsByteArray();
+		RestErrorDto error = FIELD_ERROR_STATUSES.contains(hcee.getStatusCode()) ? errorDecoder.decode(body) : null;
+		if (error == null) {
+			error = errorDecoder.decodeSummary(body);
+			// A CONFLICT is always handled with its field errors.
+			if (error != null && error.getStatus() == HttpStatus.CONFLICT) {
+				error = errorDecoder.decode(body);
+			}
+		}
+
+		if (error == null) {
 			// No RestErrorDto inside HttpClientErrorException.
 			// Throw original exception.
 			LOGGER.debug("No RestErrorDto, throwing original HttpClientErrorException");
 			throw hcee;
 		}
+		LOGGER.debug("RestError={}", error);
 
 		switch (error.getStatus()) {
 		case NOT_FOUND:
@@ -200,7 +1254,7 @@ public abstract class BaseRestServiceImpl<DTO extends BaseDto> implements BaseRe
 			LOGGER.debug("Throwing EntityNotFoundException");
 			throw new EntityNotFoundException(error.getMessage());
 		case CONFLICT:
-			// Allow subclasses to treat this error.
+			// Allow subclasses to treat this error with its field errors.
 			handleHttpStatusConflict(error);
 			break;
 		default:
@@ -232,6 +1286,48 @@ public abstract class BaseRestServiceImpl<DTO extends BaseDto> implements BaseRe
 	 */
 	protected abstract String getBasePath();
 
+	/**
+	 * Gets the path of the bulk endpoint of REST server for finding several
+	 * entities, if it has one. The endpoint is called with GET and an
+	 * <code>ids</code> parameter with the comma separated identifiers, and it
+	 * has to return an array with the found entities. Default implementation
+	 * returns <code>null</code>, so entities are found one by one.
+	 * 
+	 * @return The path of the bulk endpoint, or <code>null</code> if there
+	 *         isn't any.
+	 */
+	protected String getBulkFindPath() {
+		return null;
+	}
+
+	/**
+	 * Gets the path of the bulk endpoint of REST server for creating several
+	 * entities, if it has one. The endpoint is called with POST and an array
+	 * of DTOs, and it has to return an array with the created entities in the
+	 * same order. Default implementation returns <code>null</code>, so
+	 * entities are created one by one.
+	 * 
+	 * @return The path of the bulk endpoint, or <code>null</code> if there
+	 *         isn't any.
+	 */
+	protected String getBulkCreatePath() {
+		return null;
+	}
+
+	/**
+	 * Gets the path of the bulk endpoint of REST server for updating several
+	 * entities, if it has one. The endpoint is called with PUT and an array of
+	 * DTOs, and it has to return an array with the updated entities in the
+	 * same order. Default implementation returns <code>null</code>, so
+	 * entities are updated one by one.
+	 * 
+	 * @return The path of the bulk endpoint, or <code>null</code> if there
+	 *         isn't any.
+	 */
+	protected String getBulkUpdatePath() {
+		return null;
+	}
+
 	/**
 	 * Handles an error with HTTP status of CONFLICT. Usually it will be called
 	 * due to duplicated properties. Subclasses have to handle it.
@@ -241,4 +1337,114 @@ public abstract class BaseRestServiceImpl<DTO extends BaseDto> implements BaseRe
 	 */
 	protected abstract void handleHttpStatusConflict(RestErrorDto error);
 
+	/**
+	 * Warms up this service before it receives requests, so the first ones
+	 * don't pay for cold code. The Jackson readers and writers of the DTO and
+	 * DTO array types are already resolved when the service is constructed.
+	 * <ul>
+	 * <li>Writes and reads a new DTO and an array of DTOs the given number of
+	 * times, the way requests and responses are, so the JIT compiles those
+	 * paths. It's skipped if the DTO has no default constructor.</li>
+	 * <li>Sends a request through all the layers of the service with
+	 * {@link #warmUpRequest()}.</li>
+	 * </ul>
+	 * Errors are logged, as a failed warm up mustn't stop the application.
+	 * 
+	 * @param iterations The number of times the DTO is written and read.
+	 */
+	public void warmUp(int iterations) {
+		try {
+			DTO dto = newWarmUpDto();
+			if (dto != null) {
+				exerciseReaders(dto, iterations);
+			}
+		} catch (IOException | RuntimeException e) {
+			LOGGER.warn("Couldn't warm up Jackson for {}: {}", getDtoType().getSimpleName(), e.getMessage());
+		}
+
+		try {
+			warmUpRequest();
+		} catch (RuntimeException e) {
+			LOGGER.warn("Warm up request to {} failed: {}", pathBase, e.getMessage());
+		}
+	}
+
+	private DTO newWarmUpDto() {
+		try {
+			return getDtoType().getDeclaredConstructor().newInstance();
+		} catch (ReflectiveOperationException e) {
+			LOGGER.debug("Can't create a {} for warming up: {}", getDtoType().getSimpleName(), e.getMessage());
+			return null;
+		}
+	}
+
+	private void exerciseReaders(DTO dto, int iterations) throws IOException {
+		DTO[] dtos = newArray(1);
+		dtos[0] = dto;
+		byte[] dtoBody = dtoWriter.writeValueAsBytes(dto);
+		byte[] arrayBody = arrayWriter.writeValueAsBytes(dtos);
+
+		for (int i = 0; i < iterations; i++) {
+			dtoWriter.writeValueAsBytes(dto);
+			arrayWriter.writeValueAsBytes(dtos);
+			dtoReader.readValue(dtoBody);
+			arrayReader.readValue(arrayBody);
+			try (JsonParser parser = objectMapper.getFactory().createParser(arrayBody)) {
+				new JsonArrayIterator<DTO>(parser, dtoReader).forEachRemaining(item -> {
+				});
+			}
+			uriBase.expand();
+			uriId.expand(i);
+		}
+	}
+
+	private DTO[] newArray(int length) {
+		return getArrayType().cast(Array.newInstance(getDtoType(), length));
+	}
+
+	/**
+	 * Sends the request used to warm up this service. By default, it finds the
+	 * entity with identifier 0, which has no side effects, is supported by
+	 * every REST server and usually answers NOT FOUND without reading any
+	 * entity. Subclasses may override it with a request that suits their REST
+	 * server better.
+	 */
+	protected void warmUpRequest() {
+		try {
+			findById(0);
+		} catch (EntityNotFoundException e) {
+			LOGGER.debug("Warm up request to {} found no entity", pathBase);
+		}
+	}
+
+	/**
+	 * Key of a read in flight: the operation and the identifier of the entity.
+	 */
+	private static final class FlightKey {
+
+		private final RestOperation operation;
+		private final long id;
+
+		private FlightKey(RestOperation operation, long id) {
+			this.operation = operation;
+			this.id = id;
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * operation.hashCode() + Long.hashCode(id);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof FlightKey)) {
+				return false;
+			}
+
+			FlightKey other = (FlightKey) obj;
+
+			return operation == other.operation && id == other.id;
+		}
+	}
+
 }
\ No newline at end of file
@@ -1,34 +1,67 @@
 package org.giste.spring.util.service;
 
+import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.fail;
-import static org.mockito.Mockito.mock;
+import static org.junit.Assume.assumeTrue;
+import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.client.match.MockRestRequestMatchers.content;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
 import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
 import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
 import static org.springframework.test.web.client.response.MockRestResponseCreators.withBadRequest;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withNoContent;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withServerError;
 import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
 import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
 
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.giste.spring.util.config.RestProperties;
 import org.giste.spring.util.config.RestPropertiesImpl;
+import org.giste.spring.util.error.RestErrorDecoder;
 import org.giste.spring.util.error.dto.FieldErrorDto;
 import org.giste.spring.util.error.dto.RestErrorDto;
+import org.giste.spring.util.service.cache.ConditionalGetCache;
+import org.giste.spring.util.service.cache.EntityCache;
 import org.giste.spring.util.service.exception.EntityNotFoundException;
+import org.giste.spring.util.service.page.Page;
+import org.giste.spring.util.service.page.PageRequest;
+import org.giste.spring.util.service.timeout.CallTimeouts;
+import org.giste.spring.util.service.timeout.Deadline;
 import org.giste.util.dto.BaseDto;
 import org.giste.util.dto.NonRemovableDto;
 import org.junit.Before;
 import org.junit.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpInputMessage;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpOutputMessage;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.test.web.client.ResponseActions;
 import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
 import org.springframework.web.util.UriComponents;
 import org.springframework.web.util.UriComponentsBuilder;
 
@@ -54,6 +87,11 @@ import com.fasterxml.jackson.databind.ObjectMapper;
  * <ul>
  * <li>{@link #checkProperties(NonRemovableDto, NonRemovableDto)} to check that
  * the properties of a DTO matches the ones of a target DTO.</li>
+ * <li>{@link #getServiceBulkFindPath()} if the service finds several
+ * entities with a bulk endpoint.</li>
+ * <li>{@link #getServiceBulkCreatePath()} and
+ * {@link #getServiceBulkUpdatePath()} if the service creates or updates
+ * several entities with bulk endpoints.</li>
  * </ul>
  * 
  * @author Giste
@@ -71,6 +109,9 @@ public abstract class BaseRestServiceTest<DTO extends BaseDto> {
 	// Constant for paths.
 	private final String PATH_ID = "/{id}";
 
+	// Last modification of entities for conditional requests.
+	private static final long LAST_MODIFIED = 1500000000000L;
+
 	// Paths for common CRUDE REST queries.
 	private String pathBase;
 	private String pathId;
@@ -212,6 +253,48 @@ public abstract class BaseRestServiceTest<DTO extends BaseDto> {
 	 */
 	protected abstract String getServiceBasePath();
 
+	/**
+	 * Gets the path of the bulk endpoint for finding several entities used by
+	 * the service under testing, like <code>"/cars/bulk"</code>. Subclasses
+	 * have to override it if the service has one. Default implementation
+	 * returns <code>null</code>, so entities are expected to be found one by
+	 * one.
+	 * 
+	 * @return The path of the bulk endpoint, or <code>null</code> if there
+	 *         isn't any.
+	 */
+	protected String getServiceBulkFindPath() {
+		return null;
+	}
+
+	/**
+	 * Gets the path of the bulk endpoint for creating several entities used by
+	 * the service under testing, like <code>"/cars/bulk"</code>. Subclasses
+	 * have to override it if the service has one. Default implementation
+	 * returns <code>null</code>, so entities are expected to be created one by
+	 * one.
+	 * 
+	 * @return The path of the bulk endpoint, or <code>null</code> if there
+	 *         isn't any.
+	 */
+	protected String getServiceBulkCreatePath() {
+		return null;
+	}
+
+	/**
+	 * Gets the path of the bulk endpoint for updating several entities used by
+	 * the service under testing, like <code>"/cars/bulk"</code>. Subclasses
+	 * have to override it if the service has one. Default implementation
+	 * returns <code>null</code>, so entities are expected to be updated one by
+	 * one.
+	 * 
+	 * @return The path of the bulk endpoint, or <code>null</code> if there
+	 *         isn't any.
+	 */
+	protected String getServiceBulkUpdatePath() {
+		return null;
+	}
+
 	/**
 	 * Gets the service to test. Subclasses has to return the service to test
 	 * created with the RestTemplate and RestPropertiesImpl passed as
@@ -238,7 +321,7 @@ public abstract class BaseRestServiceTest<DTO extends BaseDto> {
 	 * Setup the needed object for testing.
 	 * <ul>
 	 * <li>Creates <code>ObjectMapper</code>.</li>
-	 * <li>Builds and mock <code>RestPropertiesImpl</code> for testing.</li>
+	 * <li>Builds and spies <code>RestPropertiesImpl</code> for testing.</li>
 	 * <li>Creates URI builder and populate it with testing values for scheme,
 	 * host, port and path.</li>
 	 * <li>Builds different REST paths from base path.</li>
@@ -258,11 +341,13 @@ public abstract class BaseRestServiceTest<DTO extends BaseDto> {
 	public void setUp() {
 		objectMapper = new ObjectMapper();
 
-		restPropertiesImpl = mock(RestPropertiesImpl.class);
-		when(restPropertiesImpl.getScheme()).thenReturn(SCHEME);
-		when(restPropertiesImpl.getHost()).thenReturn(HOST);
-		when(restPropertiesImpl.getPort()).thenReturn(PORT);
-		when(restPropertiesImpl.getPath()).thenReturn(PATH_REST);
+		// Spied, so properties not stubbed by subclasses keep their defaults.
+		RestPropertiesImpl properties = new RestPropertiesImpl();
+		properties.setScheme(SCHEME);
+		properties.setHost(HOST);
+		properties.setPort(PORT);
+		properties.setPath(PATH_REST);
+		restPropertiesImpl = spy(properties);
 
 		uriBuilder = UriComponentsBuilder.newInstance()
 				.scheme(restPropertiesImpl.getScheme())
@@ -349,6 +434,111 @@ public abstract class BaseRestServiceTest<DTO extends BaseDto> {
 		assertThat(readList.size(), is(0));
 	}
 
+	/**
+	 * Checks that <code>findAll(Consumer)</code> passes every DTO returned by
+	 * REST server to the consumer, in the same order.
+	 * 
+	 * @throws Exception If response can't be mapped to DTO.
+	 */
+	@Test
+	public void testFindAllWithConsumerIsOk() throws Exception {
+		final DTO dto1 = getNewDto();
+		dto1.setId(1L);
+		final DTO dto2 = getNewDto();
+		dto2.setId(2L);
+		final DTO[] dtoList = getEmptyDtoArray(2);
+
+		dtoList[0] = dto1;
+		dtoList[1] = dto2;
+
+		final UriComponents uri = uriBuilder.path(pathBase).build();
+
+		mockServer.expect(requestTo(uri.toUriString()))
+				.andExpect(method(HttpMethod.GET))
+				.andRespond(withSuccess(objectMapper.writeValueAsBytes(dtoList), MediaType.APPLICATION_JSON_UTF8));
+
+		List<DTO> readDtoList = new ArrayList<>();
+		service.findAll(readDtoList::add);
+
+		mockServer.verify();
+
+		assertThat(readDtoList.size(), is(dtoList.length));
+		checkProperties(readDtoList.get(0), dto1);
+		checkProperties(readDtoList.get(1), dto2);
+	}
+
+	/**
+	 * Checks that <code>streamAll(Function)</code> streams every DTO returned
+	 * by REST server and returns the result of the function.
+	 * 
+	 * @throws Exception If response can't be mapped to DTO.
+	 */
+	@Test
+	public void testStreamAllIsOk() throws Exception {
+		final DTO dto1 = getNewDto();
+		dto1.setId(1L);
+		final DTO dto2 = getNewDto();
+		dto2.setId(2L);
+		final DTO[] dtoList = getEmptyDtoArray(2);
+
+		dtoList[0] = dto1;
+		dtoList[1] = dto2;
+
+		final UriComponents uri = uriBuilder.path(pathBase).build();
+
+		mockServer.expect(requestTo(uri.toUriString()))
+				.andExpect(method(HttpMethod.GET))
+				.andRespond(withSuccess(objectMapper.writeValueAsBytes(dtoList), MediaType.APPLICATION_JSON_UTF8));
+
+		long count = service.streamAll(dtos -> dtos.count());
+
+		mockServer.verify();
+
+		assertThat(count, is((long) dtoList.length));
+	}
+
+	/**
+	 * Checks that <code>findPage(PageRequest)</code> sends the page parameters
+	 * to REST server and reads the DTOs and the total count of the page.
+	 * 
+	 * @throws Exception If response can't be mapped to DTO.
+	 */
+	@Test
+	public void testFindPageIsOk() throws Exception {
+		final DTO dto1 = getNewDto();
+		dto1.setId(1L);
+		final DTO dto2 = getNewDto();
+		dto2.setId(2L);
+		final DTO[] dtoList = getEmptyDtoArray(2);
+
+		dtoList[0] = dto1;
+		dtoList[1] = dto2;
+
+		final UriComponents uri = uriBuilder.path(pathBase)
+				.queryParam("page", 1)
+				.queryParam("size", 2)
+				.build();
+
+		HttpHeaders headers = new HttpHeaders();
+		headers.set("X-Total-Count", "5");
+
+		mockServer.expect(requestTo(uri.toUriString()))
+				.andExpect(method(HttpMethod.GET))
+				.andRespond(withSuccess(objectMapper.writeValueAsBytes(dtoList), MediaType.APPLICATION_JSON_UTF8)
+						.headers(headers));
+
+		Page<DTO> page = service.findPage(new PageRequest(1, 2));
+
+		mockServer.verify();
+
+		assertThat(page.getContent().size(), is(dtoList.length));
+		assertThat(page.getTotalElements(), is(5L));
+		assertThat(page.getTotalPages(), is(3));
+		assertThat(page.hasNext(), is(true));
+		checkProperties(page.getContent().get(0), dto1);
+		checkProperties(page.getContent().get(1), dto2);
+	}
+
 	/**
 	 * Checks that correct HTTP method and URI are used when calling REST server
 	 * and checks that returned DTO corresponds to read entity.
@@ -379,6 +569,194 @@ public abstract class BaseRestServiceTest<DTO extends BaseDto> {
 		checkProperties(readDto, dto);
 	}
 
+	/**
+	 * Checks that a second read of an entity is sent as a conditional request
+	 * with the validators of the first response, and that the first entity is
+	 * returned when REST server answers NOT MODIFIED.
+	 * 
+	 * @throws Exception If there is an error with ObjectMapper.
+	 */
+	@Test
+	public void testFindByIdNotModified() throws Exception {
+		assumeTrue(service instanceof BaseRestServiceImpl);
+		final ConditionalGetCache cache = new ConditionalGetCache(10);
+		((BaseRestServiceImpl<?>) service).setConditionalGetCache(cache);
+		final DTO dto = getNewDto();
+
+		HttpHeaders validators = new HttpHeaders();
+		validators.setETag("\"v1\"");
+		validators.setLastModified(LAST_MODIFIED);
+		HttpHeaders conditions = new HttpHeaders();
+		conditions.setIfModifiedSince(LAST_MODIFIED);
+
+		final UriComponents uri = uriBuilder.path(pathId).buildAndExpand(dto.getId());
+
+		mockServer.expect(requestTo(uri.toUriString()))
+				.andExpect(method(HttpMethod.GET))
+				.andRespond(withSuccess(objectMapper.writeValueAsBytes(dto), MediaType.APPLICATION_JSON_UTF8)
+						.headers(validators));
+		mockServer.expect(requestTo(uri.toUriString()))
+				.andExpect(method(HttpMethod.GET))
+				.andExpect(header(HttpHeaders.IF_NONE_MATCH, "\"v1\""))
+				.andExpect(header(HttpHeaders.IF_MODIFIED_SINCE, conditions.getFirst(HttpHeaders.IF_MODIFIED_SINCE)))
+				.andRespond(withStatus(HttpStatus.NOT_MODIFIED));
+
+		DTO firstDto = service.findById(dto.getId());
+		DTO secondDto = service.findById(dto.getId());
+
+		mockServer.verify();
+
+		checkProperties(firstDto, dto);
+		checkProperties(secondDto, dto);
+		assertThat(cache.getStoredCount(), is(1L));
+		assertThat(cache.getNotModifiedCount(), is(1L));
+	}
+
+	/**
+	 * Checks that a second read of all entities is sent as a conditional
+	 * request, and that the first list is returned when REST server answers
+	 * NOT MODIFIED.
+	 * 
+	 * @throws Exception If there is an error with ObjectMapper.
+	 */
+	@Test
+	public void testFindAllNotModified() throws Exception {
+		assumeTrue(service instanceof BaseRestServiceImpl);
+		final ConditionalGetCache cache = new ConditionalGetCache(10);
+		((BaseRestServiceImpl<?>) service).setConditionalGetCache(cache);
+		final DTO[] dtoList = getEmptyDtoArray(1);
+		dtoList[0] = getNewDto();
+
+		HttpHeaders validators = new HttpHeaders();
+		validators.setETag("\"v1\"");
+
+		final UriComponents uri = uriBuilder.path(pathBase).build();
+
+		mockServer.expect(requestTo(uri.toUriString()))
+				.andExpect(method(HttpMethod.GET))
+				.andRespond(withSuccess(objectMapper.writeValueAsBytes(dtoList), MediaType.APPLICATION_JSON_UTF8)
+						.headers(validators));
+		mockServer.expect(requestTo(uri.toUriString()))
+				.andExpect(method(HttpMethod.GET))
+				.andExpect(header(HttpHeaders.IF_NONE_MATCH, "\"v1\""))
+				.andRespond(withStatus(HttpStatus.NOT_MODIFIED));
+
+		service.findAll();
+		List<DTO> readDtoList = service.findAll();
+
+		mockServer.verify();
+
+		assertThat(readDtoList.size(), is(1));
+		checkProperties(readDtoList.get(0), dtoList[0]);
+		assertThat(cache.getNotModifiedCount(), is(1L));
+	}
+
+	/**
+	 * Checks that an entity read from the entity cache is a copy, so changes
+	 * made by a caller don't reach the cache or other callers.
+	 * 
+	 * @throws Exception If there is an error with ObjectMapper.
+	 */
+	@SuppressWarnings("unchecked")
+	@Test
+	public void testFindByIdReturnsCopyOfCachedDto() throws Exception {
+		assumeTrue(service instanceof BaseRestServiceImpl);
+		((BaseRestServiceImpl<DTO>) service).setEntityCache(new EntityCache<>(10, 60000));
+		final DTO dto = getNewDto();
+
+		final UriComponents uri = uriBuilder.path(pathId).buildAndExpand(dto.getId());
+
+		mockServer.expect(requestTo(uri.toUriString()))
+				.andExpect(method(HttpMethod.GET))
+				.andRespond(withSuccess(objectMapper.writeValueAsBytes(dto), MediaType.APPLICATION_JSON_UTF8));
+
+		DTO firstDto = service.findById(dto.getId());
+		DTO secondDto = service.findById(dto.getId());
+
+		mockServer.verify();
+
+		assertThat(secondDto, is(not(sameInstance(firstDto))));
+		checkProperties(secondDto, dto);
+	}
+
+	/**
+	 * Checks that a cached entity is evicted when its update fails with a
+	 * server error, as REST server may have applied it anyway.
+	 * 
+	 * @throws Exception If there is an error with ObjectMapper.
+	 */
+	@SuppressWarnings("unchecked")
+	@Test
+	public void testUpdateServerErrorEvictsCachedDto() throws Exception {
+		assumeTrue(service instanceof BaseRestServiceImpl);
+		((BaseRestServiceImpl<DTO>) service).setEntityCache(new EntityCache<>(10, 60000));
+		final DTO dto = getNewDto();
+
+		final UriComponents uri = uriBuilder.path(pathId).buildAndExpand(dto.getId());
+
+		mockServer.expect(requestTo(uri.toUriString()))
+				.andExpect(method(HttpMethod.GET))
+				.andRespond(withSuccess(objectMapper.writeValueAsBytes(dto), MediaType.APPLICATION_JSON_UTF8));
+		mockServer.expect(requestTo(uri.toUriString()))
+				.andExpect(method(HttpMethod.PUT))
+				.andRespond(withServerError());
+		mockServer.expect(requestTo(uri.toUriString()))
+				.andExpect(method(HttpMethod.GET))
+				.andRespond(withSuccess(objectMapper.writeValueAsBytes(dto), MediaType.APPLICATION_JSON_UTF8));
+
+		service.findById(dto.getId());
+		try {
+			service.update(dto);
+			fail("HttpServerErrorException expected.");
+		} catch (HttpServerErrorException e) {
+			assertThat(e.getStatusCode(), is(HttpStatus.INTERNAL_SERVER_ERROR));
+		}
+		DTO readDto = service.findById(dto.getId());
+
+		mockServer.verify();
+
+		checkProperties(readDto, dto);
+	}
+
+	/**
+	 * Checks that the deadline of a web request doesn't replace the configured
+	 * timeouts of an operation without its own ones when it's longer than
+	 * them.
+	 * 
+	 * @throws Exception If there is an error with ObjectMapper.
+	 */
+	@Test
+	public void testDeadlineKeepsConfiguredTimeouts() throws Exception {
+		final DTO dto = getNewDto();
+
+		when(restPropertiesImpl.getConnectTimeout()).thenReturn(1000);
+		when(restPropertiesImpl.getReadTimeout()).thenReturn(2000);
+		AtomicReference<CallTimeouts> callTimeouts = new AtomicReference<>();
+		restTemplate.getInterceptors().add((request, body, execution) -> {
+			callTimeouts.set(CallTimeouts.current());
+			return execution.execute(request, body);
+		});
+
+		final UriComponents uri = uriBuilder.path(pathId).buildAndExpand(dto.getId());
+
+		mockServer.expect(requestTo(uri.toUriString()))
+				.andExpect(method(HttpMethod.GET))
+				.andRespond(withSuccess(objectMapper.writeValueAsBytes(dto), MediaType.APPLICATION_JSON_UTF8));
+
+		RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+		try {
+			Deadline.setCurrent(Deadline.after(30000));
+			service.findById(dto.getId());
+		} finally {
+			RequestContextHolder.resetRequestAttributes();
+		}
+
+		mockServer.verify();
+
+		assertThat(callTimeouts.get().getConnectTimeout(), is(1000));
+		assertThat(callTimeouts.get().getReadTimeout(), is(2000));
+	}
+
 	/**
 	 * Checks that service throws <code>HttpClientErrorException</code> when
 	 * receives a REST message with status NOT_FOUND and checks that the read
@@ -408,6 +786,297 @@ public abstract class BaseRestServiceTest<DTO extends BaseDto> {
 		mockServer.verify();
 	}
 
+	/**
+	 * Checks that the warm up of the service sends a request without side
+	 * effects and doesn't fail when REST server finds no entity.
+	 * 
+	 * @throws Exception If there is an error with ObjectMapper.
+	 */
+	@Test
+	public void testWarmUpSendsRequest() throws Exception {
+		assumeTrue(service instanceof BaseRestServiceImpl);
+		RestErrorDto error = new RestErrorDto(HttpStatus.NOT_FOUND, "10001001", "Message", "Developer info");
+
+		final UriComponents uri = uriBuilder.path(pathId).buildAndExpand(0);
+
+		mockServer.expect(requestTo(uri.toUriString()))
+				.andExpect(method(HttpMethod.GET))
+				.andRespond(withStatus(HttpStatus.NOT_FOUND)
+						.contentType(MediaType.APPLICATION_JSON_UTF8)
+						.body(objectMapper.writeValueAsBytes(error)));
+
+		((BaseRestServiceImpl<?>) service).warmUp(1);
+
+		mockServer.verify();
+	}
+
+	/**
+	 * Checks that <code>findByIds(Collection)</code> returns the found DTOs in
+	 * the order of the identifiers, requesting each identifier once. Entities
+	 * are requested to the bulk endpoint if there is one, or one by one
+	 * otherwise.
+	 * 
+	 * @throws Exception If there is an error with ObjectMapper.
+	 */
+	@Test
+	public void testFindByIdsIsOk() throws Exception {
+		final DTO dto1 = getNewDto();
+		dto1.setId(1L);
+		final DTO dto2 = getNewDto();
+		dto2.setId(2L);
+
+		if (getServiceBulkFindPath() == null) {
+			for (DTO dto : Arrays.asList(dto1, dto2)) {
+				mockServer.expect(requestTo(uriBuilder.cloneBuilder().path(pathId).buildAndExpand(dto.getId())
+						.toUriString()))
+						.andExpect(method(HttpMethod.GET))
+						.andRespond(withSuccess(objectMapper.writeValueAsBytes(dto), MediaType.APPLICATION_JSON_UTF8));
+			}
+		} else {
+			final DTO[] dtoList = getEmptyDtoArray(2);
+			dtoList[0] = dto1;
+			dtoList[1] = dto2;
+
+			final UriComponents uri = uriBuilder.path(getServiceBulkFindPath()).queryParam("ids", "1,2").build();
+
+			mockServer.expect(requestTo(uri.toUriString()))
+					.andExpect(method(HttpMethod.GET))
+					.andRespond(withSuccess(objectMapper.writeValueAsBytes(dtoList), MediaType.APPLICATION_JSON_UTF8));
+		}
+
+		Map<Long, DTO> found = service.findByIds(Arrays.asList(1L, 2L, 1L));
+
+		mockServer.verify();
+
+		assertThat(new ArrayList<>(found.keySet()), is(Arrays.asList(1L, 2L)));
+		checkProperties(found.get(1L), dto1);
+		checkProperties(found.get(2L), dto2);
+	}
+
+	/**
+	 * Checks that <code>findByIds(Collection)</code> leaves out the entities
+	 * that REST server doesn't find, instead of throwing an exception, both
+	 * with the bulk endpoint and one by one.
+	 * 
+	 * @throws Exception If there is an error with ObjectMapper.
+	 */
+	@Test
+	public void testFindByIdsNotFound() throws Exception {
+		final RestErrorDto error = new RestErrorDto(HttpStatus.NOT_FOUND, "0", "Message", "Developer info");
+
+		if (getServiceBulkFindPath() == null) {
+			for (long id = 1; id <= 2; id++) {
+				mockServer.expect(requestTo(uriBuilder.cloneBuilder().path(pathId).buildAndExpand(id).toUriString()))
+						.andExpect(method(HttpMethod.GET))
+						.andRespond(withStatus(HttpStatus.NOT_FOUND)
+								.contentType(MediaType.APPLICATION_JSON_UTF8)
+								.body(objectMapper.writeValueAsBytes(error)));
+			}
+		} else {
+			final UriComponents uri = uriBuilder.path(getServiceBulkFindPath()).queryParam("ids", "1,2").build();
+
+			mockServer.expect(requestTo(uri.toUriString()))
+					.andExpect(method(HttpMethod.GET))
+					.andRespond(withStatus(HttpStatus.NOT_FOUND)
+							.contentType(MediaType.APPLICATION_JSON_UTF8)
+							.body(objectMapper.writeValueAsBytes(error)));
+		}
+
+		Map<Long, DTO> found = service.findByIds(Arrays.asList(1L, 2L));
+
+		mockServer.verify();
+
+		assertThat(found.isEmpty(), is(true));
+	}
+
+	/**
+	 * Checks that <code>findByIds(Collection)</code> leaves out the entities
+	 * whose DTO isn't returned by REST server: an empty body when they are
+	 * requested one by one, or a <code>null</code> item in the array of the
+	 * bulk endpoint.
+	 * 
+	 * @throws Exception If there is an error with ObjectMapper.
+	 */
+	@Test
+	public void testFindByIdsEmptyBody() throws Exception {
+		final DTO dto1 = getNewDto();
+		dto1.setId(1L);
+
+		if (getServiceBulkFindPath() == null) {
+			mockServer.expect(requestTo(uriBuilder.cloneBuilder().path(pathId).buildAndExpand(1L).toUriString()))
+					.andExpect(method(HttpMethod.GET))
+					.andRespond(withSuccess(objectMapper.writeValueAsBytes(dto1), MediaType.APPLICATION_JSON_UTF8));
+			mockServer.expect(requestTo(uriBuilder.cloneBuilder().path(pathId).buildAndExpand(2L).toUriString()))
+					.andExpect(method(HttpMethod.GET))
+					.andRespond(withStatus(HttpStatus.NO_CONTENT));
+		} else {
+			final DTO[] dtoList = getEmptyDtoArray(2);
+			dtoList[0] = dto1;
+
+			final UriComponents uri = uriBuilder.path(getServiceBulkFindPath()).queryParam("ids", "1,2").build();
+
+			mockServer.expect(requestTo(uri.toUriString()))
+					.andExpect(method(HttpMethod.GET))
+					.andRespond(withSuccess(objectMapper.writeValueAsBytes(dtoList), MediaType.APPLICATION_JSON_UTF8));
+		}
+
+		Map<Long, DTO> found = service.findByIds(Arrays.asList(1L, 2L));
+
+		mockServer.verify();
+
+		assertThat(new ArrayList<>(found.keySet()), is(Arrays.asList(1L)));
+		checkProperties(found.get(1L), dto1);
+	}
+
+	/**
+	 * Checks that <code>createAll(List)</code> returns a result for each DTO in
+	 * the same order. DTOs are sent in chunks of one to the bulk endpoint if
+	 * there is one, or one by one otherwise.
+	 * 
+	 * @throws Exception If there is an error with ObjectMapper.
+	 */
+	@Test
+	public void testCreateAllIsOk() throws Exception {
+		final DTO dto1 = getNewDto();
+		dto1.setId(1L);
+		final DTO dto2 = getNewDto();
+		dto2.setId(2L);
+
+		final String bulkPath = getServiceBulkCreatePath();
+
+		when(restPropertiesImpl.getBulkChunkSize()).thenReturn(1);
+
+		for (DTO dto : Arrays.asList(dto1, dto2)) {
+			expectBulkRequest(bulkPath, pathBase, HttpMethod.POST, dto)
+					.andRespond(withSuccess(bulkBody(bulkPath, dto), MediaType.APPLICATION_JSON_UTF8));
+		}
+
+		List<BulkResult<DTO>> results = service.createAll(Arrays.asList(dto1, dto2));
+
+		mockServer.verify();
+
+		assertThat(results.size(), is(2));
+		assertThat(results.get(0).isSuccess(), is(true));
+		assertThat(results.get(0).getDto(), is(dto1));
+		checkProperties(results.get(0).getResult(), dto1);
+		assertThat(results.get(1).isSuccess(), is(true));
+		assertThat(results.get(1).getDto(), is(dto2));
+		checkProperties(results.get(1).getResult(), dto2);
+	}
+
+	/**
+	 * Checks that <code>updateAll(List)</code> returns a result for each DTO in
+	 * the same order, sending all of them in a single chunk to the bulk
+	 * endpoint if there is one, or one by one otherwise.
+	 * 
+	 * @throws Exception If there is an error with ObjectMapper.
+	 */
+	@Test
+	public void testUpdateAllIsOk() throws Exception {
+		final DTO dto1 = getNewDto();
+		dto1.setId(1L);
+		final DTO dto2 = getNewDto();
+		dto2.setId(2L);
+
+		if (getServiceBulkUpdatePath() == null) {
+			for (DTO dto : Arrays.asList(dto1, dto2)) {
+				expectBulkRequest(null, pathId, HttpMethod.PUT, dto)
+						.andRespond(withSuccess(objectMapper.writeValueAsBytes(dto), MediaType.APPLICATION_JSON_UTF8));
+			}
+		} else {
+			final DTO[] dtoList = getEmptyDtoArray(2);
+			dtoList[0] = dto1;
+			dtoList[1] = dto2;
+
+			mockServer.expect(requestTo(uriBuilder.cloneBuilder().path(getServiceBulkUpdatePath()).build()
+					.toUriString()))
+					.andExpect(method(HttpMethod.PUT))
+					.andExpect(content().bytes(objectMapper.writeValueAsBytes(dtoList)))
+					.andRespond(withSuccess(objectMapper.writeValueAsBytes(dtoList), MediaType.APPLICATION_JSON_UTF8));
+		}
+
+		List<BulkResult<DTO>> results = service.updateAll(Arrays.asList(dto1, dto2));
+
+		mockServer.verify();
+
+		assertThat(results.size(), is(2));
+		checkProperties(results.get(0).getResult(), dto1);
+		checkProperties(results.get(1).getResult(), dto2);
+	}
+
+	/**
+	 * Checks that a CONFLICT for one DTO of <code>createAll(List)</code> only
+	 * fails the result of that DTO, with the exception thrown by the service
+	 * for a single creation answered with CONFLICT, if any.
+	 * 
+	 * @throws Exception If there is an error with ObjectMapper.
+	 */
+	@Test
+	public void testCreateAllConflict() throws Exception {
+		final DTO dto1 = getNewDto();
+		dto1.setId(1L);
+		final DTO dto2 = getNewDto();
+		dto2.setId(2L);
+		final RestErrorDto error = new RestErrorDto(HttpStatus.CONFLICT, "10001002", "Message", "Developer info");
+		final String bulkPath = getServiceBulkCreatePath();
+
+		when(restPropertiesImpl.getBulkChunkSize()).thenReturn(1);
+
+		mockServer.expect(requestTo(uriBuilder.cloneBuilder().path(pathBase).build().toUriString()))
+				.andExpect(method(HttpMethod.POST))
+				.andRespond(withStatus(HttpStatus.CONFLICT)
+						.contentType(MediaType.APPLICATION_JSON_UTF8)
+						.body(objectMapper.writeValueAsBytes(error)));
+		expectBulkRequest(bulkPath, pathBase, HttpMethod.POST, dto1)
+				.andRespond(withSuccess(bulkBody(bulkPath, dto1), MediaType.APPLICATION_JSON_UTF8));
+		expectBulkRequest(bulkPath, pathBase, HttpMethod.POST, dto2)
+				.andRespond(withStatus(HttpStatus.CONFLICT)
+						.contentType(MediaType.APPLICATION_JSON_UTF8)
+						.body(objectMapper.writeValueAsBytes(error)));
+
+		RuntimeException expected = null;
+		try {
+			service.create(dto2);
+		} catch (RuntimeException e) {
+			expected = e;
+		}
+		List<BulkResult<DTO>> results = service.createAll(Arrays.asList(dto1, dto2));
+
+		mockServer.verify();
+
+		assertThat(results.size(), is(2));
+		assertThat(results.get(0).isSuccess(), is(true));
+		checkProperties(results.get(0).getResult(), dto1);
+		assertThat(results.get(1).isSuccess(), is(false));
+		if (expected == null) {
+			assertThat(results.get(1).getException(), is(nullValue()));
+		} else {
+			assertThat(results.get(1).getException(), is(instanceOf(expected.getClass())));
+		}
+	}
+
+	private ResponseActions expectBulkRequest(String bulkPath, String path, HttpMethod httpMethod, DTO dto)
+			throws Exception {
+		UriComponents uri = bulkPath == null
+				? uriBuilder.cloneBuilder().path(path).buildAndExpand(dto.getId())
+				: uriBuilder.cloneBuilder().path(bulkPath).build();
+
+		return mockServer.expect(requestTo(uri.toUriString()))
+				.andExpect(method(httpMethod))
+				.andExpect(content().bytes(bulkBody(bulkPath, dto)));
+	}
+
+	private byte[] bulkBody(String bulkPath, DTO dto) throws Exception {
+		if (bulkPath == null) {
+			return objectMapper.writeValueAsBytes(dto);
+		}
+
+		final DTO[] dtoList = getEmptyDtoArray(1);
+		dtoList[0] = dto;
+
+		return objectMapper.writeValueAsBytes(dtoList);
+	}
+
 	/**
 	 * Checks the creation of an entity when the DTO passed as parameter is
 	 * valid.
@@ -469,6 +1138,100 @@ public abstract class BaseRestServiceTest<DTO extends BaseDto> {
 		checkProperties(readDto, dto);
 	}
 
+	/**
+	 * Checks that the body of a request is sent as JSON, with its content type,
+	 * and that only JSON is asked for the returned entity.
+	 * 
+	 * @throws Exception If there is an error with ObjectMapper.
+	 */
+	@Test
+	public void testCreateSendsJson() throws Exception {
+		final DTO dto = getNewDto();
+
+		final UriComponents uri = uriBuilder.path(pathBase).build();
+
+		mockServer.expect(requestTo(uri.toUriString()))
+				.andExpect(method(HttpMethod.POST))
+				.andExpect(header(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE))
+				.andExpect(content().contentType(MediaType.APPLICATION_JSON_UTF8))
+				.andExpect(content().bytes(objectMapper.writeValueAsBytes(dto)))
+				.andRespond(withSuccess(objectMapper.writeValueAsBytes(dto), MediaType.APPLICATION_JSON_UTF8));
+
+		DTO readDto = service.create(dto);
+
+		mockServer.verify();
+
+		checkProperties(readDto, dto);
+	}
+
+	/**
+	 * Checks that a custom JSON converter of <code>RestTemplate</code> is used
+	 * for writing and reading entities.
+	 * 
+	 * @throws Exception If there is an error with ObjectMapper.
+	 */
+	@Test
+	public void testCustomConverterIsUsed() throws Exception {
+		final DTO dto = getNewDto();
+		final AtomicInteger reads = new AtomicInteger();
+		final AtomicInteger writes = new AtomicInteger();
+
+		RestTemplate customTemplate = new RestTemplate();
+		customTemplate.getMessageConverters().add(0, new MappingJackson2HttpMessageConverter() {
+
+			@Override
+			public Object read(Type type, Class<?> contextClass, HttpInputMessage inputMessage) throws IOException {
+				reads.incrementAndGet();
+				return super.read(type, contextClass, inputMessage);
+			}
+
+			@Override
+			protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+					throws IOException {
+				writes.incrementAndGet();
+				super.writeInternal(object, type, outputMessage);
+			}
+		});
+		BaseRestService<DTO> customService = getRestService(customTemplate, restPropertiesImpl);
+		MockRestServiceServer customServer = MockRestServiceServer.bindTo(customTemplate).build();
+
+		final UriComponents uri = uriBuilder.path(pathBase).build();
+
+		customServer.expect(requestTo(uri.toUriString()))
+				.andExpect(method(HttpMethod.POST))
+				.andExpect(content().bytes(objectMapper.writeValueAsBytes(dto)))
+				.andRespond(withSuccess(objectMapper.writeValueAsBytes(dto), MediaType.APPLICATION_JSON_UTF8));
+
+		DTO readDto = customService.create(dto);
+
+		customServer.verify();
+
+		checkProperties(readDto, dto);
+		assertThat(writes.get(), is(1));
+		assertThat(reads.get(), is(1));
+	}
+
+	/**
+	 * Checks that an entity read from a response without body is
+	 * <code>null</code>.
+	 */
+	@Test
+	public void testFindByIdNoContent() {
+		final DTO dto = getNewDto();
+
+		final UriComponents uri = uriBuilder.path(pathId).buildAndExpand(dto.getId());
+
+		mockServer.expect(requestTo(uri.toUriString()))
+				.andExpect(method(HttpMethod.GET))
+				.andRespond(withNoContent());
+
+		DTO readDto = service.findById(dto.getId());
+
+		mockServer.verify();
+
+		assertThat(readDto, is(nullValue()));
+	}
+
 	/**
 	 * Checks that an <code>HttpClientErrorException</code> is thrown when
 	 * trying to update an entity that doesn't exist. Checks that exception has
@@ -543,6 +1306,116 @@ public abstract class BaseRestServiceTest<DTO extends BaseDto> {
 		getMockServer().verify();
 	}
 
+	/**
+	 * Checks that the future of an asynchronous read of an entity that
+	 * doesn't exist is completed with <code>EntityNotFoundException</code>.
+	 * 
+	 * @throws Exception If there is an error with ObjectMapper.
+	 */
+	@Test
+	public void testAsyncFindByIdEntityNotFound() throws Exception {
+		final AsyncBaseRestService<DTO> asyncService = new AsyncBaseRestServiceImpl<>(service, Runnable::run);
+		final RestErrorDto error = new RestErrorDto(HttpStatus.NOT_FOUND, "10001001", "Message", "Developer info");
+
+		final UriComponents uri = uriBuilder.path(pathId).buildAndExpand(1);
+
+		mockServer.expect(requestTo(uri.toUriString()))
+				.andExpect(method(HttpMethod.GET))
+				.andRespond(withStatus(HttpStatus.NOT_FOUND)
+						.contentType(MediaType.APPLICATION_JSON_UTF8)
+						.body(objectMapper.writeValueAsBytes(error)));
+
+		CompletableFuture<DTO> future = asyncService.findById(1);
+
+		mockServer.verify();
+
+		try {
+			future.get();
+			fail("EntityNotFoundException expected.");
+		} catch (ExecutionException e) {
+			assertThat(e.getCause(), is(instanceOf(EntityNotFoundException.class)));
+			assertThat(e.getCause().getMessage(), is(error.getMessage()));
+		}
+	}
+
+	/**
+	 * Checks that the error of a creation answered with CONFLICT is decoded
+	 * once, with its field error list.
+	 * 
+	 * @throws Exception If there is an error with ObjectMapper.
+	 */
+	@Test
+	public void testCreateConflictDecodesErrorOnce() throws Exception {
+		assumeTrue(service instanceof BaseRestServiceImpl);
+		final RestErrorDecoder errorDecoder = ((BaseRestServiceImpl<?>) service).getErrorDecoder();
+		final DTO dto = getNewDto();
+		final RestErrorDto error = new RestErrorDto(HttpStatus.CONFLICT, "10001002", "Message", "Developer info");
+		error.addFieldError(new FieldErrorDto("name", "Duplicated name"));
+
+		final UriComponents uri = uriBuilder.path(pathBase).build();
+
+		mockServer.expect(requestTo(uri.toUriString()))
+				.andExpect(method(HttpMethod.POST))
+				.andRespond(withStatus(HttpStatus.CONFLICT)
+						.contentType(MediaType.APPLICATION_JSON_UTF8)
+						.body(objectMapper.writeValueAsBytes(error)));
+
+		try {
+			service.create(dto);
+		} catch (RuntimeException e) {
+			// Thrown by the subclass, if it does.
+		}
+
+		mockServer.verify();
+
+		assertThat(errorDecoder.getDecodeCount(), is(1L));
+		assertThat(errorDecoder.getFullDecodeCount(), is(1L));
+	}
+
+	/**
+	 * Checks that an asynchronous creation answered with CONFLICT ends the same
+	 * way as the synchronous one: the future is completed with the exception
+	 * thrown by the service, or with its result if it doesn't throw any.
+	 * 
+	 * @throws Exception If there is an error with ObjectMapper.
+	 */
+	@Test
+	public void testAsyncCreateConflict() throws Exception {
+		final AsyncBaseRestService<DTO> asyncService = new AsyncBaseRestServiceImpl<>(service, Runnable::run);
+		final DTO dto = getNewDto();
+		final RestErrorDto error = new RestErrorDto(HttpStatus.CONFLICT, "10001002", "Message", "Developer info");
+
+		final UriComponents uri = uriBuilder.path(pathBase).build();
+
+		for (int i = 0; i < 2; i++) {
+			mockServer.expect(requestTo(uri.toUriString()))
+					.andExpect(method(HttpMethod.POST))
+					.andRespond(withStatus(HttpStatus.CONFLICT)
+							.contentType(MediaType.APPLICATION_JSON_UTF8)
+							.body(objectMapper.writeValueAsBytes(error)));
+		}
+
+		RuntimeException expected = null;
+		try {
+			service.create(dto);
+		} catch (RuntimeException e) {
+			expected = e;
+		}
+		CompletableFuture<DTO> future = asyncService.create(dto);
+
+		mockServer.verify();
+
+		assertThat(future.isCompletedExceptionally(), is(expected != null));
+		if (expected != null) {
+			try {
+				future.get();
+				fail(expected.getClass().getSimpleName() + " expected.");
+			} catch (ExecutionException e) {
+				assertThat(e.getCause(), is(instanceOf(expected.getClass())));
+			}
+		}
+	}
+
 	/**
 	 * Checks that a proper <code>RestErrorDto</code> is read when REST server
 	 * returns an error for invalid DTO when trying to update an entity.
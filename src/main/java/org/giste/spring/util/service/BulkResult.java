@@ -0,0 +1,74 @@
+package org.giste.spring.util.service;
+
+/**
+ * Result of a bulk operation for a single entity. It has the DTO sent to REST
+ * server and either the DTO returned by it or the exception thrown for this
+ * entity (for example, the one thrown when handling a CONFLICT).
+ * 
+ * @author Giste
+ *
+ * @param <DTO> The DTO of the entity.
+ */
+public class BulkResult<DTO> {
+
+	private final DTO dto;
+	private final DTO result;
+	private final RuntimeException exception;
+
+	/**
+	 * Constructs a new result.
+	 * 
+	 * @param dto The DTO sent to REST server.
+	 * @param result The DTO returned by REST server, or <code>null</code> if
+	 *            there isn't any.
+	 * @param exception The exception thrown for this entity, or
+	 *            <code>null</code> if there isn't any.
+	 */
+	public BulkResult(DTO dto, DTO result, RuntimeException exception) {
+		this.dto = dto;
+		this.result = result;
+		this.exception = exception;
+	}
+
+	/**
+	 * Gets the DTO sent to REST server.
+	 * 
+	 * @return The sent DTO.
+	 */
+	public DTO getDto() {
+		return dto;
+	}
+
+	/**
+	 * Gets the DTO returned by REST server.
+	 * 
+	 * @return The returned DTO, or <code>null</code> if the operation failed.
+	 */
+	public DTO getResult() {
+		return result;
+	}
+
+	/**
+	 * Gets the exception thrown for this entity.
+	 * 
+	 * @return The exception, or <code>null</code> if there wasn't any.
+	 */
+	public RuntimeException getException() {
+		return exception;
+	}
+
+	/**
+	 * Checks if REST server returned a DTO for this entity.
+	 * 
+	 * @return <code>true</code> if the operation succeeded.
+	 */
+	public boolean isSuccess() {
+		return result != null;
+	}
+
+	@Override
+	public String toString() {
+		return "BulkResult [dto=" + dto + ", result=" + result + ", exception=" + exception + "]";
+	}
+
+}
@@ -1,5 +1,8 @@
 package org.giste.spring.util.service;
 
+import java.util.Collection;
+import java.util.Set;
+
 import org.giste.spring.util.service.exception.EntityNotFoundException;
 import org.giste.util.dto.BaseDto;
 
@@ -12,4 +15,14 @@ public interface CrudRestService<DTO extends BaseDto> extends BaseRestService<DT
 	 * @throws EntityNotFoundException If the entity doesn't exist.
 	 */
 	void delete(Long id) throws EntityNotFoundException;
+
+	/**
+	 * Deletes the entities with the identifiers passed as parameter. Entities
+	 * that don't exist are returned, instead of throwing
+	 * {@link EntityNotFoundException} for the whole batch.
+	 * 
+	 * @param ids The identifiers of the entities to delete.
+	 * @return The identifiers of the entities that don't exist.
+	 */
+	Set<Long> deleteAll(Collection<Long> ids);
 }
@@ -1,5 +1,11 @@
 package org.giste.spring.util.service;
 
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
 import org.giste.spring.util.config.RestProperties;
 import org.giste.spring.util.service.exception.EntityNotFoundException;
 import org.giste.util.dto.BaseDto;
@@ -7,7 +13,6 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
-import org.springframework.web.util.UriComponents;
 
 public abstract class CrudRestServiceImpl<DTO extends BaseDto> extends BaseRestServiceImpl<DTO>
 		implements CrudRestService<DTO> {
@@ -20,15 +25,45 @@ public abstract class CrudRestServiceImpl<DTO extends BaseDto> extends BaseRestS
 
 	@Override
 	public void delete(Long id) throws EntityNotFoundException {
-		UriComponents uri = constructUriBuilder().path(getPathId()).build();
-
 		try {
-			getRestTemplate().delete(uri.toUriString(), id);
+			invoke(RestOperation.DELETE, () -> {
+				getRestTemplate().delete(getUriId().expand(id));
+
+				return null;
+			});
+			evictDto(id);
 		} catch (HttpClientErrorException e) {
 			LOGGER.debug("Catched exception {}", e);
+			evictDto(id);
 
 			handleHttpClientErrorException(e);
 		}
 	}
 
+	/**
+	 * Deletes the entities one by one through the parallel runner of this
+	 * service, so the number of concurrent deletions is limited by its maximum
+	 * parallelism.
+	 */
+	@Override
+	public Set<Long> deleteAll(Collection<Long> ids) {
+		Set<Long> uniqueIds = new LinkedHashSet<>(ids);
+		Set<Long> missing = Collections.newSetFromMap(new ConcurrentHashMap<>());
+
+		getParallelRunner().forEach(uniqueIds, id -> {
+			try {
+				delete(id);
+			} catch (EntityNotFoundException e) {
+				LOGGER.debug("Entity {} not found", id);
+				missing.add(id);
+			}
+		});
+
+		// Keep the order of the identifiers.
+		Set<Long> missingIds = new LinkedHashSet<>(uniqueIds);
+		missingIds.retainAll(missing);
+
+		return missingIds;
+	}
+
 }
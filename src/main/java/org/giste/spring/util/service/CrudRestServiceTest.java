@@ -1,12 +1,16 @@
 package org.giste.spring.util.service;
 
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.Matchers.contains;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.fail;
 import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
 import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
 import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
 
+import java.util.Arrays;
+import java.util.Set;
+
 import org.giste.spring.util.error.dto.RestErrorDto;
 import org.giste.spring.util.service.exception.EntityNotFoundException;
 import org.giste.util.dto.BaseDto;
@@ -70,4 +74,35 @@ public abstract class CrudRestServiceTest<DTO extends BaseDto> extends BaseRestS
 
 		getMockServer().verify();
 	}
-}
+
+	/**
+	 * Checks that <code>deleteAll()</code> deletes every entity and returns
+	 * the identifiers of the entities that don't exist.
+	 * 
+	 * @throws Exception If there is an error with ObjectMapper.
+	 */
+	@Test
+	public void deleteAllReturnsMissingIds() throws Exception {
+		final Long id = 1L;
+		final Long missingId = 2L;
+		final RestErrorDto error = new RestErrorDto(HttpStatus.NOT_FOUND, "10001001", "Message", "Developer info");
+
+		final UriComponents uri = getUriBuilder().path(getPathId()).build();
+
+		getMockServer().expect(requestTo(uri.expand(id).toUriString()))
+				.andExpect(method(HttpMethod.DELETE))
+				.andRespond(withStatus(HttpStatus.OK)
+						.contentType(MediaType.APPLICATION_JSON_UTF8));
+		getMockServer().expect(requestTo(uri.expand(missingId).toUriString()))
+				.andExpect(method(HttpMethod.DELETE))
+				.andRespond(withStatus(HttpStatus.NOT_FOUND)
+						.contentType(MediaType.APPLICATION_JSON_UTF8)
+						.body(getObjectMapper().writeValueAsBytes(error)));
+
+		Set<Long> missingIds = getService().deleteAll(Arrays.asList(id, missingId));
+
+		getMockServer().verify();
+
+		assertThat(missingIds, contains(missingId));
+	}
+}
\ No newline at end of file
@@ -1,5 +1,8 @@
 package org.giste.spring.util.service;
 
+import java.util.Collection;
+import java.util.Map;
+
 import org.giste.spring.util.service.exception.EntityNotFoundException;
 import org.giste.util.dto.NonRemovableDto;
 
@@ -13,6 +16,8 @@ import org.giste.util.dto.NonRemovableDto;
  * <li>{@link #update(NonRemovableDto)} to update a single entity.</li>
  * <li>{@link #enable(long)} to enable a single entity.</li>
  * <li>{@link #disable(long)} to disable a single entity.</li>
+ * <li>{@link #enableAll(Collection)} to enable several entities.</li>
+ * <li>{@link #disableAll(Collection)} to disable several entities.</li>
  * </ul>
  * 
  * @author Giste
@@ -39,4 +44,26 @@ public interface CrudeRestService<DTO extends NonRemovableDto> extends BaseRestS
 	 */
 	DTO enable(long id) throws EntityNotFoundException;
 
+	/**
+	 * Disables several entities. Entities that don't exist are not included in
+	 * the returned map, instead of throwing {@link EntityNotFoundException} for
+	 * the whole batch.
+	 * 
+	 * @param ids Identifiers of the entities to disable.
+	 * @return Map with the DTOs of the disabled entities by their identifiers,
+	 *         in the order of the identifiers.
+	 */
+	Map<Long, DTO> disableAll(Collection<Long> ids);
+
+	/**
+	 * Enables several entities. Entities that don't exist are not included in
+	 * the returned map, instead of throwing {@link EntityNotFoundException} for
+	 * the whole batch.
+	 * 
+	 * @param ids Identifiers of the entities to enable.
+	 * @return Map with the DTOs of the enabled entities by their identifiers,
+	 *         in the order of the identifiers.
+	 */
+	Map<Long, DTO> enableAll(Collection<Long> ids);
+
 }
\ No newline at end of file
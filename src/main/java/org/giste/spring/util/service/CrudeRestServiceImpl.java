@@ -1,5 +1,18 @@
 package org.giste.spring.util.service;
 
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongFunction;
+
 import org.giste.spring.util.config.RestProperties;
 import org.giste.spring.util.error.dto.RestErrorDto;
 import org.giste.spring.util.service.exception.EntityNotFoundException;
@@ -7,9 +20,10 @@ import org.giste.util.dto.NonRemovableDto;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpMethod;
+import org.springframework.util.StringUtils;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
-import org.springframework.web.util.UriComponents;
+import org.springframework.web.util.UriComponentsBuilder;
 
 /**
  * Base implementation class for services that performs CRUDE operations with a
@@ -35,6 +49,11 @@ public abstract class CrudeRestServiceImpl<DTO extends NonRemovableDto> extends
 	private String pathDisable;
 	private String pathEnable;
 
+	private RestUriTemplate uriDisable;
+	private RestUriTemplate uriEnable;
+	private RestUriTemplate uriBulkDisable;
+	private RestUriTemplate uriBulkEnable;
+
 	/**
 	 * Construct a new <code>CrudeRestserviceImpl</code>.
 	 * 
@@ -56,23 +75,45 @@ public abstract class CrudeRestServiceImpl<DTO extends NonRemovableDto> extends
 		return pathEnable;
 	}
 
+	protected RestUriTemplate getUriDisable() {
+		return uriDisable;
+	}
+
+	protected RestUriTemplate getUriEnable() {
+		return uriEnable;
+	}
+
 	private void constructPaths() {
 		pathEnable = getPathId() + "/enable";
 		pathDisable = getPathId() + "/disable";
+
+		uriEnable = new RestUriTemplate(getRestProperties(), pathEnable);
+		uriDisable = new RestUriTemplate(getRestProperties(), pathDisable);
+		if (getBulkEnablePath() != null) {
+			uriBulkEnable = new RestUriTemplate(getRestProperties(), getBulkEnablePath());
+		}
+		if (getBulkDisablePath() != null) {
+			uriBulkDisable = new RestUriTemplate(getRestProperties(), getBulkDisablePath());
+		}
 	}
 
 	@Override
 	public DTO disable(long id) throws EntityNotFoundException {
-		UriComponents uri = constructUriBuilder().path(pathDisable).build();
-
 		DTO dto = null;
 		try {
-			dto = getRestTemplate().exchange(uri.toUriString(), HttpMethod.PUT, null,
-					getDtoType(), id).getBody();
+			dto = invoke(RestOperation.DISABLE, () -> exchange(uriDisable.expand(id), HttpMethod.PUT, null, null,
+					getDtoReader(), getDtoType()));
+			cacheDto(dto);
 		} catch (HttpClientErrorException e) {
 			LOGGER.debug("Catched exception {}", e);
+			evictDto(id);
 			
 			handleHttpClientErrorException(e);
+		} catch (RuntimeException e) {
+			// The server may have changed the entity anyway.
+			evictDto(id);
+
+			throw e;
 		}
 
 		return dto;
@@ -80,19 +121,146 @@ public abstract class CrudeRestServiceImpl<DTO extends NonRemovableDto> extends
 
 	@Override
 	public DTO enable(long id) throws EntityNotFoundException {
-		UriComponents uri = constructUriBuilder().path(pathEnable).build();
-
 		DTO dto = null;
 		try {
-			dto = getRestTemplate().exchange(uri.toUriString(), HttpMethod.PUT, null,
-					getDtoType(), id).getBody();
+			dto = invoke(RestOperation.ENABLE, () -> exchange(uriEnable.expand(id), HttpMethod.PUT, null, null,
+					getDtoReader(), getDtoType()));
+			cacheDto(dto);
 		} catch (HttpClientErrorException e) {
 			LOGGER.debug("Catched exception {}", e);
+			evictDto(id);
 			
 			handleHttpClientErrorException(e);
+		} catch (RuntimeException e) {
+			// The server may have changed the entity anyway.
+			evictDto(id);
+
+			throw e;
 		}
 
 		return dto;
 	}
 
+	@Override
+	public Map<Long, DTO> disableAll(Collection<Long> ids) {
+		return changeAll(ids, uriBulkDisable, RestOperation.BULK_DISABLE, this::disable);
+	}
+
+	@Override
+	public Map<Long, DTO> enableAll(Collection<Long> ids) {
+		return changeAll(ids, uriBulkEnable, RestOperation.BULK_ENABLE, this::enable);
+	}
+
+	/**
+	 * Changes the state of several entities. Identifiers are sent in chunks
+	 * to the bulk endpoint if there is one, or one by one with the single
+	 * entity operation otherwise. Chunks or identifiers are sent concurrently
+	 * by the parallel runner of this service.
+	 * 
+	 * @param ids Identifiers of the entities to change.
+	 * @param uriBulk The URI of the bulk endpoint, or <code>null</code> if
+	 *            there isn't any.
+	 * @param operation The operation performed by the bulk endpoint.
+	 * @param singleOperation The single entity operation.
+	 * @return Map with the changed entities by their identifiers, in the order
+	 *         of the identifiers. Entities that aren't found or whose DTO
+	 *         isn't returned are not included.
+	 */
+	private Map<Long, DTO> changeAll(Collection<Long> ids, RestUriTemplate uriBulk, RestOperation operation,
+			LongFunction<DTO> singleOperation) {
+		Set<Long> uniqueIds = new LinkedHashSet<>(ids);
+		Map<Long, DTO> changed = new ConcurrentHashMap<>();
+
+		if (uriBulk == null) {
+			getParallelRunner().forEach(uniqueIds, id -> {
+				try {
+					DTO dto = singleOperation.apply(id);
+					// Without a DTO, the entity is reported as missing.
+					if (dto != null) {
+						changed.put(id, dto);
+					}
+				} catch (EntityNotFoundException e) {
+					LOGGER.debug("Entity {} not found", id);
+				}
+			});
+		} else {
+			List<List<Long>> chunks = chunk(new ArrayList<>(uniqueIds));
+
+			getParallelRunner().forEach(chunks, idChunk -> {
+				for (DTO dto : changeChunk(idChunk, uriBulk, operation)) {
+					if (dto != null && dto.getId() != null) {
+						cacheDto(dto);
+						changed.put(dto.getId(), dto);
+					}
+				}
+			});
+		}
+
+		// Keep the order of the identifiers.
+		Map<Long, DTO> dtoMap = new LinkedHashMap<>();
+		for (Long id : uniqueIds) {
+			DTO dto = changed.get(id);
+			if (dto != null) {
+				dtoMap.put(id, dto);
+			} else {
+				evictDto(id);
+			}
+		}
+
+		return dtoMap;
+	}
+
+	private List<DTO> changeChunk(List<Long> ids, RestUriTemplate uriBulk, RestOperation operation) {
+		URI uri = UriComponentsBuilder.fromUri(uriBulk.expand())
+				.queryParam(PARAM_IDS, StringUtils.collectionToCommaDelimitedString(ids))
+				.build()
+				.toUri();
+
+		try {
+			DTO[] dtos = invoke(operation,
+					() -> exchange(uri, HttpMethod.PUT, null, null, getArrayReader(), getArrayType()));
+
+			return dtos == null ? Collections.emptyList() : Arrays.asList(dtos);
+		} catch (HttpClientErrorException e) {
+			LOGGER.debug("Catched exception {}", e);
+
+			try {
+				handleHttpClientErrorException(e);
+			} catch (EntityNotFoundException enfe) {
+				LOGGER.debug("No entity of chunk {} found", ids);
+			}
+		}
+
+		return Collections.emptyList();
+	}
+
+	/**
+	 * Gets the path of the bulk endpoint of REST server for enabling several
+	 * entities, if it has one. The endpoint is called with PUT and an
+	 * <code>ids</code> parameter with the comma separated identifiers, and it
+	 * has to return an array with the enabled entities. Default implementation
+	 * returns <code>null</code>, so entities are enabled one by one.
+	 * 
+	 * @return The path of the bulk endpoint, or <code>null</code> if there
+	 *         isn't any.
+	 */
+	protected String getBulkEnablePath() {
+		return null;
+	}
+
+	/**
+	 * Gets the path of the bulk endpoint of REST server for disabling several
+	 * entities, if it has one. The endpoint is called with PUT and an
+	 * <code>ids</code> parameter with the comma separated identifiers, and it
+	 * has to return an array with the disabled entities. Default
+	 * implementation returns <code>null</code>, so entities are disabled one
+	 * by one.
+	 * 
+	 * @return The path of the bulk endpoint, or <code>null</code> if there
+	 *         isn't any.
+	 */
+	protected String getBulkDisablePath() {
+		return null;
+	}
+
 }
\ No newline at end of file
@@ -1,6 +1,7 @@
 package org.giste.spring.util.service;
 
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.Matchers.contains;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.fail;
 import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
@@ -8,6 +9,9 @@ import static org.springframework.test.web.client.match.MockRestRequestMatchers.
 import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
 import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
 
+import java.util.Arrays;
+import java.util.Map;
+
 import org.giste.spring.util.config.RestPropertiesImpl;
 import org.giste.spring.util.error.dto.RestErrorDto;
 import org.giste.spring.util.service.exception.EntityNotFoundException;
@@ -246,4 +250,76 @@ public abstract class CrudeRestServiceTest<DTO extends NonRemovableDto> extends
 		getMockServer().verify();
 	}
 
+	/**
+	 * Checks the disabling of several entities when one of them doesn't
+	 * exist.
+	 * <ul>
+	 * <li>Check that each entity is disabled with the right HTTP method and
+	 * URI.</li>
+	 * <li>Check that the missing entity is not included in the result.</li>
+	 * </ul>
+	 * 
+	 * @throws Exception If there is an error with ObjectMapper.
+	 */
+	@Test
+	public void testDisableAllSkipsNotFound() throws Exception {
+		final DTO dto = getNewDto();
+		dto.setEnabled(false);
+		final Long missingId = dto.getId() + 1;
+		final RestErrorDto error = new RestErrorDto(HttpStatus.NOT_FOUND, "0", "Message", "Developer info");
+
+		final UriComponents uri = getUriBuilder().path(pathDisable).build();
+
+		getMockServer().expect(requestTo(uri.expand(dto.getId()).toUriString()))
+				.andExpect(method(HttpMethod.PUT))
+				.andRespond(withSuccess(getObjectMapper().writeValueAsBytes(dto), MediaType.APPLICATION_JSON_UTF8));
+		getMockServer().expect(requestTo(uri.expand(missingId).toUriString()))
+				.andExpect(method(HttpMethod.PUT))
+				.andRespond(withStatus(HttpStatus.NOT_FOUND)
+						.contentType(MediaType.APPLICATION_JSON_UTF8)
+						.body(getObjectMapper().writeValueAsBytes(error)));
+
+		Map<Long, DTO> disabled = getService().disableAll(Arrays.asList(dto.getId(), missingId));
+
+		getMockServer().verify();
+
+		assertThat(disabled.keySet(), contains(dto.getId()));
+		checkProperties(disabled.get(dto.getId()), dto);
+	}
+
+	/**
+	 * Checks the enabling of several entities when the REST server doesn't
+	 * return the DTO of one of them.
+	 * <ul>
+	 * <li>Check that each entity is enabled with the right HTTP method and
+	 * URI.</li>
+	 * <li>Check that the entity without DTO is not included in the result,
+	 * and that the other one is.</li>
+	 * </ul>
+	 * 
+	 * @throws Exception If there is an error with ObjectMapper.
+	 */
+	@Test
+	public void testEnableAllSkipsEmptyBody() throws Exception {
+		final DTO dto = getNewDto();
+		dto.setEnabled(true);
+		final Long emptyId = dto.getId() + 1;
+
+		final UriComponents uri = getUriBuilder().path(pathEnable).build();
+
+		getMockServer().expect(requestTo(uri.expand(dto.getId()).toUriString()))
+				.andExpect(method(HttpMethod.PUT))
+				.andRespond(withSuccess(getObjectMapper().writeValueAsBytes(dto), MediaType.APPLICATION_JSON_UTF8));
+		getMockServer().expect(requestTo(uri.expand(emptyId).toUriString()))
+				.andExpect(method(HttpMethod.PUT))
+				.andRespond(withStatus(HttpStatus.NO_CONTENT));
+
+		Map<Long, DTO> enabled = getService().enableAll(Arrays.asList(dto.getId(), emptyId));
+
+		getMockServer().verify();
+
+		assertThat(enabled.keySet(), contains(dto.getId()));
+		checkProperties(enabled.get(dto.getId()), dto);
+	}
+
 }
\ No newline at end of file
@@ -0,0 +1,80 @@
+package org.giste.spring.util.service;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+/**
+ * Iterator over the items of a JSON array that reads them one by one from a
+ * <code>JsonParser</code>. Only the current item is kept in memory, whatever
+ * the size of the array.
+ *
+ * Errors reading the JSON are thrown as
+ * <code>HttpMessageNotReadableException</code>, the same exception thrown by
+ * <code>RestTemplate</code> when it can't read a response.
+ *
+ * @author Giste
+ *
+ * @param <T> The type of the items of the array.
+ */
+public class JsonArrayIterator<T> implements Iterator<T> {
+
+	private final JsonParser parser;
+	private final ObjectReader reader;
+
+	private JsonToken token;
+
+	/**
+	 * Constructs a new iterator and reads the start of the array.
+	 *
+	 * @param parser The parser positioned before the start of the array.
+	 * @param reader The <code>ObjectReader</code> for the items of the array.
+	 */
+	public JsonArrayIterator(JsonParser parser, ObjectReader reader) {
+		this.parser = parser;
+		this.reader = reader;
+
+		if (nextToken() != JsonToken.START_ARRAY) {
+			throw new HttpMessageNotReadableException("Expected JSON array, found " + token);
+		}
+		nextToken();
+	}
+
+	@Override
+	public boolean hasNext() {
+		return token != null && token != JsonToken.END_ARRAY;
+	}
+
+	@Override
+	public T next() {
+		if (!hasNext()) {
+			throw new NoSuchElementException();
+		}
+
+		try {
+			T item = reader.readValue(parser);
+			nextToken();
+
+			return item;
+		} catch (IOException e) {
+			throw new HttpMessageNotReadableException("Couldn't read JSON array item", e);
+		}
+	}
+
+	private JsonToken nextToken() {
+		try {
+			token = parser.nextToken();
+
+			return token;
+		} catch (IOException e) {
+			throw new HttpMessageNotReadableException("Couldn't read JSON array", e);
+		}
+	}
+
+}
@@ -0,0 +1,53 @@
+package org.giste.spring.util.service;
+
+import org.springframework.http.HttpMethod;
+
+/**
+ * Operations performed by REST services against the REST server, with the
+ * HTTP method used by each one.
+ * 
+ * @author Giste
+ */
+public enum RestOperation {
+
+	CREATE(HttpMethod.POST),
+	FIND_ALL(HttpMethod.GET),
+	FIND_PAGE(HttpMethod.GET),
+	FIND_BY_ID(HttpMethod.GET),
+	BULK_FIND(HttpMethod.GET),
+	BULK_CREATE(HttpMethod.POST),
+	BULK_UPDATE(HttpMethod.PUT),
+	BULK_ENABLE(HttpMethod.PUT),
+	BULK_DISABLE(HttpMethod.PUT),
+	UPDATE(HttpMethod.PUT),
+	ENABLE(HttpMethod.PUT),
+	DISABLE(HttpMethod.PUT),
+	DELETE(HttpMethod.DELETE);
+
+	private final HttpMethod method;
+
+	private RestOperation(HttpMethod method) {
+		this.method = method;
+	}
+
+	/**
+	 * Gets the HTTP method used by this operation.
+	 * 
+	 * @return The HTTP method.
+	 */
+	public HttpMethod getMethod() {
+		return method;
+	}
+
+	/**
+	 * Checks if this operation is idempotent, so calling it again has the same
+	 * effect than calling it once. Only GET and PUT operations are considered
+	 * idempotent.
+	 * 
+	 * @return <code>true</code> if the operation is idempotent.
+	 */
+	public boolean isIdempotent() {
+		return method == HttpMethod.GET || method == HttpMethod.PUT;
+	}
+
+}
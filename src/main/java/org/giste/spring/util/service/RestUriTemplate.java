@@ -0,0 +1,136 @@
+package org.giste.spring.util.service;
+
+import java.net.URI;
+
+import org.giste.spring.util.config.RestProperties;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * URI template for a path of the REST server compiled once from
+ * {@link RestProperties}. The template is split around its <code>{id}</code>
+ * variable, so expanding it only concatenates the identifier instead of
+ * parsing the template again on every request.
+ *
+ * The template is compiled again if scheme, host, port or path of the
+ * <code>RestProperties</code> change.
+ *
+ * @author Giste
+ */
+public class RestUriTemplate {
+
+	private static final String VARIABLE_ID = "{id}";
+
+	private final RestProperties restProperties;
+	private final String path;
+
+	private volatile Compiled compiled;
+
+	/**
+	 * Constructs a new template for a path of the REST server.
+	 *
+	 * @param restProperties <code>RestProperties</code> with data for
+	 *            connecting to REST service.
+	 * @param path The path of the template, relative to the common path of the
+	 *            REST server. It may have an <code>{id}</code> variable.
+	 */
+	public RestUriTemplate(RestProperties restProperties, String path) {
+		this.restProperties = restProperties;
+		this.path = path;
+	}
+
+	/**
+	 * Gets the URI of a template without variables.
+	 *
+	 * @return The URI of the template.
+	 */
+	public URI expand() {
+		return getCompiled().uri;
+	}
+
+	/**
+	 * Gets the URI of a template replacing its <code>{id}</code> variable with
+	 * the given identifier.
+	 *
+	 * @param id The identifier to put in the URI.
+	 * @return The expanded URI.
+	 */
+	public URI expand(long id) {
+		Compiled compiled = getCompiled();
+
+		StringBuilder uri = new StringBuilder(compiled.prefix.length() + 20 + compiled.suffix.length());
+		uri.append(compiled.prefix).append(id).append(compiled.suffix);
+
+		return URI.create(uri.toString());
+	}
+
+	private Compiled getCompiled() {
+		Compiled current = compiled;
+
+		if (current == null || !current.matches(restProperties)) {
+			current = new Compiled(restProperties, path);
+			compiled = current;
+		}
+
+		return current;
+	}
+
+	@Override
+	public String toString() {
+		return getCompiled().template;
+	}
+
+	/**
+	 * Template compiled for a given set of REST properties.
+	 */
+	private static final class Compiled {
+
+		private final String scheme;
+		private final String host;
+		private final int port;
+		private final String restPath;
+
+		private final String template;
+		private final String prefix;
+		private final String suffix;
+		private final URI uri;
+
+		private Compiled(RestProperties restProperties, String path) {
+			scheme = restProperties.getScheme();
+			host = restProperties.getHost();
+			port = restProperties.getPort();
+			restPath = restProperties.getPath();
+
+			template = UriComponentsBuilder.newInstance()
+					.scheme(scheme)
+					.host(host)
+					.port(port)
+					.path(restPath)
+					.path(path)
+					.build()
+					.toUriString();
+
+			int index = template.indexOf(VARIABLE_ID);
+			if (index < 0) {
+				prefix = template;
+				suffix = "";
+				uri = URI.create(template);
+			} else {
+				prefix = template.substring(0, index);
+				suffix = template.substring(index + VARIABLE_ID.length());
+				uri = null;
+			}
+		}
+
+		private boolean matches(RestProperties restProperties) {
+			return port == restProperties.getPort()
+					&& equals(scheme, restProperties.getScheme())
+					&& equals(host, restProperties.getHost())
+					&& equals(restPath, restProperties.getPath());
+		}
+
+		private static boolean equals(String a, String b) {
+			return a == b || (a != null && a.equals(b));
+		}
+	}
+
+}
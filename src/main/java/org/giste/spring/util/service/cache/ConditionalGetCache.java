@@ -0,0 +1,162 @@
+package org.giste.spring.util.service.cache;
+
+import java.net.URI;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.http.HttpHeaders;
+
+/**
+ * Cache of the validators (<code>ETag</code> and <code>Last-Modified</code>)
+ * and the decoded result of the last response for each URI. They are used to
+ * send conditional requests (<code>If-None-Match</code> and
+ * <code>If-Modified-Since</code>), so when the REST server answers NOT
+ * MODIFIED the previous result is returned without reading anything.
+ * 
+ * The cache is bounded. When it's full, the least recently used URI is
+ * evicted. It keeps counters of NOT MODIFIED responses (hits) and of
+ * responses stored for later requests.
+ * 
+ * @author Giste
+ */
+public class ConditionalGetCache {
+
+	private final int maxSize;
+	private final LinkedHashMap<URI, Entry> entries;
+
+	private final LongAdder notModifiedCount = new LongAdder();
+	private final LongAdder storedCount = new LongAdder();
+
+	/**
+	 * Constructs a new cache.
+	 * 
+	 * @param maxSize The maximum number of URIs in the cache.
+	 */
+	public ConditionalGetCache(int maxSize) {
+		this.maxSize = maxSize;
+		this.entries = new LinkedHashMap<URI, Entry>(16, 0.75f, true) {
+
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<URI, Entry> eldest) {
+				return size() > ConditionalGetCache.this.maxSize;
+			}
+		};
+	}
+
+	/**
+	 * Gets the entry of the last response for an URI.
+	 * 
+	 * @param uri The URI of the request.
+	 * @return The entry of the last response, or <code>null</code> if there
+	 *         isn't any.
+	 */
+	public Entry get(URI uri) {
+		synchronized (entries) {
+			return entries.get(uri);
+		}
+	}
+
+	/**
+	 * Stores the validators and the decoded result of a response. Responses
+	 * without <code>ETag</code> or <code>Last-Modified</code> headers are not
+	 * stored.
+	 * 
+	 * @param uri The URI of the request.
+	 * @param headers The headers of the response.
+	 * @param value The decoded result of the response.
+	 */
+	public void put(URI uri, HttpHeaders headers, Object value) {
+		String eTag = headers.getETag();
+		long lastModified = headers.getLastModified();
+
+		synchronized (entries) {
+			if (eTag == null && lastModified < 0) {
+				entries.remove(uri);
+			} else {
+				entries.put(uri, new Entry(eTag, lastModified, value));
+				storedCount.increment();
+			}
+		}
+	}
+
+	/**
+	 * Removes the entry of an URI.
+	 * 
+	 * @param uri The URI to remove.
+	 */
+	public void invalidate(URI uri) {
+		synchronized (entries) {
+			entries.remove(uri);
+		}
+	}
+
+	/**
+	 * Counts a NOT MODIFIED response.
+	 */
+	public void notModified() {
+		notModifiedCount.increment();
+	}
+
+	/**
+	 * Gets the number of NOT MODIFIED responses, that is, the number of times
+	 * a previous result was reused.
+	 * 
+	 * @return The number of hits.
+	 */
+	public long getNotModifiedCount() {
+		return notModifiedCount.sum();
+	}
+
+	/**
+	 * Gets the number of responses stored for later conditional requests.
+	 * 
+	 * @return The number of stored responses.
+	 */
+	public long getStoredCount() {
+		return storedCount.sum();
+	}
+
+	/**
+	 * Validators and decoded result of the last response for an URI.
+	 */
+	public static final class Entry {
+
+		private final String eTag;
+		private final long lastModified;
+		private final Object value;
+
+		private Entry(String eTag, long lastModified, Object value) {
+			this.eTag = eTag;
+			this.lastModified = lastModified;
+			this.value = value;
+		}
+
+		/**
+		 * Adds the conditional headers for these validators to a request.
+		 * 
+		 * @param headers The headers of the request.
+		 */
+		public void addConditions(HttpHeaders headers) {
+			if (eTag != null) {
+				headers.setIfNoneMatch(eTag);
+			}
+			if (lastModified >= 0) {
+				headers.setIfModifiedSince(lastModified);
+			}
+		}
+
+		/**
+		 * Gets the decoded result of the response.
+		 * 
+		 * @return The decoded result.
+		 */
+		@SuppressWarnings("unchecked")
+		public <T> T getValue() {
+			return (T) value;
+		}
+	}
+
+}
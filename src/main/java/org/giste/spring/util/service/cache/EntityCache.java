@@ -0,0 +1,181 @@
+package org.giste.spring.util.service.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded cache of entities by their identifier. When the cache is full, the
+ * least recently used entity is evicted. Entities older than the time to live
+ * are not returned and are removed from the cache.
+ * 
+ * It keeps counters of hits, misses, evictions and expirations.
+ * 
+ * DTOs in the cache are shared by all the callers that get them, so they
+ * shouldn't be modified.
+ * 
+ * @author Giste
+ *
+ * @param <DTO> The DTO of the cached entities.
+ */
+public class EntityCache<DTO> {
+
+	private final int maxSize;
+	private final long timeToLive;
+
+	private final LinkedHashMap<Long, Entry<DTO>> entries;
+
+	private final LongAdder hitCount = new LongAdder();
+	private final LongAdder missCount = new LongAdder();
+	private final LongAdder evictionCount = new LongAdder();
+	private final LongAdder expirationCount = new LongAdder();
+
+	/**
+	 * Constructs a new cache.
+	 * 
+	 * @param maxSize The maximum number of entities in the cache.
+	 * @param timeToLive The time in milliseconds an entity is kept in the
+	 *            cache.
+	 */
+	public EntityCache(int maxSize, long timeToLive) {
+		this.maxSize = maxSize;
+		this.timeToLive = TimeUnit.MILLISECONDS.toNanos(timeToLive);
+		this.entries = new LinkedHashMap<Long, Entry<DTO>>(16, 0.75f, true) {
+
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Long, Entry<DTO>> eldest) {
+				if (size() > EntityCache.this.maxSize) {
+					evictionCount.increment();
+
+					return true;
+				}
+
+				return false;
+			}
+		};
+	}
+
+	/**
+	 * Gets the cached entity with the given identifier.
+	 * 
+	 * @param id The identifier of the entity.
+	 * @return The cached DTO, or <code>null</code> if it isn't cached or it's
+	 *         expired.
+	 */
+	public DTO get(long id) {
+		synchronized (entries) {
+			Entry<DTO> entry = entries.get(id);
+
+			if (entry != null && System.nanoTime() - entry.created > timeToLive) {
+				entries.remove(id);
+				expirationCount.increment();
+				entry = null;
+			}
+
+			if (entry == null) {
+				missCount.increment();
+
+				return null;
+			}
+
+			hitCount.increment();
+
+			return entry.dto;
+		}
+	}
+
+	/**
+	 * Puts an entity into the cache, replacing the previous one with the same
+	 * identifier.
+	 * 
+	 * @param id The identifier of the entity.
+	 * @param dto The DTO of the entity.
+	 */
+	public void put(long id, DTO dto) {
+		synchronized (entries) {
+			entries.put(id, new Entry<>(dto));
+		}
+	}
+
+	/**
+	 * Removes an entity from the cache.
+	 * 
+	 * @param id The identifier of the entity.
+	 */
+	public void invalidate(long id) {
+		synchronized (entries) {
+			entries.remove(id);
+		}
+	}
+
+	/**
+	 * Removes all the entities from the cache.
+	 */
+	public void invalidateAll() {
+		synchronized (entries) {
+			entries.clear();
+		}
+	}
+
+	/**
+	 * Gets the number of entities in the cache.
+	 * 
+	 * @return The size of the cache.
+	 */
+	public int size() {
+		synchronized (entries) {
+			return entries.size();
+		}
+	}
+
+	/**
+	 * Gets the number of times a cached entity was found.
+	 * 
+	 * @return The number of hits.
+	 */
+	public long getHitCount() {
+		return hitCount.sum();
+	}
+
+	/**
+	 * Gets the number of times an entity wasn't found in the cache.
+	 * 
+	 * @return The number of misses.
+	 */
+	public long getMissCount() {
+		return missCount.sum();
+	}
+
+	/**
+	 * Gets the number of entities evicted because the cache was full.
+	 * 
+	 * @return The number of evictions.
+	 */
+	public long getEvictionCount() {
+		return evictionCount.sum();
+	}
+
+	/**
+	 * Gets the number of entities removed because they were older than the
+	 * time to live.
+	 * 
+	 * @return The number of expirations.
+	 */
+	public long getExpirationCount() {
+		return expirationCount.sum();
+	}
+
+	private static final class Entry<DTO> {
+
+		private final DTO dto;
+		private final long created = System.nanoTime();
+
+		private Entry(DTO dto) {
+			this.dto = dto;
+		}
+	}
+
+}
@@ -0,0 +1,128 @@
+package org.giste.spring.util.service.concurrent;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+import org.giste.spring.util.service.timeout.Deadline;
+
+/**
+ * Runs a task for each item of a collection, with at most a given number of
+ * tasks running at the same time. Tasks are run by workers that take items one
+ * by one: one of them in the calling thread and the others in the executor.
+ * If the executor rejects a worker, the remaining workers process its items,
+ * so all the items are processed anyway.
+ *
+ * Items can't be <code>null</code>. Tasks run in the executor are bounded by
+ * the deadline of the calling thread.
+ *
+ * Without executor, or with a maximum parallelism of 1, all the tasks are run
+ * one after another in the calling thread.
+ *
+ * @author Giste
+ */
+public class ParallelRunner {
+
+	private final Executor executor;
+	private final int maxParallelism;
+
+	/**
+	 * Constructs a new runner.
+	 *
+	 * @param executor The executor for running tasks in parallel, or
+	 *            <code>null</code> for running them in the calling thread.
+	 * @param maxParallelism The maximum number of tasks running at the same
+	 *            time for a single call.
+	 */
+	public ParallelRunner(Executor executor, int maxParallelism) {
+		if (maxParallelism < 1) {
+			throw new IllegalArgumentException("Maximum parallelism has to be greater than 0");
+		}
+
+		this.executor = executor;
+		this.maxParallelism = maxParallelism;
+	}
+
+	/**
+	 * Gets the maximum number of tasks running at the same time.
+	 *
+	 * @return The maximum parallelism.
+	 */
+	public int getMaxParallelism() {
+		return executor == null ? 1 : maxParallelism;
+	}
+
+	/**
+	 * Runs a task for each item and waits for all of them to finish. Tasks
+	 * should handle their own expected errors. If a task throws an exception,
+	 * no more items are taken and the exception is thrown once all running
+	 * tasks finish.
+	 *
+	 * @param items The items to process.
+	 * @param task The task to run for each item.
+	 */
+	public <T> void forEach(Collection<T> items, Consumer<? super T> task) {
+		Iterator<T> iterator = items.iterator();
+		AtomicBoolean stop = new AtomicBoolean();
+		int workerCount = Math.min(getMaxParallelism(), items.size());
+
+		List<CompletableFuture<Void>> workers = new ArrayList<>(workerCount);
+		for (int i = 1; i < workerCount; i++) {
+			try {
+				workers.add(CompletableFuture.runAsync(Deadline.propagate(() -> work(iterator, task, stop)), executor));
+			} catch (RejectedExecutionException e) {
+				// The other workers will take the items.
+				break;
+			}
+		}
+
+		// Calling thread is a worker too.
+		RuntimeException failure = null;
+		try {
+			work(iterator, task, stop);
+		} catch (RuntimeException e) {
+			failure = e;
+		}
+
+		for (CompletableFuture<Void> worker : workers) {
+			try {
+				worker.join();
+			} catch (CompletionException e) {
+				if (failure == null) {
+					failure = e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+				}
+			}
+		}
+
+		if (failure != null) {
+			throw failure;
+		}
+	}
+
+	private <T> void work(Iterator<T> iterator, Consumer<? super T> task, AtomicBoolean stop) {
+		T item;
+		while (!stop.get() && (item = next(iterator)) != null) {
+			try {
+				task.accept(item);
+			} catch (RuntimeException e) {
+				stop.set(true);
+
+				throw e;
+			}
+		}
+	}
+
+	private <T> T next(Iterator<T> iterator) {
+		synchronized (iterator) {
+			return iterator.hasNext() ? iterator.next() : null;
+		}
+	}
+
+}
@@ -0,0 +1,99 @@
+package org.giste.spring.util.service.concurrent;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Table of calls in flight that lets concurrent callers with the same key
+ * share a single call. The first caller for a key runs the call, and callers
+ * arriving while it's running wait for it and get the same result. If the
+ * call throws an exception, the same exception is thrown to all of them.
+ * 
+ * Results are shared by all the callers, so they shouldn't be modified.
+ * 
+ * @author Giste
+ *
+ * @param <K> The type of the keys of the calls.
+ */
+public class SingleFlight<K> {
+
+	private final ConcurrentMap<K, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+	private final LongAdder callCount = new LongAdder();
+	private final LongAdder sharedCount = new LongAdder();
+
+	/**
+	 * Runs a call, or waits for the call in flight with the same key.
+	 * 
+	 * @param key The key of the call. Calls with the same key have to return
+	 *            the same type.
+	 * @param call The call to run.
+	 * @return The result of the call.
+	 */
+	@SuppressWarnings("unchecked")
+	public <V> V execute(K key, Supplier<V> call) {
+		CompletableFuture<Object> future = new CompletableFuture<>();
+		CompletableFuture<Object> existing = inFlight.putIfAbsent(key, future);
+
+		if (existing != null) {
+			sharedCount.increment();
+
+			return (V) await(existing);
+		}
+
+		callCount.increment();
+		try {
+			V value = call.get();
+			future.complete(value);
+
+			return value;
+		} catch (RuntimeException | Error e) {
+			future.completeExceptionally(e);
+
+			throw e;
+		} finally {
+			inFlight.remove(key, future);
+		}
+	}
+
+	private Object await(CompletableFuture<Object> future) {
+		try {
+			return future.join();
+		} catch (CompletionException e) {
+			// Throw the exception of the call as is.
+			Throwable cause = e.getCause();
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			if (cause instanceof Error) {
+				throw (Error) cause;
+			}
+
+			throw e;
+		}
+	}
+
+	/**
+	 * Gets the number of calls actually run.
+	 * 
+	 * @return The number of calls run.
+	 */
+	public long getCallCount() {
+		return callCount.sum();
+	}
+
+	/**
+	 * Gets the number of callers that got the result of a call in flight
+	 * instead of running their own.
+	 * 
+	 * @return The number of shared calls.
+	 */
+	public long getSharedCount() {
+		return sharedCount.sum();
+	}
+
+}
@@ -0,0 +1,26 @@
+package org.giste.spring.util.service.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Exception thrown when a call to the REST server is rejected without being
+ * sent because the circuit breaker of the service is open.
+ *
+ * @author Giste
+ */
+@ResponseStatus(value = HttpStatus.SERVICE_UNAVAILABLE)
+public class CircuitBreakerOpenException extends RuntimeException {
+
+	private static final long serialVersionUID = 3867219054719460521L;
+
+	/**
+	 * Creates a new exception with a message.
+	 *
+	 * @param message message for this exception.
+	 */
+	public CircuitBreakerOpenException(String message) {
+		super(message);
+	}
+
+}
@@ -0,0 +1,26 @@
+package org.giste.spring.util.service.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Exception thrown when a call to the REST server is rejected without being
+ * sent because the service has reached its limit of concurrent calls.
+ *
+ * @author Giste
+ */
+@ResponseStatus(value = HttpStatus.SERVICE_UNAVAILABLE)
+public class ConcurrencyLimitExceededException extends RuntimeException {
+
+	private static final long serialVersionUID = -5520318479041723906L;
+
+	/**
+	 * Creates a new exception with a message.
+	 *
+	 * @param message message for this exception.
+	 */
+	public ConcurrencyLimitExceededException(String message) {
+		super(message);
+	}
+
+}
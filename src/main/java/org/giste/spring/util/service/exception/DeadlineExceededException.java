@@ -0,0 +1,26 @@
+package org.giste.spring.util.service.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Exception thrown when a call to the REST server is not sent because the
+ * deadline of the request being served has already expired.
+ *
+ * @author Giste
+ */
+@ResponseStatus(value = HttpStatus.GATEWAY_TIMEOUT)
+public class DeadlineExceededException extends RuntimeException {
+
+	private static final long serialVersionUID = -2709586140573318652L;
+
+	/**
+	 * Creates a new exception with a message.
+	 *
+	 * @param message message for this exception.
+	 */
+	public DeadlineExceededException(String message) {
+		super(message);
+	}
+
+}
@@ -0,0 +1,68 @@
+package org.giste.spring.util.service.metrics;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Input stream that counts the bytes read from the underlying stream.
+ *
+ * @author Giste
+ */
+public class CountingInputStream extends FilterInputStream {
+
+	private long count;
+
+	/**
+	 * Constructs a new counting stream.
+	 *
+	 * @param in The underlying stream.
+	 */
+	public CountingInputStream(InputStream in) {
+		super(in);
+	}
+
+	@Override
+	public int read() throws IOException {
+		int b = super.read();
+		if (b >= 0) {
+			count++;
+		}
+
+		return b;
+	}
+
+	@Override
+	public int read(byte[] b, int off, int len) throws IOException {
+		int read = super.read(b, off, len);
+		if (read > 0) {
+			count += read;
+		}
+
+		return read;
+	}
+
+	@Override
+	public long skip(long n) throws IOException {
+		long skipped = super.skip(n);
+		count += skipped;
+
+		return skipped;
+	}
+
+	@Override
+	public boolean markSupported() {
+		// Bytes read again after a reset would be counted twice.
+		return false;
+	}
+
+	/**
+	 * Gets the number of bytes read.
+	 *
+	 * @return The number of bytes read.
+	 */
+	public long getCount() {
+		return count;
+	}
+
+}
@@ -0,0 +1,83 @@
+package org.giste.spring.util.service.metrics;
+
+import java.lang.management.ManagementFactory;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.MalformedObjectNameException;
+import javax.management.ObjectName;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Registry that exports the metrics of each operation of a service as an
+ * MXBean named
+ * <code>org.giste.spring.util:type=RestService,name="basePath",operation=OPERATION</code>.
+ * Registration errors are logged, so they don't stop the application.
+ *
+ * @author Giste
+ */
+public class JmxMetricsRegistry implements MetricsRegistry {
+
+	private static final String DOMAIN = "org.giste.spring.util";
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(JmxMetricsRegistry.class);
+
+	private final MBeanServer mBeanServer;
+
+	/**
+	 * Constructs a new registry for the platform <code>MBeanServer</code>.
+	 */
+	public JmxMetricsRegistry() {
+		this(ManagementFactory.getPlatformMBeanServer());
+	}
+
+	/**
+	 * Constructs a new registry.
+	 *
+	 * @param mBeanServer The <code>MBeanServer</code> where metrics are
+	 *            registered.
+	 */
+	public JmxMetricsRegistry(MBeanServer mBeanServer) {
+		this.mBeanServer = mBeanServer;
+	}
+
+	@Override
+	public void register(ServiceMetrics metrics) {
+		for (OperationMetrics operationMetrics : metrics.getOperations().values()) {
+			try {
+				mBeanServer.registerMBean(operationMetrics, getObjectName(operationMetrics));
+			} catch (JMException e) {
+				LOGGER.warn("Can't register metrics of {}: {}", operationMetrics, e.getMessage());
+			}
+		}
+	}
+
+	@Override
+	public void unregister(ServiceMetrics metrics) {
+		for (OperationMetrics operationMetrics : metrics.getOperations().values()) {
+			try {
+				ObjectName name = getObjectName(operationMetrics);
+				if (mBeanServer.isRegistered(name)) {
+					mBeanServer.unregisterMBean(name);
+				}
+			} catch (JMException e) {
+				LOGGER.warn("Can't unregister metrics of {}: {}", operationMetrics, e.getMessage());
+			}
+		}
+	}
+
+	/**
+	 * Gets the name of the MXBean of the metrics of an operation.
+	 *
+	 * @param metrics The metrics of the operation.
+	 * @return The name of the MXBean.
+	 * @throws MalformedObjectNameException If the name is not valid.
+	 */
+	public ObjectName getObjectName(OperationMetrics metrics) throws MalformedObjectNameException {
+		return new ObjectName(DOMAIN + ":type=RestService,name=" + ObjectName.quote(metrics.getServiceName())
+				+ ",operation=" + metrics.getOperation());
+	}
+
+}
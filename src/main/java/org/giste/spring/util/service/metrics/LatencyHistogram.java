@@ -0,0 +1,122 @@
+package org.giste.spring.util.service.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histogram of latencies with fixed relative precision, in the style of
+ * HdrHistogram. Latencies are recorded in microseconds into log-linear
+ * buckets: values below 64 have their own bucket, and each power of two above
+ * is split in 32 buckets, so any value is kept with an error below 3%. Values
+ * above 2<sup>36</sup> microseconds (about 19 hours) are recorded as that.
+ *
+ * Recording is lock free and doesn't allocate. Reads are not atomic with
+ * respect to recording, so they are approximate while calls are recorded.
+ *
+ * @author Giste
+ */
+public class LatencyHistogram {
+
+	private static final int SUB_BUCKET_BITS = 6;
+	private static final int SUB_BUCKET_HALF = 1 << (SUB_BUCKET_BITS - 1);
+	private static final long MAX_VALUE = (1L << 36) - 1;
+
+	private final AtomicLongArray counts = new AtomicLongArray(indexOf(MAX_VALUE) + 1);
+	private final LongAdder totalCount = new LongAdder();
+	private final LongAdder totalValue = new LongAdder();
+	private final LongAccumulator maxValue = new LongAccumulator(Long::max, 0);
+
+	private static int indexOf(long value) {
+		int shift = Math.max(0, 63 - Long.numberOfLeadingZeros(value) - (SUB_BUCKET_BITS - 1));
+
+		return shift * SUB_BUCKET_HALF + (int) (value >>> shift);
+	}
+
+	private static long valueOf(int index) {
+		if (index < 2 * SUB_BUCKET_HALF) {
+			return index;
+		}
+
+		int shift = index / SUB_BUCKET_HALF - 1;
+		long lowest = (long) (index - shift * SUB_BUCKET_HALF) << shift;
+
+		// Middle of the bucket.
+		return lowest + (1L << shift) / 2;
+	}
+
+	/**
+	 * Records a latency.
+	 *
+	 * @param nanos The latency in nanoseconds.
+	 */
+	public void record(long nanos) {
+		long value = Math.min(MAX_VALUE, Math.max(0, TimeUnit.NANOSECONDS.toMicros(nanos)));
+
+		counts.incrementAndGet(indexOf(value));
+		totalCount.increment();
+		totalValue.add(value);
+		maxValue.accumulate(value);
+	}
+
+	/**
+	 * Gets the number of recorded latencies.
+	 *
+	 * @return The number of latencies.
+	 */
+	public long getCount() {
+		return totalCount.sum();
+	}
+
+	/**
+	 * Gets the mean of the recorded latencies.
+	 *
+	 * @return The mean latency in microseconds, or 0 if there are none.
+	 */
+	public double getMean() {
+		long count = totalCount.sum();
+
+		return count == 0 ? 0 : (double) totalValue.sum() / count;
+	}
+
+	/**
+	 * Gets the maximum of the recorded latencies.
+	 *
+	 * @return The maximum latency in microseconds, or 0 if there are none.
+	 */
+	public long getMax() {
+		return maxValue.get();
+	}
+
+	/**
+	 * Gets the latency below which a given percentage of the recorded
+	 * latencies are.
+	 *
+	 * @param percentile The percentage, between 0 and 100.
+	 * @return The latency in microseconds, or 0 if there are none.
+	 */
+	public long getPercentile(double percentile) {
+		long[] snapshot = new long[counts.length()];
+		long count = 0;
+		for (int i = 0; i < snapshot.length; i++) {
+			snapshot[i] = counts.get(i);
+			count += snapshot[i];
+		}
+		if (count == 0) {
+			return 0;
+		}
+
+		long rank = Math.max(1, (long) Math.ceil(Math.min(100, Math.max(0, percentile)) / 100 * count));
+		long accumulated = 0;
+		for (int i = 0; i < snapshot.length; i++) {
+			accumulated += snapshot[i];
+			if (accumulated >= rank) {
+				return Math.min(valueOf(i), getMax());
+			}
+		}
+
+		return getMax();
+	}
+
+}
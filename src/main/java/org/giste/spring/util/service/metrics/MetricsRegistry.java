@@ -0,0 +1,26 @@
+package org.giste.spring.util.service.metrics;
+
+/**
+ * Registry where the metrics of services are exported, like JMX or a
+ * monitoring system. Implementations read the metrics when they are
+ * collected, so registering them once is enough.
+ *
+ * @author Giste
+ */
+public interface MetricsRegistry {
+
+	/**
+	 * Registers the metrics of a service.
+	 *
+	 * @param metrics The metrics of the service.
+	 */
+	void register(ServiceMetrics metrics);
+
+	/**
+	 * Unregisters the metrics of a service.
+	 *
+	 * @param metrics The metrics of the service.
+	 */
+	void unregister(ServiceMetrics metrics);
+
+}
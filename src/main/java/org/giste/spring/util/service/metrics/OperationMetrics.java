@@ -0,0 +1,209 @@
+package org.giste.spring.util.service.metrics;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import org.giste.spring.util.service.RestOperation;
+import org.springframework.web.client.HttpStatusCodeException;
+
+/**
+ * Metrics of the calls of an operation of a service to the REST server:
+ * number of calls, errors by status, latency distribution and payload sizes.
+ *
+ * The latency of a call is measured from the point of view of the caller, so
+ * it includes retries, hedged requests and the time spent reading the
+ * response. Payload sizes are measured by {@link PayloadSizeInterceptor} for
+ * each request sent while an attempt runs with
+ * {@link #capturePayload(Supplier)}.
+ *
+ * @author Giste
+ */
+public class OperationMetrics implements OperationMetricsMXBean {
+
+	private static final double MICROS_PER_MILLI = 1000.0;
+
+	private static final ThreadLocal<OperationMetrics> CURRENT = new ThreadLocal<>();
+
+	private final String serviceName;
+	private final RestOperation operation;
+
+	private final LatencyHistogram latency = new LatencyHistogram();
+	private final LongAdder errorCount = new LongAdder();
+	private final ConcurrentMap<Integer, LongAdder> errorCountByStatus = new ConcurrentHashMap<>();
+	private final LongAdder requestBytes = new LongAdder();
+	private final LongAdder responseBytes = new LongAdder();
+
+	/**
+	 * Constructs new metrics for an operation.
+	 *
+	 * @param serviceName The name of the service, usually its base path.
+	 * @param operation The operation.
+	 */
+	public OperationMetrics(String serviceName, RestOperation operation) {
+		this.serviceName = serviceName;
+		this.operation = operation;
+	}
+
+	/**
+	 * Gets the metrics of the attempt running in the current thread.
+	 *
+	 * @return The metrics, or <code>null</code> if there is no attempt
+	 *         running with {@link #capturePayload(Supplier)}.
+	 */
+	public static OperationMetrics current() {
+		return CURRENT.get();
+	}
+
+	/**
+	 * Runs a call and records its latency and outcome.
+	 *
+	 * @param call The call to the REST server.
+	 * @return The result of the call.
+	 */
+	public <T> T record(Supplier<T> call) {
+		long start = System.nanoTime();
+		try {
+			return call.get();
+		} catch (RuntimeException | Error e) {
+			errorCount.increment();
+			if (e instanceof HttpStatusCodeException) {
+				int status = ((HttpStatusCodeException) e).getRawStatusCode();
+				errorCountByStatus.computeIfAbsent(status, s -> new LongAdder()).increment();
+			}
+
+			throw e;
+		} finally {
+			latency.record(System.nanoTime() - start);
+		}
+	}
+
+	/**
+	 * Runs an attempt of a call, so the sizes of its requests are recorded in
+	 * these metrics.
+	 *
+	 * @param attempt The attempt of the call.
+	 * @return The result of the attempt.
+	 */
+	public <T> T capturePayload(Supplier<T> attempt) {
+		OperationMetrics previous = CURRENT.get();
+		CURRENT.set(this);
+		try {
+			return attempt.get();
+		} finally {
+			if (previous == null) {
+				CURRENT.remove();
+			} else {
+				CURRENT.set(previous);
+			}
+		}
+	}
+
+	/**
+	 * Records the size of the body of a request.
+	 *
+	 * @param bytes The size in bytes.
+	 */
+	public void recordRequestSize(long bytes) {
+		requestBytes.add(bytes);
+	}
+
+	/**
+	 * Records the size of the body of a response.
+	 *
+	 * @param bytes The size in bytes.
+	 */
+	public void recordResponseSize(long bytes) {
+		responseBytes.add(bytes);
+	}
+
+	/**
+	 * Gets the name of the service.
+	 *
+	 * @return The name of the service.
+	 */
+	public String getServiceName() {
+		return serviceName;
+	}
+
+	/**
+	 * Gets the operation.
+	 *
+	 * @return The operation.
+	 */
+	public RestOperation getOperation() {
+		return operation;
+	}
+
+	/**
+	 * Gets the distribution of the latency of the calls.
+	 *
+	 * @return The latency histogram.
+	 */
+	public LatencyHistogram getLatency() {
+		return latency;
+	}
+
+	@Override
+	public long getCallCount() {
+		return latency.getCount();
+	}
+
+	@Override
+	public long getErrorCount() {
+		return errorCount.sum();
+	}
+
+	@Override
+	public Map<Integer, Long> getErrorCountByStatus() {
+		Map<Integer, Long> counts = new TreeMap<>();
+		errorCountByStatus.forEach((status, count) -> counts.put(status, count.sum()));
+
+		return counts;
+	}
+
+	@Override
+	public double getMeanLatency() {
+		return latency.getMean() / MICROS_PER_MILLI;
+	}
+
+	@Override
+	public double getMaxLatency() {
+		return latency.getMax() / MICROS_PER_MILLI;
+	}
+
+	@Override
+	public double getLatency50() {
+		return latency.getPercentile(50) / MICROS_PER_MILLI;
+	}
+
+	@Override
+	public double getLatency95() {
+		return latency.getPercentile(95) / MICROS_PER_MILLI;
+	}
+
+	@Override
+	public double getLatency99() {
+		return latency.getPercentile(99) / MICROS_PER_MILLI;
+	}
+
+	@Override
+	public long getRequestBytes() {
+		return requestBytes.sum();
+	}
+
+	@Override
+	public long getResponseBytes() {
+		return responseBytes.sum();
+	}
+
+	@Override
+	public String toString() {
+		return "OperationMetrics [service=" + serviceName + ", operation=" + operation + ", calls="
+				+ getCallCount() + ", errors=" + getErrorCount() + "]";
+	}
+
+}
@@ -0,0 +1,85 @@
+package org.giste.spring.util.service.metrics;
+
+import java.util.Map;
+
+/**
+ * Management interface of the metrics of an operation of a service, exported
+ * through JMX by {@link JmxMetricsRegistry}. Latencies are in milliseconds and
+ * sizes in bytes.
+ *
+ * @author Giste
+ */
+public interface OperationMetricsMXBean {
+
+	/**
+	 * Gets the number of calls.
+	 *
+	 * @return The number of calls.
+	 */
+	long getCallCount();
+
+	/**
+	 * Gets the number of failed calls.
+	 *
+	 * @return The number of failed calls.
+	 */
+	long getErrorCount();
+
+	/**
+	 * Gets the number of calls answered with each error status by the REST
+	 * server.
+	 *
+	 * @return The number of calls by status code.
+	 */
+	Map<Integer, Long> getErrorCountByStatus();
+
+	/**
+	 * Gets the mean latency of the calls.
+	 *
+	 * @return The mean latency in milliseconds.
+	 */
+	double getMeanLatency();
+
+	/**
+	 * Gets the maximum latency of the calls.
+	 *
+	 * @return The maximum latency in milliseconds.
+	 */
+	double getMaxLatency();
+
+	/**
+	 * Gets the median latency of the calls.
+	 *
+	 * @return The 50th percentile of the latency in milliseconds.
+	 */
+	double getLatency50();
+
+	/**
+	 * Gets the 95th percentile of the latency of the calls.
+	 *
+	 * @return The 95th percentile of the latency in milliseconds.
+	 */
+	double getLatency95();
+
+	/**
+	 * Gets the 99th percentile of the latency of the calls.
+	 *
+	 * @return The 99th percentile of the latency in milliseconds.
+	 */
+	double getLatency99();
+
+	/**
+	 * Gets the total size of the bodies of the requests.
+	 *
+	 * @return The bytes sent to the REST server.
+	 */
+	long getRequestBytes();
+
+	/**
+	 * Gets the total size of the bodies of the responses.
+	 *
+	 * @return The bytes received from the REST server.
+	 */
+	long getResponseBytes();
+
+}
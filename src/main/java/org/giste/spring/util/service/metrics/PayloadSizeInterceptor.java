@@ -0,0 +1,94 @@
+package org.giste.spring.util.service.metrics;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+/**
+ * Interceptor that records the sizes of the bodies of requests and responses
+ * in the {@link OperationMetrics} of the attempt in progress. The size of a
+ * response is the number of bytes read from its body, recorded when the
+ * response is closed, so it's right for chunked responses too. Requests sent
+ * outside an attempt are not measured.
+ *
+ * @author Giste
+ */
+public class PayloadSizeInterceptor implements ClientHttpRequestInterceptor {
+
+	@Override
+	public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+			throws IOException {
+		OperationMetrics metrics = OperationMetrics.current();
+		if (metrics == null) {
+			return execution.execute(request, body);
+		}
+
+		metrics.recordRequestSize(body.length);
+
+		return new CountingResponse(execution.execute(request, body), metrics);
+	}
+
+	/**
+	 * Response that counts the bytes read from its body.
+	 */
+	private static class CountingResponse implements ClientHttpResponse {
+
+		private final ClientHttpResponse response;
+		private final OperationMetrics metrics;
+		private CountingInputStream body;
+		private boolean closed;
+
+		CountingResponse(ClientHttpResponse response, OperationMetrics metrics) {
+			this.response = response;
+			this.metrics = metrics;
+		}
+
+		@Override
+		public InputStream getBody() throws IOException {
+			if (body == null) {
+				body = new CountingInputStream(response.getBody());
+			}
+
+			return body;
+		}
+
+		@Override
+		public HttpHeaders getHeaders() {
+			return response.getHeaders();
+		}
+
+		@Override
+		public HttpStatus getStatusCode() throws IOException {
+			return response.getStatusCode();
+		}
+
+		@Override
+		public int getRawStatusCode() throws IOException {
+			return response.getRawStatusCode();
+		}
+
+		@Override
+		public String getStatusText() throws IOException {
+			return response.getStatusText();
+		}
+
+		@Override
+		public void close() {
+			if (!closed) {
+				closed = true;
+				if (body != null) {
+					metrics.recordResponseSize(body.getCount());
+				}
+			}
+			response.close();
+		}
+
+	}
+
+}
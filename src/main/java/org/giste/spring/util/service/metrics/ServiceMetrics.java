@@ -0,0 +1,65 @@
+package org.giste.spring.util.service.metrics;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+import org.giste.spring.util.service.RestOperation;
+
+/**
+ * Metrics of the calls of a service to the REST server, with one
+ * {@link OperationMetrics} for each operation. The metrics are tagged with the
+ * name of the service, which is its base path, and can be exported with a
+ * {@link MetricsRegistry}.
+ *
+ * @author Giste
+ */
+public class ServiceMetrics {
+
+	private final String name;
+	private final Map<RestOperation, OperationMetrics> operations;
+
+	/**
+	 * Constructs new metrics for a service.
+	 *
+	 * @param name The name of the service, usually its base path.
+	 */
+	public ServiceMetrics(String name) {
+		this.name = name;
+
+		Map<RestOperation, OperationMetrics> operations = new EnumMap<>(RestOperation.class);
+		for (RestOperation operation : RestOperation.values()) {
+			operations.put(operation, new OperationMetrics(name, operation));
+		}
+		this.operations = Collections.unmodifiableMap(operations);
+	}
+
+	/**
+	 * Gets the name of the service.
+	 *
+	 * @return The name of the service.
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * Gets the metrics of an operation.
+	 *
+	 * @param operation The operation.
+	 * @return The metrics of the operation.
+	 */
+	public OperationMetrics get(RestOperation operation) {
+		return operations.get(operation);
+	}
+
+	/**
+	 * Gets the metrics of all the operations.
+	 *
+	 * @return The metrics by operation.
+	 */
+	public Map<RestOperation, OperationMetrics> getOperations() {
+		return operations;
+	}
+
+}
@@ -0,0 +1,110 @@
+package org.giste.spring.util.service.page;
+
+import java.util.List;
+
+/**
+ * A page of entities, with the request used to get it and the total number of
+ * entities.
+ * 
+ * @author Giste
+ *
+ * @param <DTO> The DTO of the entities in the page.
+ */
+public class Page<DTO> {
+
+	private final List<DTO> content;
+	private final PageRequest pageRequest;
+	private final long totalElements;
+
+	/**
+	 * Constructs a new page.
+	 * 
+	 * @param content The entities in the page.
+	 * @param pageRequest The request used to get the page.
+	 * @param totalElements The total number of entities in all pages.
+	 */
+	public Page(List<DTO> content, PageRequest pageRequest, long totalElements) {
+		this.content = content;
+		this.pageRequest = pageRequest;
+		this.totalElements = totalElements;
+	}
+
+	/**
+	 * Gets the entities in the page.
+	 * 
+	 * @return The entities in the page.
+	 */
+	public List<DTO> getContent() {
+		return content;
+	}
+
+	/**
+	 * Gets the request used to get the page.
+	 * 
+	 * @return The request of the page.
+	 */
+	public PageRequest getPageRequest() {
+		return pageRequest;
+	}
+
+	/**
+	 * Gets the number of the page, starting from 0.
+	 * 
+	 * @return The number of the page.
+	 */
+	public int getNumber() {
+		return pageRequest.getPage();
+	}
+
+	/**
+	 * Gets the requested number of entities in a page.
+	 * 
+	 * @return The size of the page.
+	 */
+	public int getSize() {
+		return pageRequest.getSize();
+	}
+
+	/**
+	 * Gets the total number of entities in all pages.
+	 * 
+	 * @return The total number of entities.
+	 */
+	public long getTotalElements() {
+		return totalElements;
+	}
+
+	/**
+	 * Gets the total number of pages.
+	 * 
+	 * @return The total number of pages.
+	 */
+	public int getTotalPages() {
+		return (int) ((totalElements + getSize() - 1) / getSize());
+	}
+
+	/**
+	 * Checks if there is a page after this one.
+	 * 
+	 * @return <code>true</code> if there is a next page.
+	 */
+	public boolean hasNext() {
+		return getNumber() + 1 < getTotalPages();
+	}
+
+	/**
+	 * Checks if there is a page before this one.
+	 * 
+	 * @return <code>true</code> if there is a previous page.
+	 */
+	public boolean hasPrevious() {
+		return getNumber() > 0;
+	}
+
+	@Override
+	public String toString() {
+		return "Page [pageRequest=" + pageRequest + ", totalElements=" + totalElements + ", content=" + content
+				+ "]";
+	}
+
+}
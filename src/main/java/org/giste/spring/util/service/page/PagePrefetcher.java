@@ -0,0 +1,159 @@
+package org.giste.spring.util.service.page;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.giste.spring.util.service.BaseRestService;
+import org.giste.spring.util.service.timeout.Deadline;
+import org.giste.util.dto.BaseDto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Loads pages from a {@link BaseRestService} in background, so the next page
+ * is ready when it's requested. When a page is requested with
+ * {@link #findPage(PageRequest)}, the next one is prefetched in the executor.
+ * 
+ * Prefetched pages are discarded once they are used, when they are older than
+ * the maximum age or when {@link #invalidateAll()} is called after entities
+ * are changed. The number of pages prefetched at the same time is bounded,
+ * and pages are not prefetched when the executor rejects them.
+ * 
+ * @author Giste
+ *
+ * @param <DTO> The DTO of the entities in the pages.
+ */
+public class PagePrefetcher<DTO extends BaseDto> {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(PagePrefetcher.class);
+
+	private final BaseRestService<DTO> restService;
+	private final Executor executor;
+	private final int maxPrefetched;
+	private final long maxAge;
+
+	private final Map<PageRequest, Prefetched<DTO>> prefetched = new HashMap<>();
+
+	/**
+	 * Constructs a new prefetcher.
+	 * 
+	 * @param restService The service used to load pages.
+	 * @param executor The executor where pages are prefetched.
+	 * @param maxPrefetched The maximum number of pages prefetched at the same
+	 *            time.
+	 * @param maxAge The time in milliseconds a prefetched page can be used.
+	 */
+	public PagePrefetcher(BaseRestService<DTO> restService, Executor executor, int maxPrefetched, long maxAge) {
+		this.restService = restService;
+		this.executor = executor;
+		this.maxPrefetched = maxPrefetched;
+		this.maxAge = TimeUnit.MILLISECONDS.toNanos(maxAge);
+	}
+
+	/**
+	 * Gets a page, from the prefetched ones if it's available, and starts
+	 * prefetching the next page.
+	 * 
+	 * @param pageRequest The request of the page.
+	 * @return The requested page.
+	 */
+	public Page<DTO> findPage(PageRequest pageRequest) {
+		Page<DTO> page = takePrefetched(pageRequest);
+		if (page == null) {
+			page = restService.findPage(pageRequest);
+		}
+
+		if (page.hasNext()) {
+			prefetch(page.getPageRequest().next());
+		}
+
+		return page;
+	}
+
+	/**
+	 * Starts loading a page in background, if it isn't being loaded yet. The
+	 * load is bounded by the deadline of the calling thread.
+	 * 
+	 * @param pageRequest The request of the page to prefetch.
+	 */
+	public void prefetch(PageRequest pageRequest) {
+		Prefetched<DTO> entry = new Prefetched<>(new CompletableFuture<>());
+		synchronized (prefetched) {
+			// Discard old pages that were never requested.
+			prefetched.values().removeIf(this::isExpired);
+
+			if (prefetched.size() >= maxPrefetched || prefetched.containsKey(pageRequest)) {
+				return;
+			}
+
+			prefetched.put(pageRequest, entry);
+		}
+
+		try {
+			executor.execute(Deadline.propagate(() -> load(pageRequest, entry.future)));
+		} catch (RejectedExecutionException e) {
+			LOGGER.debug("Prefetch of {} rejected", pageRequest);
+			synchronized (prefetched) {
+				prefetched.remove(pageRequest, entry);
+			}
+		}
+	}
+
+	/**
+	 * Discards all the prefetched pages, including the ones that are being
+	 * loaded. It has to be called when entities are changed, so pages loaded
+	 * before the change aren't used.
+	 */
+	public void invalidateAll() {
+		synchronized (prefetched) {
+			prefetched.clear();
+		}
+	}
+
+	private void load(PageRequest pageRequest, CompletableFuture<Page<DTO>> future) {
+		try {
+			future.complete(restService.findPage(pageRequest));
+		} catch (Throwable t) {
+			future.completeExceptionally(t);
+		}
+	}
+
+	private Page<DTO> takePrefetched(PageRequest pageRequest) {
+		Prefetched<DTO> entry;
+		synchronized (prefetched) {
+			entry = prefetched.remove(pageRequest);
+		}
+		if (entry == null || isExpired(entry)) {
+			return null;
+		}
+
+		try {
+			return entry.future.join();
+		} catch (CompletionException e) {
+			// Load it again, so the error is thrown in the calling thread.
+			LOGGER.debug("Prefetch of {} failed", pageRequest, e);
+
+			return null;
+		}
+	}
+
+	private boolean isExpired(Prefetched<DTO> entry) {
+		return System.nanoTime() - entry.created > maxAge;
+	}
+
+	private static final class Prefetched<DTO> {
+
+		private final CompletableFuture<Page<DTO>> future;
+		private final long created = System.nanoTime();
+
+		private Prefetched(CompletableFuture<Page<DTO>> future) {
+			this.future = future;
+		}
+	}
+
+}
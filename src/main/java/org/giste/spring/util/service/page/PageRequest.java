@@ -0,0 +1,119 @@
+package org.giste.spring.util.service.page;
+
+/**
+ * Request for a page of entities. Pages are numbered from 0. Sort is passed
+ * as is to the REST server, usually as <code>property,direction</code> (for
+ * example <code>name,asc</code>).
+ * 
+ * @author Giste
+ */
+public final class PageRequest {
+
+	private final int page;
+	private final int size;
+	private final String sort;
+
+	/**
+	 * Constructs a request for an unsorted page.
+	 * 
+	 * @param page The number of the page, starting from 0.
+	 * @param size The number of entities in a page.
+	 */
+	public PageRequest(int page, int size) {
+		this(page, size, null);
+	}
+
+	/**
+	 * Constructs a request for a sorted page.
+	 * 
+	 * @param page The number of the page, starting from 0.
+	 * @param size The number of entities in a page.
+	 * @param sort The sort order of the entities, or <code>null</code> for
+	 *            unsorted pages.
+	 */
+	public PageRequest(int page, int size, String sort) {
+		if (page < 0) {
+			throw new IllegalArgumentException("Page number can't be negative");
+		}
+		if (size < 1) {
+			throw new IllegalArgumentException("Page size has to be greater than 0");
+		}
+
+		this.page = page;
+		this.size = size;
+		this.sort = sort;
+	}
+
+	/**
+	 * Gets the number of the page, starting from 0.
+	 * 
+	 * @return The number of the page.
+	 */
+	public int getPage() {
+		return page;
+	}
+
+	/**
+	 * Gets the number of entities in a page.
+	 * 
+	 * @return The size of the page.
+	 */
+	public int getSize() {
+		return size;
+	}
+
+	/**
+	 * Gets the sort order of the entities.
+	 * 
+	 * @return The sort order, or <code>null</code> if the page is unsorted.
+	 */
+	public String getSort() {
+		return sort;
+	}
+
+	/**
+	 * Gets the position of the first entity of the page.
+	 * 
+	 * @return The offset of the page.
+	 */
+	public long getOffset() {
+		return (long) page * size;
+	}
+
+	/**
+	 * Gets the request for the next page, with the same size and sort.
+	 * 
+	 * @return The request for the next page.
+	 */
+	public PageRequest next() {
+		return new PageRequest(page + 1, size, sort);
+	}
+
+	@Override
+	public int hashCode() {
+		int result = 31 * page + size;
+
+		return 31 * result + (sort == null ? 0 : sort.hashCode());
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (!(obj instanceof PageRequest)) {
+			return false;
+		}
+
+		PageRequest other = (PageRequest) obj;
+
+		return page == other.page && size == other.size
+				&& (sort == null ? other.sort == null : sort.equals(other.sort));
+	}
+
+	@Override
+	public String toString() {
+		return "PageRequest [page=" + page + ", size=" + size + ", sort=" + sort + "]";
+	}
+
+}
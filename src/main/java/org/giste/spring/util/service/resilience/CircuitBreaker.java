@@ -0,0 +1,330 @@
+package org.giste.spring.util.service.resilience;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import org.giste.spring.util.config.RestProperties;
+import org.giste.spring.util.service.exception.CircuitBreakerOpenException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClientException;
+
+/**
+ * Circuit breaker for the calls of a service to the REST server. It keeps the
+ * outcome of the last calls in a sliding window and has three states:
+ * <ul>
+ * <li>CLOSED: calls are sent. When the rate of failed calls or the rate of
+ * slow calls in the window reaches its threshold, the circuit is opened.</li>
+ * <li>OPEN: calls are rejected with a {@link CircuitBreakerOpenException}
+ * without waiting for the REST server. After the open duration, the circuit is
+ * half opened.</li>
+ * <li>HALF_OPEN: a limited number of probe calls are sent. If their failure
+ * and slow call rates are below the thresholds the circuit is closed,
+ * otherwise it's opened again.</li>
+ * </ul>
+ *
+ * A call fails when the REST server can't be reached or answers with a server
+ * error, or with TOO MANY REQUESTS. Other client errors mean the REST server is
+ * working, so they are recorded as successful calls.
+ *
+ * It keeps counters of transitions to each state and of rejected calls.
+ *
+ * @author Giste
+ */
+public class CircuitBreaker {
+
+	/**
+	 * States of the circuit.
+	 */
+	public enum State {
+		CLOSED, OPEN, HALF_OPEN
+	}
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(CircuitBreaker.class);
+
+	private final String name;
+	private final int failureRateThreshold;
+	private final int slowCallRateThreshold;
+	private final long slowCallDuration;
+	private final int minimumCalls;
+	private final long openDuration;
+	private final int halfOpenCalls;
+
+	// Sliding window of outcomes, guarded by this.
+	private final boolean[] failures;
+	private final boolean[] slowCalls;
+	private int position;
+	private int recordedCount;
+	private int failureCount;
+	private int slowCallCount;
+
+	private State state = State.CLOSED;
+	private long openedAt;
+	private int halfOpenPermits;
+
+	private final Map<State, LongAdder> transitionCounts = new EnumMap<>(State.class);
+	private final LongAdder rejectedCount = new LongAdder();
+
+	/**
+	 * Constructs a new circuit breaker configured from the circuit breaker
+	 * properties of {@link RestProperties}.
+	 *
+	 * @param name The name of the circuit breaker, used in messages.
+	 * @param restProperties <code>RestProperties</code> with data for
+	 *            configuring the circuit breaker.
+	 */
+	public CircuitBreaker(String name, RestProperties restProperties) {
+		this(name,
+				restProperties.getCircuitBreakerFailureRate(),
+				restProperties.getCircuitBreakerSlowCallRate(),
+				restProperties.getCircuitBreakerSlowCallDuration(),
+				restProperties.getCircuitBreakerWindowSize(),
+				restProperties.getCircuitBreakerMinimumCalls(),
+				restProperties.getCircuitBreakerOpenDuration(),
+				restProperties.getCircuitBreakerHalfOpenCalls());
+	}
+
+	/**
+	 * Constructs a new circuit breaker.
+	 *
+	 * @param name The name of the circuit breaker, used in messages.
+	 * @param failureRateThreshold The percentage of failed calls that opens
+	 *            the circuit.
+	 * @param slowCallRateThreshold The percentage of slow calls that opens the
+	 *            circuit.
+	 * @param slowCallDuration The time in milliseconds after which a call is
+	 *            slow.
+	 * @param windowSize The number of last calls in the sliding window.
+	 * @param minimumCalls The minimum number of calls in the window before
+	 *            opening the circuit.
+	 * @param openDuration The time in milliseconds the circuit stays open.
+	 * @param halfOpenCalls The number of probe calls when the circuit is half
+	 *            open.
+	 */
+	public CircuitBreaker(String name, int failureRateThreshold, int slowCallRateThreshold, long slowCallDuration,
+			int windowSize, int minimumCalls, long openDuration, int halfOpenCalls) {
+		if (windowSize < 1 || halfOpenCalls < 1) {
+			throw new IllegalArgumentException("Window size and half open calls have to be greater than 0");
+		}
+
+		this.name = name;
+		this.failureRateThreshold = failureRateThreshold;
+		this.slowCallRateThreshold = slowCallRateThreshold;
+		this.slowCallDuration = TimeUnit.MILLISECONDS.toNanos(slowCallDuration);
+		this.minimumCalls = Math.min(minimumCalls, windowSize);
+		this.openDuration = TimeUnit.MILLISECONDS.toNanos(openDuration);
+		this.halfOpenCalls = halfOpenCalls;
+		this.failures = new boolean[windowSize];
+		this.slowCalls = new boolean[windowSize];
+
+		for (State s : State.values()) {
+			transitionCounts.put(s, new LongAdder());
+		}
+	}
+
+	/**
+	 * Runs a call to the REST server through the circuit breaker and records
+	 * its outcome.
+	 *
+	 * @param call The call to the REST server.
+	 * @return The result of the call.
+	 * @throws CircuitBreakerOpenException If the circuit is open.
+	 */
+	public <T> T execute(Supplier<T> call) throws CircuitBreakerOpenException {
+		if (!tryAcquire()) {
+			rejectedCount.increment();
+			throw new CircuitBreakerOpenException("Circuit breaker " + name + " is open");
+		}
+
+		long start = System.nanoTime();
+		try {
+			T result = call.get();
+			onResult(System.nanoTime() - start, false);
+
+			return result;
+		} catch (RuntimeException e) {
+			if (Thread.currentThread().isInterrupted()) {
+				// Cancelled by the caller, it says nothing about REST server.
+				onIgnored();
+			} else {
+				onResult(System.nanoTime() - start, isFailure(e));
+			}
+
+			throw e;
+		} catch (Error e) {
+			onIgnored();
+
+			throw e;
+		}
+	}
+
+	/**
+	 * Checks if an exception thrown by a call means that the REST server is
+	 * failing.
+	 *
+	 * @param e The exception thrown by the call.
+	 * @return <code>true</code> if the call failed.
+	 */
+	protected boolean isFailure(RuntimeException e) {
+		if (e instanceof HttpClientErrorException) {
+			// REST server is working, unless it asks to slow down.
+			return ((HttpClientErrorException) e).getStatusCode() == HttpStatus.TOO_MANY_REQUESTS;
+		}
+
+		return e instanceof RestClientException;
+	}
+
+	private synchronized boolean tryAcquire() {
+		if (state == State.OPEN) {
+			if (System.nanoTime() - openedAt < openDuration) {
+				return false;
+			}
+			transitionTo(State.HALF_OPEN);
+		}
+
+		if (state == State.HALF_OPEN) {
+			if (halfOpenPermits == 0) {
+				return false;
+			}
+			halfOpenPermits--;
+		}
+
+		return true;
+	}
+
+	private synchronized void onResult(long duration, boolean failed) {
+		if (state == State.OPEN) {
+			// Call started before opening the circuit.
+			return;
+		}
+
+		record(failed, duration >= slowCallDuration);
+
+		if (state == State.CLOSED) {
+			if (recordedCount >= minimumCalls && isAboveThresholds()) {
+				transitionTo(State.OPEN);
+			}
+		} else if (recordedCount >= halfOpenCalls) {
+			transitionTo(isAboveThresholds() ? State.OPEN : State.CLOSED);
+		}
+	}
+
+	private synchronized void onIgnored() {
+		if (state == State.HALF_OPEN) {
+			halfOpenPermits++;
+		}
+	}
+
+	private void record(boolean failed, boolean slow) {
+		if (recordedCount == failures.length) {
+			// Window is full, remove the oldest outcome.
+			if (failures[position]) {
+				failureCount--;
+			}
+			if (slowCalls[position]) {
+				slowCallCount--;
+			}
+		} else {
+			recordedCount++;
+		}
+
+		failures[position] = failed;
+		slowCalls[position] = slow;
+		if (failed) {
+			failureCount++;
+		}
+		if (slow) {
+			slowCallCount++;
+		}
+		position = (position + 1) % failures.length;
+	}
+
+	private boolean isAboveThresholds() {
+		return failureCount * 100 >= failureRateThreshold * recordedCount
+				|| slowCallCount * 100 >= slowCallRateThreshold * recordedCount;
+	}
+
+	private void transitionTo(State newState) {
+		LOGGER.info("Circuit breaker {} changes from {} to {}", name, state, newState);
+
+		state = newState;
+		transitionCounts.get(newState).increment();
+
+		// Each state starts with an empty window.
+		Arrays.fill(failures, false);
+		Arrays.fill(slowCalls, false);
+		position = 0;
+		recordedCount = 0;
+		failureCount = 0;
+		slowCallCount = 0;
+
+		if (newState == State.OPEN) {
+			openedAt = System.nanoTime();
+		} else if (newState == State.HALF_OPEN) {
+			halfOpenPermits = halfOpenCalls;
+		}
+	}
+
+	/**
+	 * Gets the name of this circuit breaker.
+	 *
+	 * @return The name of the circuit breaker.
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * Gets the current state of the circuit. An open circuit whose open
+	 * duration has expired is still reported as open until the next call.
+	 *
+	 * @return The state of the circuit.
+	 */
+	public synchronized State getState() {
+		return state;
+	}
+
+	/**
+	 * Gets the rate of failed calls in the current window.
+	 *
+	 * @return The failure rate in percent, or 0 if there are no calls.
+	 */
+	public synchronized float getFailureRate() {
+		return recordedCount == 0 ? 0 : failureCount * 100f / recordedCount;
+	}
+
+	/**
+	 * Gets the rate of slow calls in the current window.
+	 *
+	 * @return The slow call rate in percent, or 0 if there are no calls.
+	 */
+	public synchronized float getSlowCallRate() {
+		return recordedCount == 0 ? 0 : slowCallCount * 100f / recordedCount;
+	}
+
+	/**
+	 * Gets the number of transitions of the circuit to a given state.
+	 *
+	 * @param state The state.
+	 * @return The number of transitions to the state.
+	 */
+	public long getTransitionCount(State state) {
+		return transitionCounts.get(state).sum();
+	}
+
+	/**
+	 * Gets the number of calls rejected because the circuit was open.
+	 *
+	 * @return The number of rejected calls.
+	 */
+	public long getRejectedCount() {
+		return rejectedCount.sum();
+	}
+
+}
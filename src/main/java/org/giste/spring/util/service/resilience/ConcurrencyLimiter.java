@@ -0,0 +1,267 @@
+package org.giste.spring.util.service.resilience;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+import org.giste.spring.util.config.RestProperties;
+import org.giste.spring.util.service.exception.ConcurrencyLimitExceededException;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClientException;
+
+/**
+ * Adaptive limit of the concurrent calls of a service to the REST server, so a
+ * slow resource can't take all the threads of the application. Calls above the
+ * limit wait for a permit up to a maximum time, and are rejected with a
+ * {@link ConcurrencyLimitExceededException} if they don't get it.
+ *
+ * The limit is adjusted with AIMD (additive increase, multiplicative
+ * decrease):
+ * <ul>
+ * <li>Each call that answers in time while the limit is being used increases
+ * the limit by <code>1 / limit</code>, that is, by one for each limit worth of
+ * calls.</li>
+ * <li>Each call that answers above the latency threshold, times out or gets an
+ * overload status (TOO MANY REQUESTS, SERVICE UNAVAILABLE or GATEWAY TIMEOUT)
+ * multiplies the limit by 0.9.</li>
+ * </ul>
+ * Calls that don't reach the REST server, like the ones rejected by a circuit
+ * breaker, don't change the limit.
+ *
+ * @author Giste
+ */
+public class ConcurrencyLimiter {
+
+	private static final int MIN_LIMIT = 1;
+	private static final double BACKOFF_RATIO = 0.9;
+
+	private final String name;
+	private final int maxLimit;
+	private final long maxWait;
+	private final long latencyThreshold;
+
+	// State guarded by lock.
+	private final ReentrantLock lock = new ReentrantLock();
+	private final Condition permitAvailable = lock.newCondition();
+	private double limit;
+	private int inFlight;
+
+	private final LongAdder queuedCount = new LongAdder();
+	private final LongAdder rejectedCount = new LongAdder();
+	private final LongAdder dropCount = new LongAdder();
+
+	/**
+	 * Constructs a new concurrency limiter configured from the concurrency
+	 * limit properties of {@link RestProperties}.
+	 *
+	 * @param name The name of the limiter, used in messages.
+	 * @param restProperties <code>RestProperties</code> with data for
+	 *            configuring the limiter.
+	 */
+	public ConcurrencyLimiter(String name, RestProperties restProperties) {
+		this(name,
+				restProperties.getConcurrencyLimitInitial(),
+				restProperties.getConcurrencyLimitMax(),
+				restProperties.getConcurrencyLimitMaxWait(),
+				restProperties.getConcurrencyLimitLatency());
+	}
+
+	/**
+	 * Constructs a new concurrency limiter.
+	 *
+	 * @param name The name of the limiter, used in messages.
+	 * @param initialLimit The initial limit of concurrent calls.
+	 * @param maxLimit The maximum limit of concurrent calls.
+	 * @param maxWait The time in milliseconds a call waits for a permit, or 0
+	 *            for rejecting calls without waiting.
+	 * @param latencyThreshold The latency in milliseconds above which a call
+	 *            decreases the limit.
+	 */
+	public ConcurrencyLimiter(String name, int initialLimit, int maxLimit, long maxWait, long latencyThreshold) {
+		if (initialLimit < MIN_LIMIT || maxLimit < initialLimit) {
+			throw new IllegalArgumentException("Limits have to be 0 < initialLimit <= maxLimit");
+		}
+
+		this.name = name;
+		this.maxLimit = maxLimit;
+		this.maxWait = TimeUnit.MILLISECONDS.toNanos(Math.max(0, maxWait));
+		this.latencyThreshold = TimeUnit.MILLISECONDS.toNanos(latencyThreshold);
+		this.limit = initialLimit;
+	}
+
+	/**
+	 * Runs a call to the REST server if there is a permit for it, and adjusts
+	 * the limit with its outcome.
+	 *
+	 * @param call The call to the REST server.
+	 * @return The result of the call.
+	 * @throws ConcurrencyLimitExceededException If there is no permit for the
+	 *             call.
+	 */
+	public <T> T execute(Supplier<T> call) throws ConcurrencyLimitExceededException {
+		acquire();
+
+		long start = System.nanoTime();
+		try {
+			T result = call.get();
+			release(true, System.nanoTime() - start >= latencyThreshold);
+
+			return result;
+		} catch (RuntimeException e) {
+			if (Thread.currentThread().isInterrupted() || !(e instanceof RestClientException)) {
+				// Cancelled or not sent, it says nothing about REST server.
+				release(false, false);
+			} else {
+				release(true, isDrop(e) || System.nanoTime() - start >= latencyThreshold);
+			}
+
+			throw e;
+		} catch (Error e) {
+			release(false, false);
+
+			throw e;
+		}
+	}
+
+	/**
+	 * Checks if an exception thrown by a call means that the REST server is
+	 * overloaded.
+	 *
+	 * @param e The exception thrown by the call.
+	 * @return <code>true</code> if the limit has to be decreased.
+	 */
+	protected boolean isDrop(RuntimeException e) {
+		if (e instanceof HttpStatusCodeException) {
+			HttpStatus status = ((HttpStatusCodeException) e).getStatusCode();
+
+			return status == HttpStatus.TOO_MANY_REQUESTS
+					|| status == HttpStatus.SERVICE_UNAVAILABLE
+					|| status == HttpStatus.GATEWAY_TIMEOUT;
+		}
+
+		return e instanceof ResourceAccessException;
+	}
+
+	private void acquire() {
+		lock.lock();
+		try {
+			if (inFlight >= (int) limit) {
+				queuedCount.increment();
+				long remaining = maxWait;
+				while (inFlight >= (int) limit) {
+					if (remaining <= 0) {
+						reject("Concurrency limit of " + name + " reached");
+					}
+					try {
+						remaining = permitAvailable.awaitNanos(remaining);
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+						reject("Interrupted waiting for concurrency limit of " + name);
+					}
+				}
+			}
+			inFlight++;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	private void reject(String message) {
+		rejectedCount.increment();
+
+		throw new ConcurrencyLimitExceededException(message);
+	}
+
+	private void release(boolean sample, boolean drop) {
+		lock.lock();
+		try {
+			if (sample) {
+				if (drop) {
+					dropCount.increment();
+					limit = Math.max(MIN_LIMIT, limit * BACKOFF_RATIO);
+				} else if (inFlight * 2 >= limit) {
+					// Only grow while the limit is being used.
+					limit = Math.min(maxLimit, limit + 1 / limit);
+				}
+			}
+			inFlight--;
+			permitAvailable.signalAll();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Gets the name of this limiter.
+	 *
+	 * @return The name of the limiter.
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * Gets the current limit of concurrent calls.
+	 *
+	 * @return The limit of concurrent calls.
+	 */
+	public int getLimit() {
+		lock.lock();
+		try {
+			return (int) limit;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Gets the number of calls in progress.
+	 *
+	 * @return The number of calls in progress.
+	 */
+	public int getInFlight() {
+		lock.lock();
+		try {
+			return inFlight;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Gets the number of calls that had to wait for a permit.
+	 *
+	 * @return The number of queued calls.
+	 */
+	public long getQueuedCount() {
+		return queuedCount.sum();
+	}
+
+	/**
+	 * Gets the number of calls rejected without a permit.
+	 *
+	 * @return The number of rejected calls.
+	 */
+	public long getRejectedCount() {
+		return rejectedCount.sum();
+	}
+
+	/**
+	 * Gets the number of calls that decreased the limit.
+	 *
+	 * @return The number of calls that signaled overload.
+	 */
+	public long getDropCount() {
+		return dropCount.sum();
+	}
+
+	@Override
+	public String toString() {
+		return "ConcurrencyLimiter [name=" + name + ", limit=" + getLimit() + ", inFlight=" + getInFlight() + "]";
+	}
+
+}
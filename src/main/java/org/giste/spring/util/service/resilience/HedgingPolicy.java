@@ -0,0 +1,259 @@
+package org.giste.spring.util.service.resilience;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import org.giste.spring.util.config.RestProperties;
+import org.giste.spring.util.service.timeout.Deadline;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.client.ResourceAccessException;
+
+/**
+ * Policy for hedging idempotent reads from the REST server. The call is sent
+ * in the executor and, if it hasn't answered after a delay, a second one is
+ * sent. The first successful answer is returned and the other call is
+ * cancelled. If the first answer is an error, the other call is still waited
+ * for.
+ *
+ * The delay is a percentile of the latency of the last successful calls, so
+ * only the slowest calls are hedged, but never less than a minimum. The rate
+ * of hedged calls is capped to a percentage of all the calls.
+ *
+ * Cancelling a call interrupts its thread, which releases it if it's waiting
+ * for a pooled connection. A call already waiting for the answer of the REST
+ * server finishes in the background and its answer is discarded.
+ *
+ * Calls have to be free of side effects other than caching, as both of them
+ * may run completely.
+ *
+ * @author Giste
+ */
+public class HedgingPolicy {
+
+	// Latency samples kept, and samples between two delay computations.
+	private static final int SAMPLE_SIZE = 1000;
+	private static final int DELAY_UPDATE_INTERVAL = 100;
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(HedgingPolicy.class);
+
+	private final ExecutorService executor;
+	private final int percentile;
+	private final long minDelay;
+	private final int maxPercent;
+
+	// Ring of latency samples, guarded by itself.
+	private final long[] samples = new long[SAMPLE_SIZE];
+	private int sampleCount;
+	private long recordedCount;
+
+	private volatile long delay;
+
+	private final LongAdder callCount = new LongAdder();
+	private final LongAdder hedgeCount = new LongAdder();
+	private final LongAdder hedgeWinCount = new LongAdder();
+	private final LongAdder cancelledCount = new LongAdder();
+
+	/**
+	 * Constructs a new hedging policy configured from the hedging properties
+	 * of {@link RestProperties}.
+	 *
+	 * @param executor The executor for sending the calls.
+	 * @param restProperties <code>RestProperties</code> with data for
+	 *            configuring the policy.
+	 */
+	public HedgingPolicy(ExecutorService executor, RestProperties restProperties) {
+		this(executor,
+				restProperties.getHedgePercentile(),
+				restProperties.getHedgeMinDelay(),
+				restProperties.getHedgeMaxPercent());
+	}
+
+	/**
+	 * Constructs a new hedging policy.
+	 *
+	 * @param executor The executor for sending the calls.
+	 * @param percentile The percentile of the latency after which a second
+	 *            call is sent.
+	 * @param minDelay The minimum time in milliseconds before sending a
+	 *            second call.
+	 * @param maxPercent The maximum percentage of calls that can be hedged.
+	 */
+	public HedgingPolicy(ExecutorService executor, int percentile, long minDelay, int maxPercent) {
+		if (percentile < 1 || percentile > 100) {
+			throw new IllegalArgumentException("Percentile has to be between 1 and 100");
+		}
+
+		this.executor = executor;
+		this.percentile = percentile;
+		this.minDelay = TimeUnit.MILLISECONDS.toNanos(minDelay);
+		this.maxPercent = maxPercent;
+		this.delay = this.minDelay;
+	}
+
+	/**
+	 * Runs a call, hedging it if it doesn't answer before the delay. If the
+	 * executor rejects the call, it's run in the calling thread without
+	 * hedging.
+	 *
+	 * @param call The idempotent call to the REST server.
+	 * @return The first successful result.
+	 */
+	public <T> T execute(Supplier<T> call) {
+		callCount.increment();
+
+		CompletionService<T> completion = new ExecutorCompletionService<>(executor);
+		List<Future<T>> calls = new ArrayList<>(2);
+		Supplier<T> bounded = Deadline.propagate(call);
+		try {
+			calls.add(completion.submit(() -> timed(bounded)));
+		} catch (RejectedExecutionException e) {
+			LOGGER.debug("Executor is full, calling without hedging");
+
+			return call.get();
+		}
+
+		try {
+			Future<T> done = completion.poll(delay, TimeUnit.NANOSECONDS);
+			if (done == null && tryHedge()) {
+				try {
+					calls.add(completion.submit(() -> timed(bounded)));
+					hedgeCount.increment();
+				} catch (RejectedExecutionException e) {
+					LOGGER.debug("Executor is full, not hedging");
+				}
+			}
+
+			RuntimeException failure = null;
+			for (int pending = calls.size(); pending > 0; pending--) {
+				if (done == null) {
+					done = completion.take();
+				}
+
+				try {
+					T result = done.get();
+					if (done != calls.get(0)) {
+						hedgeWinCount.increment();
+					}
+
+					return result;
+				} catch (ExecutionException e) {
+					failure = unwrap(e, failure);
+				}
+				done = null;
+			}
+
+			throw failure;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+
+			throw new ResourceAccessException("Interrupted while waiting for REST server");
+		} finally {
+			for (Future<T> future : calls) {
+				if (future.cancel(true)) {
+					cancelledCount.increment();
+				}
+			}
+		}
+	}
+
+	private <T> T timed(Supplier<T> call) {
+		long start = System.nanoTime();
+		T result = call.get();
+		record(System.nanoTime() - start);
+
+		return result;
+	}
+
+	private RuntimeException unwrap(ExecutionException e, RuntimeException failure) {
+		Throwable cause = e.getCause();
+		if (cause instanceof Error) {
+			throw (Error) cause;
+		}
+
+		// Keep the error of the first call to fail.
+		return failure != null ? failure : (RuntimeException) cause;
+	}
+
+	private boolean tryHedge() {
+		return hedgeCount.sum() * 100 < maxPercent * callCount.sum();
+	}
+
+	private void record(long latency) {
+		long[] sorted = null;
+
+		synchronized (samples) {
+			samples[(int) (recordedCount % SAMPLE_SIZE)] = latency;
+			sampleCount = Math.min(sampleCount + 1, SAMPLE_SIZE);
+			recordedCount++;
+
+			if (recordedCount % DELAY_UPDATE_INTERVAL == 0) {
+				sorted = Arrays.copyOf(samples, sampleCount);
+			}
+		}
+
+		if (sorted != null) {
+			// Sort outside the lock.
+			Arrays.sort(sorted);
+			long latencyPercentile = sorted[Math.min(sorted.length - 1, sorted.length * percentile / 100)];
+			delay = Math.max(minDelay, latencyPercentile);
+		}
+	}
+
+	/**
+	 * Gets the current delay before sending a second call.
+	 *
+	 * @return The hedging delay in milliseconds.
+	 */
+	public long getDelay() {
+		return TimeUnit.NANOSECONDS.toMillis(delay);
+	}
+
+	/**
+	 * Gets the number of calls run by this policy.
+	 *
+	 * @return The number of calls.
+	 */
+	public long getCallCount() {
+		return callCount.sum();
+	}
+
+	/**
+	 * Gets the number of calls that sent a second request.
+	 *
+	 * @return The number of hedged calls.
+	 */
+	public long getHedgeCount() {
+		return hedgeCount.sum();
+	}
+
+	/**
+	 * Gets the number of hedged calls whose second request answered first.
+	 *
+	 * @return The number of hedged calls won by the second request.
+	 */
+	public long getHedgeWinCount() {
+		return hedgeWinCount.sum();
+	}
+
+	/**
+	 * Gets the number of requests cancelled because the other request of the
+	 * call answered first.
+	 *
+	 * @return The number of cancelled requests.
+	 */
+	public long getCancelledCount() {
+		return cancelledCount.sum();
+	}
+
+}
@@ -0,0 +1,114 @@
+package org.giste.spring.util.service.resilience;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.giste.spring.util.config.RestProperties;
+
+/**
+ * Budget that limits retries to a percentage of the calls to the REST server,
+ * so retries can't multiply the load of a failing server. Each call deposits
+ * a fraction of a retry in the budget, and each retry withdraws a whole one.
+ * The balance is capped, so only a small burst of retries is allowed after a
+ * period without failures.
+ *
+ * A single budget can be shared by the retry policies of several services to
+ * limit the retries of all of them together.
+ *
+ * @author Giste
+ */
+public class RetryBudget {
+
+	// Retries that can be saved up.
+	private static final int MAX_BALANCE = 10;
+
+	// Cost of a retry, so a call deposits the percent of a retry.
+	private static final long RETRY_COST = 100;
+
+	private final int percent;
+	private final long maxBalance;
+	private final AtomicLong balance;
+
+	private final LongAdder retryCount = new LongAdder();
+	private final LongAdder exhaustedCount = new LongAdder();
+
+	/**
+	 * Constructs a new retry budget configured from
+	 * {@link RestProperties#getRetryBudgetPercent()}.
+	 *
+	 * @param restProperties <code>RestProperties</code> with data for
+	 *            configuring the budget.
+	 */
+	public RetryBudget(RestProperties restProperties) {
+		this(restProperties.getRetryBudgetPercent(), MAX_BALANCE);
+	}
+
+	/**
+	 * Constructs a new retry budget. It starts full.
+	 *
+	 * @param percent The maximum percentage of calls that can be retries.
+	 * @param maxBalance The maximum number of retries saved in the budget.
+	 */
+	public RetryBudget(int percent, int maxBalance) {
+		this.percent = percent;
+		this.maxBalance = maxBalance * RETRY_COST;
+		this.balance = new AtomicLong(this.maxBalance);
+	}
+
+	/**
+	 * Deposits the share of a call in the budget. It has to be called once for
+	 * each call, before its retries.
+	 */
+	public void deposit() {
+		balance.accumulateAndGet(percent, (current, share) -> Math.min(maxBalance, current + share));
+	}
+
+	/**
+	 * Withdraws a retry from the budget, if there is enough balance.
+	 *
+	 * @return <code>true</code> if the retry can be done.
+	 */
+	public boolean tryWithdraw() {
+		long current;
+		do {
+			current = balance.get();
+			if (current < RETRY_COST) {
+				exhaustedCount.increment();
+
+				return false;
+			}
+		} while (!balance.compareAndSet(current, current - RETRY_COST));
+
+		retryCount.increment();
+
+		return true;
+	}
+
+	/**
+	 * Gets the number of retries that can be done now.
+	 *
+	 * @return The available retries.
+	 */
+	public long getAvailableRetries() {
+		return balance.get() / RETRY_COST;
+	}
+
+	/**
+	 * Gets the number of retries withdrawn from the budget.
+	 *
+	 * @return The number of retries.
+	 */
+	public long getRetryCount() {
+		return retryCount.sum();
+	}
+
+	/**
+	 * Gets the number of retries denied because the budget was exhausted.
+	 *
+	 * @return The number of denied retries.
+	 */
+	public long getExhaustedCount() {
+		return exhaustedCount.sum();
+	}
+
+}
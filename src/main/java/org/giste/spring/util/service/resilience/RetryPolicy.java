@@ -0,0 +1,143 @@
+package org.giste.spring.util.service.resilience;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+import org.giste.spring.util.config.RestProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+/**
+ * Policy for retrying calls to the REST server that fail with a transient
+ * error: an I/O error, like a connection reset or a timeout, or a BAD GATEWAY,
+ * SERVICE UNAVAILABLE or GATEWAY TIMEOUT answer. It has to be used only with
+ * idempotent calls.
+ *
+ * Before each retry it waits a random time between 0 and a backoff that
+ * doubles with each retry, up to a maximum. Retries are withdrawn from a
+ * {@link RetryBudget}, and no retry is done when the budget is exhausted.
+ *
+ * @author Giste
+ */
+public class RetryPolicy {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(RetryPolicy.class);
+
+	private final int maxAttempts;
+	private final long initialBackoff;
+	private final long maxBackoff;
+	private final RetryBudget budget;
+
+	/**
+	 * Constructs a new retry policy configured from the retry properties of
+	 * {@link RestProperties}.
+	 *
+	 * @param restProperties <code>RestProperties</code> with data for
+	 *            configuring the policy.
+	 * @param budget The budget for the retries.
+	 */
+	public RetryPolicy(RestProperties restProperties, RetryBudget budget) {
+		this(restProperties.getRetryMaxAttempts(), restProperties.getRetryInitialBackoff(),
+				restProperties.getRetryMaxBackoff(), budget);
+	}
+
+	/**
+	 * Constructs a new retry policy.
+	 *
+	 * @param maxAttempts The maximum number of attempts of a call, the first
+	 *            one included.
+	 * @param initialBackoff The maximum time in milliseconds to wait before
+	 *            the first retry.
+	 * @param maxBackoff The maximum time in milliseconds to wait before any
+	 *            retry.
+	 * @param budget The budget for the retries.
+	 */
+	public RetryPolicy(int maxAttempts, long initialBackoff, long maxBackoff, RetryBudget budget) {
+		if (maxAttempts < 1 || budget == null) {
+			throw new IllegalArgumentException("Maximum attempts has to be greater than 0 and budget is required");
+		}
+
+		this.maxAttempts = maxAttempts;
+		this.initialBackoff = initialBackoff;
+		this.maxBackoff = maxBackoff;
+		this.budget = budget;
+	}
+
+	/**
+	 * Runs a call, retrying it while it fails with a transient error, there
+	 * are attempts left and the budget allows it. The exception of the last
+	 * attempt is thrown.
+	 *
+	 * @param call The idempotent call to the REST server.
+	 * @return The result of the call.
+	 */
+	public <T> T execute(Supplier<T> call) {
+		budget.deposit();
+
+		for (int attempt = 1;; attempt++) {
+			try {
+				return call.get();
+			} catch (RuntimeException e) {
+				if (attempt >= maxAttempts || !isRetryable(e) || !budget.tryWithdraw()) {
+					throw e;
+				}
+
+				long backoff = getBackoff(attempt);
+				LOGGER.debug("Retrying call after {} ms, attempt {} failed: {}", backoff, attempt, e.toString());
+				try {
+					Thread.sleep(backoff);
+				} catch (InterruptedException ie) {
+					Thread.currentThread().interrupt();
+
+					throw e;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Checks if an exception thrown by a call is a transient error, so the
+	 * call can be retried. Errors reading a streamed response are thrown as
+	 * <code>HttpMessageNotReadableException</code>, so they are not retried
+	 * and consumers of the response never get an item twice.
+	 *
+	 * @param e The exception thrown by the call.
+	 * @return <code>true</code> if the call can be retried.
+	 */
+	protected boolean isRetryable(RuntimeException e) {
+		if (e instanceof HttpServerErrorException) {
+			HttpStatus status = ((HttpServerErrorException) e).getStatusCode();
+
+			return status == HttpStatus.BAD_GATEWAY || status == HttpStatus.SERVICE_UNAVAILABLE
+					|| status == HttpStatus.GATEWAY_TIMEOUT;
+		}
+
+		return e instanceof ResourceAccessException;
+	}
+
+	/**
+	 * Gets a random backoff before a retry, between 0 and the exponential
+	 * backoff for the attempt.
+	 *
+	 * @param attempt The number of the failed attempt.
+	 * @return The backoff in milliseconds.
+	 */
+	private long getBackoff(int attempt) {
+		long backoff = Math.min(maxBackoff, initialBackoff << Math.min(attempt - 1, 30));
+
+		return backoff <= 0 ? 0 : ThreadLocalRandom.current().nextLong(backoff + 1);
+	}
+
+	/**
+	 * Gets the budget for the retries.
+	 *
+	 * @return The retry budget.
+	 */
+	public RetryBudget getBudget() {
+		return budget;
+	}
+
+}
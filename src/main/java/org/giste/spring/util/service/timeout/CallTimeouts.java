@@ -0,0 +1,110 @@
+package org.giste.spring.util.service.timeout;
+
+import java.util.function.Supplier;
+
+import org.giste.spring.util.service.exception.DeadlineExceededException;
+
+/**
+ * Timeouts of the call to the REST server running in the current thread. They
+ * are set by services around each call and read by the request factory of
+ * <code>RestTemplateFactory</code> when it creates the request.
+ *
+ * Timeouts are bounded by the time left until the deadline of the call, if it
+ * has one.
+ *
+ * @author Giste
+ */
+public final class CallTimeouts {
+
+	private static final ThreadLocal<CallTimeouts> CURRENT = new ThreadLocal<>();
+
+	private final int connectTimeout;
+	private final int readTimeout;
+	private final Deadline deadline;
+
+	private CallTimeouts(int connectTimeout, int readTimeout, Deadline deadline) {
+		this.connectTimeout = connectTimeout;
+		this.readTimeout = readTimeout;
+		this.deadline = deadline;
+	}
+
+	/**
+	 * Runs a call with the given timeouts and deadline. Each timeout is
+	 * replaced by the time left until the deadline if it's shorter. Callers
+	 * have to pass the configured timeouts when the operation has none, as a
+	 * timeout of 0 is replaced by the whole time left.
+	 *
+	 * @param connectTimeout The timeout in milliseconds for connecting, or 0
+	 *            for no timeout other than the deadline.
+	 * @param readTimeout The timeout in milliseconds for reading, or 0 for no
+	 *            timeout other than the deadline.
+	 * @param deadline The deadline of the call, or <code>null</code> if it
+	 *            doesn't have one.
+	 * @param call The call to the REST server.
+	 * @return The result of the call.
+	 * @throws DeadlineExceededException If the deadline has already expired.
+	 */
+	public static <T> T run(int connectTimeout, int readTimeout, Deadline deadline, Supplier<T> call)
+			throws DeadlineExceededException {
+		if (deadline != null) {
+			long remaining = deadline.getRemaining();
+			if (remaining <= 0) {
+				throw new DeadlineExceededException("Deadline expired before calling REST server");
+			}
+
+			int bound = (int) Math.min(Integer.MAX_VALUE, remaining);
+			connectTimeout = connectTimeout > 0 ? Math.min(connectTimeout, bound) : bound;
+			readTimeout = readTimeout > 0 ? Math.min(readTimeout, bound) : bound;
+		}
+
+		CallTimeouts previous = CURRENT.get();
+		CURRENT.set(new CallTimeouts(connectTimeout, readTimeout, deadline));
+		try {
+			return call.get();
+		} finally {
+			if (previous == null) {
+				CURRENT.remove();
+			} else {
+				CURRENT.set(previous);
+			}
+		}
+	}
+
+	/**
+	 * Gets the timeouts of the call running in the current thread.
+	 *
+	 * @return The timeouts, or <code>null</code> if there is no call with
+	 *         timeouts running.
+	 */
+	public static CallTimeouts current() {
+		return CURRENT.get();
+	}
+
+	/**
+	 * Gets the timeout for connecting.
+	 *
+	 * @return The connect timeout in milliseconds, or 0 for the default one.
+	 */
+	public int getConnectTimeout() {
+		return connectTimeout;
+	}
+
+	/**
+	 * Gets the timeout for reading.
+	 *
+	 * @return The read timeout in milliseconds, or 0 for the default one.
+	 */
+	public int getReadTimeout() {
+		return readTimeout;
+	}
+
+	/**
+	 * Gets the deadline of the call.
+	 *
+	 * @return The deadline, or <code>null</code> if the call doesn't have one.
+	 */
+	public Deadline getDeadline() {
+		return deadline;
+	}
+
+}
@@ -0,0 +1,152 @@
+package org.giste.spring.util.service.timeout;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * Point in time by which a request being served has to be answered. The
+ * deadline of the current web request is kept as a request attribute, so it's
+ * discarded with the request.
+ *
+ * Tasks run by other threads on behalf of the request, like parallel, hedged,
+ * asynchronous or prefetch calls, have to be wrapped with
+ * {@link #propagate(Supplier)} or {@link #propagate(Runnable)} to be bounded
+ * by the same deadline.
+ *
+ * Services use the deadline to bound the timeouts of their calls to the REST
+ * server, to not send calls once it has expired, and to tell the REST server
+ * how long it has to answer in the {@link #HEADER_REQUEST_TIMEOUT} header.
+ *
+ * @author Giste
+ */
+public final class Deadline {
+
+	/**
+	 * Header with the remaining time in milliseconds sent to the REST server.
+	 */
+	public static final String HEADER_REQUEST_TIMEOUT = "X-Request-Timeout";
+
+	private static final String ATTRIBUTE_DEADLINE = Deadline.class.getName();
+
+	private static final ThreadLocal<Deadline> PROPAGATED = new ThreadLocal<>();
+
+	private final long expiration;
+
+	private Deadline(long expiration) {
+		this.expiration = expiration;
+	}
+
+	/**
+	 * Creates a deadline a given time from now.
+	 *
+	 * @param timeout The time in milliseconds from now.
+	 * @return The deadline.
+	 */
+	public static Deadline after(long timeout) {
+		return new Deadline(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeout));
+	}
+
+	/**
+	 * Gets the deadline of the web request being served by the current
+	 * thread, or the one propagated to the task it's running.
+	 *
+	 * @return The deadline, or <code>null</code> if there isn't any.
+	 */
+	public static Deadline current() {
+		RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+		Deadline deadline = attributes == null
+				? null
+				: (Deadline) attributes.getAttribute(ATTRIBUTE_DEADLINE, RequestAttributes.SCOPE_REQUEST);
+
+		return deadline == null ? PROPAGATED.get() : deadline;
+	}
+
+	/**
+	 * Wraps a task so it runs with the deadline of the current thread, even if
+	 * it's run by another thread.
+	 *
+	 * @param task The task to wrap.
+	 * @return The wrapped task, or the same task if there isn't any deadline.
+	 */
+	public static <T> Supplier<T> propagate(Supplier<T> task) {
+		Deadline deadline = current();
+		if (deadline == null) {
+			return task;
+		}
+
+		return () -> {
+			Deadline previous = PROPAGATED.get();
+			PROPAGATED.set(deadline);
+			try {
+				return task.get();
+			} finally {
+				if (previous == null) {
+					PROPAGATED.remove();
+				} else {
+					PROPAGATED.set(previous);
+				}
+			}
+		};
+	}
+
+	/**
+	 * Wraps a task so it runs with the deadline of the current thread, even if
+	 * it's run by another thread.
+	 *
+	 * @param task The task to wrap.
+	 * @return The wrapped task, or the same task if there isn't any deadline.
+	 */
+	public static Runnable propagate(Runnable task) {
+		if (current() == null) {
+			return task;
+		}
+
+		Supplier<Void> wrapped = propagate(() -> {
+			task.run();
+
+			return null;
+		});
+
+		return wrapped::get;
+	}
+
+	/**
+	 * Sets the deadline of the web request being served by the current
+	 * thread. It does nothing outside a web request.
+	 *
+	 * @param deadline The deadline.
+	 */
+	public static void setCurrent(Deadline deadline) {
+		RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+		if (attributes != null) {
+			attributes.setAttribute(ATTRIBUTE_DEADLINE, deadline, RequestAttributes.SCOPE_REQUEST);
+		}
+	}
+
+	/**
+	 * Gets the time left until this deadline.
+	 *
+	 * @return The remaining time in milliseconds, 0 or less if expired.
+	 */
+	public long getRemaining() {
+		return TimeUnit.NANOSECONDS.toMillis(expiration - System.nanoTime());
+	}
+
+	/**
+	 * Checks if this deadline has expired.
+	 *
+	 * @return <code>true</code> if there is no time left.
+	 */
+	public boolean isExpired() {
+		return getRemaining() <= 0;
+	}
+
+	@Override
+	public String toString() {
+		return "Deadline [remaining=" + getRemaining() + "ms]";
+	}
+
+}
@@ -0,0 +1,53 @@
+package org.giste.spring.util.service.timeout;
+
+/**
+ * Timeouts for the calls of an operation to the REST server.
+ *
+ * @author Giste
+ */
+public final class OperationTimeouts {
+
+	private final int connectTimeout;
+	private final int readTimeout;
+
+	/**
+	 * Constructs new timeouts.
+	 *
+	 * @param connectTimeout The timeout in milliseconds for connecting, or 0
+	 *            for the default one.
+	 * @param readTimeout The timeout in milliseconds for reading, or 0 for the
+	 *            default one.
+	 */
+	public OperationTimeouts(int connectTimeout, int readTimeout) {
+		if (connectTimeout < 0 || readTimeout < 0) {
+			throw new IllegalArgumentException("Timeouts can't be negative");
+		}
+
+		this.connectTimeout = connectTimeout;
+		this.readTimeout = readTimeout;
+	}
+
+	/**
+	 * Gets the timeout for connecting.
+	 *
+	 * @return The connect timeout in milliseconds, or 0 for the default one.
+	 */
+	public int getConnectTimeout() {
+		return connectTimeout;
+	}
+
+	/**
+	 * Gets the timeout for reading.
+	 *
+	 * @return The read timeout in milliseconds, or 0 for the default one.
+	 */
+	public int getReadTimeout() {
+		return readTimeout;
+	}
+
+	@Override
+	public String toString() {
+		return "OperationTimeouts [connectTimeout=" + connectTimeout + ", readTimeout=" + readTimeout + "]";
+	}
+
+}
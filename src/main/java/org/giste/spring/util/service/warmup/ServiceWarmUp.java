@@ -0,0 +1,77 @@
+package org.giste.spring.util.service.warmup;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.giste.spring.util.config.RestProperties;
+import org.giste.spring.util.config.RestTemplateFactory;
+import org.giste.spring.util.service.BaseRestServiceImpl;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+
+/**
+ * Warm up of the communication with the REST server at startup. When
+ * {@link RestProperties#isWarmUpEnabled()} is set, it opens
+ * {@link RestProperties#getWarmUpConnections()} connections with each
+ * endpoint and warms up each service with
+ * {@link BaseRestServiceImpl#warmUp(int)}.
+ *
+ * As an <code>ApplicationRunner</code>, it runs when it's declared as a bean,
+ * after the context is started and before the application is reported as
+ * ready.
+ *
+ * @author Giste
+ */
+public class ServiceWarmUp implements ApplicationRunner {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(ServiceWarmUp.class);
+
+	private final RestProperties restProperties;
+	private final RestTemplateFactory restTemplateFactory;
+	private final List<BaseRestServiceImpl<?>> services;
+
+	/**
+	 * Constructs a new warm up.
+	 *
+	 * @param restProperties <code>RestProperties</code> with data for
+	 *            configuring the warm up.
+	 * @param restTemplateFactory The factory whose connection pool is warmed
+	 *            up.
+	 * @param services The services to warm up.
+	 */
+	public ServiceWarmUp(RestProperties restProperties, RestTemplateFactory restTemplateFactory,
+			Collection<? extends BaseRestServiceImpl<?>> services) {
+		this.restProperties = restProperties;
+		this.restTemplateFactory = restTemplateFactory;
+		this.services = new ArrayList<>(services);
+	}
+
+	@Override
+	public void run(ApplicationArguments args) {
+		if (restProperties.isWarmUpEnabled()) {
+			warmUp();
+		}
+	}
+
+	/**
+	 * Warms up the connection pool and the services, even if warm up is not
+	 * enabled.
+	 */
+	public void warmUp() {
+		long start = System.nanoTime();
+
+		int opened = restTemplateFactory.openConnections(restProperties.getWarmUpConnections());
+
+		for (BaseRestServiceImpl<?> service : services) {
+			service.warmUp(restProperties.getWarmUpIterations());
+		}
+
+		LOGGER.info("Warmed up {} connections and {} services in {} ms", opened, services.size(),
+				TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+	}
+
+}
@@ -0,0 +1,128 @@
+package org.giste.spring.util.config;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.util.Iterator;
+
+import org.giste.spring.util.config.client.HttpProtocol;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.web.client.RestTemplate;
+
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ser.PropertyWriter;
+
+public class RestTemplateFactoryTest {
+
+	private static final String AFTERBURNER_PACKAGE = "com.fasterxml.jackson.module.afterburner";
+
+	private RestPropertiesImpl restProperties;
+	private RestTemplateFactory factory;
+
+	@Before
+	public void setUp() {
+		restProperties = new RestPropertiesImpl();
+		restProperties.setScheme("http");
+		restProperties.setHost("localhost");
+		restProperties.setPort(8080);
+		restProperties.setPath("/rest");
+	}
+
+	@After
+	public void tearDown() throws IOException {
+		if (factory != null) {
+			factory.close();
+		}
+	}
+
+	private ObjectMapper getJsonMapper(RestTemplate restTemplate) {
+		for (HttpMessageConverter<?> converter : restTemplate.getMessageConverters()) {
+			if (converter instanceof MappingJackson2HttpMessageConverter) {
+				return ((MappingJackson2HttpMessageConverter) converter).getObjectMapper();
+			}
+		}
+
+		throw new AssertionError("No JSON converter");
+	}
+
+	private boolean usesAfterburner(RestTemplate restTemplate) throws JsonMappingException {
+		JsonSerializer<Object> serializer = getJsonMapper(restTemplate).getSerializerProviderInstance()
+				.findValueSerializer(Sample.class);
+		Iterator<PropertyWriter> properties = serializer.properties();
+
+		return properties.next().getClass().getName().startsWith(AFTERBURNER_PACKAGE);
+	}
+
+	@Test
+	public void afterburnerIsRegisteredWhenEnabled() throws Exception {
+		restProperties.setAfterburnerEnabled(true);
+		factory = new RestTemplateFactory(restProperties);
+
+		assertThat(usesAfterburner(factory.createRestTemplate()), is(true));
+	}
+
+	@Test
+	public void afterburnerIsNotRegisteredByDefault() throws Exception {
+		factory = new RestTemplateFactory(restProperties);
+
+		assertThat(usesAfterburner(factory.createRestTemplate()), is(false));
+	}
+
+	@Test
+	public void openConnectionsOpensThemWithServer() throws Exception {
+		try (ServerSocket server = new ServerSocket(0)) {
+			restProperties.setPort(server.getLocalPort());
+			factory = new RestTemplateFactory(restProperties);
+
+			assertThat(factory.openConnections(3), is(3));
+		}
+	}
+
+	@Test
+	public void openConnectionsIsLimitedByConnectionsPerRoute() throws Exception {
+		try (ServerSocket server = new ServerSocket(0)) {
+			restProperties.setPort(server.getLocalPort());
+			restProperties.setMaxConnectionsPerRoute(2);
+			factory = new RestTemplateFactory(restProperties);
+
+			assertThat(factory.openConnections(5), is(2));
+		}
+	}
+
+	@Test
+	public void openConnectionsSkipsUnreachableServer() throws Exception {
+		int port;
+		try (ServerSocket server = new ServerSocket(0)) {
+			port = server.getLocalPort();
+		}
+		restProperties.setPort(port);
+		factory = new RestTemplateFactory(restProperties);
+
+		assertThat(factory.openConnections(3), is(0));
+	}
+
+	@Test
+	public void openConnectionsDoesNothingWithHttp2() {
+		restProperties.setHttpProtocol(HttpProtocol.HTTP_2);
+		factory = new RestTemplateFactory(restProperties);
+
+		assertThat(factory.openConnections(3), is(0));
+	}
+
+	public static class Sample {
+
+		public String getName() {
+			return "name";
+		}
+
+	}
+
+}
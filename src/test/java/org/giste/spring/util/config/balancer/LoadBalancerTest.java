@@ -0,0 +1,144 @@
+package org.giste.spring.util.config.balancer;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withServerError;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+import java.net.URI;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.RestTemplate;
+
+public class LoadBalancerTest {
+
+	private List<Endpoint> newEndpoints() {
+		return Arrays.asList(new Endpoint("http://first:8080"), new Endpoint("http://second:8080"));
+	}
+
+	@Test
+	public void roundRobinAlternatesEndpoints() {
+		List<Endpoint> endpoints = newEndpoints();
+		LoadBalancer loadBalancer = new RoundRobinLoadBalancer(endpoints, 5, 60000);
+
+		Endpoint first = loadBalancer.choose();
+		Endpoint second = loadBalancer.choose();
+
+		assertThat(first == second, is(false));
+		assertThat(loadBalancer.choose(), is(sameInstance(first)));
+	}
+
+	@Test
+	public void failingEndpointIsEjected() {
+		List<Endpoint> endpoints = newEndpoints();
+		LoadBalancer loadBalancer = new RoundRobinLoadBalancer(endpoints, 2, 60000);
+
+		Endpoint failing = endpoints.get(0);
+		for (int i = 0; i < 2; i++) {
+			failing.onStart();
+			loadBalancer.onFailure(failing, 1000);
+		}
+
+		assertThat(failing.getEjectionCount(), is(1L));
+		for (int i = 0; i < 4; i++) {
+			assertThat(loadBalancer.choose(), is(sameInstance(endpoints.get(1))));
+		}
+	}
+
+	@Test
+	public void allEjectedEndpointsStillReceiveRequests() {
+		List<Endpoint> endpoints = Collections.singletonList(new Endpoint("http://only:8080"));
+		LoadBalancer loadBalancer = new RoundRobinLoadBalancer(endpoints, 1, 60000);
+
+		Endpoint endpoint = loadBalancer.choose();
+		loadBalancer.onFailure(endpoint, 1000);
+
+		assertThat(loadBalancer.choose(), is(sameInstance(endpoint)));
+	}
+
+	@Test
+	public void leastOutstandingAvoidsBusyEndpoint() {
+		List<Endpoint> endpoints = newEndpoints();
+		LoadBalancer loadBalancer = new LeastOutstandingLoadBalancer(endpoints, 5, 60000);
+
+		endpoints.get(0).onStart();
+
+		assertThat(loadBalancer.choose(), is(sameInstance(endpoints.get(1))));
+	}
+
+	@Test
+	public void powerOfTwoChoicesAvoidsSlowEndpoint() {
+		List<Endpoint> endpoints = newEndpoints();
+		LoadBalancer loadBalancer = new PowerOfTwoChoicesLoadBalancer(endpoints, 5, 60000);
+
+		endpoints.get(0).onStart();
+		loadBalancer.onSuccess(endpoints.get(0), 1000000000L);
+		endpoints.get(1).onStart();
+		loadBalancer.onSuccess(endpoints.get(1), 1000L);
+
+		for (int i = 0; i < 10; i++) {
+			Endpoint endpoint = loadBalancer.choose();
+			loadBalancer.onSuccess(endpoint, endpoint.getLatency());
+			assertThat(endpoint, is(sameInstance(endpoints.get(1))));
+		}
+	}
+
+	@Test
+	public void interceptorSendsRequestToChosenEndpoint() {
+		List<Endpoint> endpoints = newEndpoints();
+		LoadBalancer loadBalancer = new RoundRobinLoadBalancer(endpoints, 5, 60000);
+
+		RestTemplate restTemplate = new RestTemplate();
+		restTemplate.setInterceptors(Collections.singletonList(new LoadBalancingInterceptor(loadBalancer)));
+		MockRestServiceServer server = MockRestServiceServer.bindTo(restTemplate).build();
+
+		server.expect(requestTo("http://first:8080/rest/clubs?page=1"))
+				.andRespond(withSuccess("ok", MediaType.TEXT_PLAIN));
+		server.expect(requestTo("http://second:8080/rest/clubs?page=1"))
+				.andRespond(withServerError());
+
+		URI uri = URI.create("http://rest-server/rest/clubs?page=1");
+		assertThat(restTemplate.getForObject(uri, String.class), is("ok"));
+		try {
+			restTemplate.getForObject(uri, String.class);
+		} catch (HttpServerErrorException e) {
+			// Expected.
+		}
+
+		server.verify();
+		assertThat(endpoints.get(0).getFailureCount(), is(0L));
+		assertThat(endpoints.get(1).getFailureCount(), is(1L));
+		assertThat(endpoints.get(1).getOutstanding(), is(0));
+	}
+
+	@Test
+	public void interceptorReleasesEndpointWhenResponseIsClosed() {
+		List<Endpoint> endpoints = Collections.singletonList(new Endpoint("http://only:8080"));
+		LoadBalancer loadBalancer = new RoundRobinLoadBalancer(endpoints, 5, 60000);
+
+		RestTemplate restTemplate = new RestTemplate();
+		restTemplate.setInterceptors(Collections.singletonList(new LoadBalancingInterceptor(loadBalancer)));
+		MockRestServiceServer server = MockRestServiceServer.bindTo(restTemplate).build();
+
+		server.expect(requestTo("http://only:8080/rest/clubs"))
+				.andRespond(withSuccess("ok", MediaType.TEXT_PLAIN));
+
+		int outstanding = restTemplate.execute(URI.create("http://rest-server/rest/clubs"), HttpMethod.GET, null,
+				response -> endpoints.get(0).getOutstanding());
+
+		server.verify();
+		assertThat(outstanding, is(1));
+		assertThat(endpoints.get(0).getOutstanding(), is(0));
+		assertThat(endpoints.get(0).getLatency() > 0, is(true));
+	}
+
+}
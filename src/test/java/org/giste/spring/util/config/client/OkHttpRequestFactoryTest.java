@@ -0,0 +1,88 @@
+package org.giste.spring.util.config.client;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.giste.spring.util.config.RestPropertiesImpl;
+import org.giste.spring.util.config.RestTemplateFactory;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.web.client.RestTemplate;
+
+import okhttp3.Protocol;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+
+public class OkHttpRequestFactoryTest {
+
+	private static final int REQUESTS = 10;
+
+	private MockWebServer server;
+	private RestTemplateFactory restTemplateFactory;
+	private ExecutorService executor;
+
+	@Before
+	public void setUp() throws IOException {
+		// A server that only speaks h2c rejects HTTP/1.1 requests.
+		server = new MockWebServer();
+		server.setProtocols(Collections.singletonList(Protocol.H2_PRIOR_KNOWLEDGE));
+		server.start();
+
+		RestPropertiesImpl restProperties = new RestPropertiesImpl();
+		restProperties.setHttpProtocol(HttpProtocol.H2C);
+		restTemplateFactory = new RestTemplateFactory(restProperties);
+		executor = Executors.newFixedThreadPool(REQUESTS);
+	}
+
+	@After
+	public void tearDown() throws IOException {
+		executor.shutdownNow();
+		restTemplateFactory.close();
+		server.shutdown();
+	}
+
+	@Test
+	public void concurrentRequestsShareConnection() throws Exception {
+		for (int i = 0; i < REQUESTS; i++) {
+			server.enqueue(new MockResponse().setBody("club " + i).setHeader("Content-Type", "text/plain"));
+		}
+		RestTemplate restTemplate = restTemplateFactory.createRestTemplate();
+		String uri = server.url("/rest/clubs").toString();
+
+		List<Future<String>> responses = new ArrayList<>();
+		for (int i = 0; i < REQUESTS; i++) {
+			responses.add(executor.submit(() -> restTemplate.getForObject(uri, String.class)));
+		}
+
+		Set<String> bodies = new HashSet<>();
+		for (Future<String> response : responses) {
+			bodies.add(response.get());
+		}
+		assertThat(bodies.size(), is(REQUESTS));
+
+		// Sequence numbers grow within a connection.
+		int maxSequenceNumber = 0;
+		for (int i = 0; i < REQUESTS; i++) {
+			RecordedRequest request = server.takeRequest();
+			maxSequenceNumber = Math.max(maxSequenceNumber, request.getSequenceNumber());
+		}
+		assertTrue("Requests were not multiplexed", maxSequenceNumber > 0);
+
+		OkHttpRequestFactory requestFactory = (OkHttpRequestFactory) restTemplateFactory.getRequestFactory();
+		assertTrue(requestFactory.getClient().connectionPool().connectionCount() < REQUESTS);
+	}
+
+}
@@ -0,0 +1,160 @@
+package org.giste.spring.util.config.compression;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withServerError;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.RestTemplate;
+
+public class CompressionInterceptorTest {
+
+	private static final String URI = "http://rest-server/clubs";
+
+	private CompressionInterceptor interceptor;
+	private RestTemplate restTemplate;
+	private MockRestServiceServer server;
+
+	@Before
+	public void setUp() {
+		interceptor = new CompressionInterceptor(ContentEncoding.GZIP, 100);
+		restTemplate = new RestTemplate();
+		restTemplate.setInterceptors(Collections.singletonList(interceptor));
+		server = MockRestServiceServer.bindTo(restTemplate).build();
+	}
+
+	private byte[] compress(ContentEncoding encoding, String text) throws IOException {
+		ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+		try (OutputStream out = encoding.compress(compressed)) {
+			out.write(text.getBytes(StandardCharsets.UTF_8));
+		}
+
+		return compressed.toByteArray();
+	}
+
+	private String repeat(String text, int times) {
+		return String.join("", Collections.nCopies(times, text));
+	}
+
+	@Test
+	public void smallRequestIsNotCompressed() {
+		server.expect(requestTo(URI))
+				.andExpect(header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"))
+				.andRespond(withSuccess("ok", MediaType.TEXT_PLAIN));
+
+		assertThat(restTemplate.postForObject(URI, "small", String.class), is("ok"));
+
+		server.verify();
+		assertThat(interceptor.getCompressedRequestCount(), is(0L));
+		assertThat(interceptor.getRequestWireBytes(), is(5L));
+	}
+
+	@Test
+	public void largeRequestIsCompressed() {
+		String body = repeat("club", 100);
+		server.expect(requestTo(URI))
+				.andExpect(header(HttpHeaders.CONTENT_ENCODING, "gzip"))
+				.andRespond(withSuccess("ok", MediaType.TEXT_PLAIN));
+
+		restTemplate.postForObject(URI, body, String.class);
+
+		server.verify();
+		assertThat(interceptor.getCompressedRequestCount(), is(1L));
+		assertThat(interceptor.getRequestBytes(), is(400L));
+		assertTrue(interceptor.getRequestWireBytes() < 100);
+	}
+
+	@Test
+	public void compressedResponsesAreDecoded() throws IOException {
+		String body = repeat("club", 1000);
+		for (ContentEncoding encoding : ContentEncoding.values()) {
+			HttpHeaders headers = new HttpHeaders();
+			headers.set(HttpHeaders.CONTENT_ENCODING, encoding.getToken());
+			server.expect(requestTo(URI))
+					.andRespond(withSuccess(compress(encoding, body), MediaType.TEXT_PLAIN).headers(headers));
+		}
+
+		for (int i = 0; i < ContentEncoding.values().length; i++) {
+			assertThat(restTemplate.getForObject(URI, String.class), is(body));
+		}
+
+		server.verify();
+		assertThat(interceptor.getCompressedResponseCount(), is(2L));
+		assertThat(interceptor.getResponseBytes(), is(8000L));
+		assertTrue(interceptor.getResponseWireBytes() < 500);
+	}
+
+	@Test
+	public void responseWithSeveralCodingsIsDecodedInReverseOrder() throws IOException {
+		String body = repeat("club", 1000);
+		ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+		try (OutputStream out = ContentEncoding.DEFLATE.compress(ContentEncoding.GZIP.compress(compressed))) {
+			out.write(body.getBytes(StandardCharsets.UTF_8));
+		}
+		HttpHeaders headers = new HttpHeaders();
+		headers.set(HttpHeaders.CONTENT_ENCODING, "deflate, identity, gzip");
+		server.expect(requestTo(URI))
+				.andRespond(withSuccess(compressed.toByteArray(), MediaType.TEXT_PLAIN).headers(headers));
+
+		assertThat(restTemplate.getForObject(URI, String.class), is(body));
+
+		server.verify();
+	}
+
+	@Test(expected = HttpMessageNotReadableException.class)
+	public void responseWithUnsupportedCodingIsNotRead() {
+		HttpHeaders headers = new HttpHeaders();
+		headers.set(HttpHeaders.CONTENT_ENCODING, "gzip, br");
+		server.expect(requestTo(URI))
+				.andRespond(withSuccess("compressed", MediaType.TEXT_PLAIN).headers(headers));
+
+		restTemplate.getForObject(URI, String.class);
+	}
+
+	@Test
+	public void errorWithUnsupportedCodingKeepsItsStatus() {
+		HttpHeaders headers = new HttpHeaders();
+		headers.set(HttpHeaders.CONTENT_ENCODING, "br");
+		server.expect(requestTo(URI))
+				.andRespond(withServerError().headers(headers).body("compressed"));
+
+		try {
+			restTemplate.getForObject(URI, String.class);
+			fail("HttpServerErrorException expected.");
+		} catch (HttpServerErrorException e) {
+			assertThat(e.getStatusCode(), is(HttpStatus.INTERNAL_SERVER_ERROR));
+			assertThat(e.getResponseBodyAsString(), is("compressed"));
+		}
+	}
+
+	@Test
+	public void contentEncodingHeaderListsCodings() {
+		assertThat(ContentEncoding.fromHeader(null).isEmpty(), is(true));
+		assertThat(ContentEncoding.fromHeader("identity").isEmpty(), is(true));
+		assertThat(ContentEncoding.fromHeader("GZIP"), is(Collections.singletonList(ContentEncoding.GZIP)));
+		assertThat(ContentEncoding.fromHeader("deflate, gzip"),
+				is(Arrays.asList(ContentEncoding.DEFLATE, ContentEncoding.GZIP)));
+		assertThat(ContentEncoding.fromHeader("gzip, br"), is(nullValue()));
+	}
+
+}
@@ -0,0 +1,62 @@
+package org.giste.spring.util.config.format;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Map;
+
+import org.junit.Test;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.MockHttpInputMessage;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+public class WireFormatTest {
+
+	@Test
+	public void formatIsFoundByContentType() {
+		assertThat(WireFormat.fromMediaType(MediaType.APPLICATION_JSON_UTF8), is(WireFormat.JSON));
+		assertThat(WireFormat.fromMediaType(MediaType.parseMediaType("application/x-jackson-smile")),
+				is(WireFormat.SMILE));
+		assertThat(WireFormat.fromMediaType(MediaType.parseMediaType("application/cbor")), is(WireFormat.CBOR));
+		assertThat(WireFormat.fromMediaType(MediaType.TEXT_PLAIN), is(nullValue()));
+		assertThat(WireFormat.fromMediaType(null), is(nullValue()));
+	}
+
+	@Test
+	public void factoriesAreCreatedWhenModulesArePresent() {
+		assertThat(WireFormat.SMILE.isAvailable(), is(true));
+		assertThat(WireFormat.CBOR.isAvailable(), is(true));
+		assertThat(WireFormat.JSON.createFactory().getFormatName(), is(JsonFactory.FORMAT_NAME_JSON));
+		assertThat(WireFormat.SMILE.createFactory(), is(instanceOf(SmileFactory.class)));
+		assertThat(WireFormat.CBOR.createFactory(), is(instanceOf(CBORFactory.class)));
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void cborConverterWritesAndReadsCbor() throws IOException {
+		MappingJackson2CborHttpMessageConverter converter = new MappingJackson2CborHttpMessageConverter();
+		Map<String, Object> value = Collections.singletonMap("name", "club");
+
+		MockHttpOutputMessage output = new MockHttpOutputMessage();
+		converter.write(value, WireFormat.CBOR.getMediaType(), output);
+
+		assertThat(output.getHeaders().getContentType(), is(WireFormat.CBOR.getMediaType()));
+		byte[] body = output.getBodyAsBytes();
+		assertThat(WireFormat.CBOR.createFactory().createParser(body).nextToken().isStructStart(), is(true));
+
+		MockHttpInputMessage input = new MockHttpInputMessage(body);
+		input.getHeaders().setContentType(WireFormat.CBOR.getMediaType());
+		Map<String, Object> read = (Map<String, Object>) converter.read(Map.class, input);
+
+		assertThat(read, is(value));
+	}
+
+}
@@ -0,0 +1,60 @@
+package org.giste.spring.util.error;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+import org.giste.spring.util.error.dto.FieldErrorDto;
+import org.giste.spring.util.error.dto.RestErrorDto;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.http.HttpStatus;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+public class RestErrorDecoderTest {
+
+	private ObjectMapper objectMapper;
+	private RestErrorDecoder decoder;
+	private RestErrorDto error;
+
+	@Before
+	public void setUp() {
+		objectMapper = new ObjectMapper();
+		decoder = new RestErrorDecoder();
+
+		error = new RestErrorDto(HttpStatus.CONFLICT, "10001002", "Message", "Developer info");
+		error.addFieldError(new FieldErrorDto("name", "Duplicated name"));
+	}
+
+	@Test
+	public void decodeSummarySkipsFieldErrors() throws Exception {
+		RestErrorDto readError = decoder.decodeSummary(objectMapper.writeValueAsBytes(error));
+
+		assertThat(readError.getStatus(), is(error.getStatus()));
+		assertThat(readError.getCode(), is(error.getCode()));
+		assertThat(readError.getMessage(), is(error.getMessage()));
+		assertThat(readError.getDeveloperInfo(), is(error.getDeveloperInfo()));
+		assertThat(readError.getFieldErrorList().size(), is(0));
+		assertThat(decoder.getDecodeCount(), is(1L));
+		assertThat(decoder.getFullDecodeCount(), is(0L));
+	}
+
+	@Test
+	public void decodeReadsFieldErrors() throws Exception {
+		RestErrorDto readError = decoder.decode(objectMapper.writeValueAsBytes(error));
+
+		assertThat(readError.getStatus(), is(error.getStatus()));
+		assertThat(readError.getFieldErrorList().size(), is(1));
+		assertThat(readError.getFieldErrorList().get(0).getField(), is("name"));
+		assertThat(decoder.getFullDecodeCount(), is(1L));
+	}
+
+	@Test
+	public void decodeSummaryIsNullWithoutRestErrorDto() {
+		assertThat(decoder.decodeSummary("Not found".getBytes()), is(nullValue()));
+		assertThat(decoder.decodeSummary("{\"id\":1}".getBytes()), is(nullValue()));
+		assertThat(decoder.decodeSummary("{\"status\":\"NO_STATUS\"}".getBytes()), is(nullValue()));
+	}
+
+}
@@ -0,0 +1,86 @@
+package org.giste.spring.util.service;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.giste.spring.util.config.RestExecutors;
+import org.giste.spring.util.service.exception.EntityNotFoundException;
+import org.giste.util.dto.BaseDto;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class AsyncBaseRestServiceImplTest {
+
+	private BaseRestService<BaseDto> restService;
+	private ExecutorService executor;
+	private AsyncBaseRestService<BaseDto> asyncService;
+
+	@SuppressWarnings("unchecked")
+	@Before
+	public void setUp() {
+		restService = mock(BaseRestService.class);
+		executor = RestExecutors.newBoundedExecutor(1, 1);
+		asyncService = new AsyncBaseRestServiceImpl<>(restService, executor);
+	}
+
+	@After
+	public void tearDown() {
+		executor.shutdownNow();
+	}
+
+	@Test
+	public void errorCompletesFuture() throws Exception {
+		when(restService.findById(1)).thenThrow(new EntityNotFoundException("Not found"));
+
+		try {
+			asyncService.findById(1).get(1, TimeUnit.SECONDS);
+			fail("EntityNotFoundException expected.");
+		} catch (ExecutionException e) {
+			assertThat(e.getCause(), is(instanceOf(EntityNotFoundException.class)));
+		}
+	}
+
+	@Test
+	public void rejectedCallCompletesFuture() throws Exception {
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		when(restService.findAll()).thenAnswer(invocation -> {
+			started.countDown();
+			release.await();
+			return Collections.emptyList();
+		});
+
+		// One call running and one queued fill the executor.
+		CompletableFuture<List<BaseDto>> running = asyncService.findAll();
+		started.await(1, TimeUnit.SECONDS);
+		CompletableFuture<List<BaseDto>> queued = asyncService.findAll();
+		CompletableFuture<List<BaseDto>> rejected = asyncService.findAll();
+
+		assertThat(rejected.isCompletedExceptionally(), is(true));
+		try {
+			rejected.get();
+			fail("RejectedExecutionException expected.");
+		} catch (ExecutionException e) {
+			assertThat(e.getCause(), is(instanceOf(RejectedExecutionException.class)));
+		}
+
+		release.countDown();
+		assertThat(running.get(1, TimeUnit.SECONDS).isEmpty(), is(true));
+		assertThat(queued.get(1, TimeUnit.SECONDS).isEmpty(), is(true));
+	}
+
+}
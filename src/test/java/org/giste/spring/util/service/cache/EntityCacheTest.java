@@ -0,0 +1,61 @@
+package org.giste.spring.util.service.cache;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+import org.junit.Test;
+
+public class EntityCacheTest {
+
+	@Test
+	public void getIsHitAfterPut() {
+		EntityCache<String> cache = new EntityCache<>(10, 60000);
+
+		assertThat(cache.get(1L), is(nullValue()));
+		cache.put(1L, "one");
+
+		assertThat(cache.get(1L), is("one"));
+		assertThat(cache.getHitCount(), is(1L));
+		assertThat(cache.getMissCount(), is(1L));
+	}
+
+	@Test
+	public void leastRecentlyUsedIsEvicted() {
+		EntityCache<String> cache = new EntityCache<>(2, 60000);
+
+		cache.put(1L, "one");
+		cache.put(2L, "two");
+		cache.get(1L);
+		cache.put(3L, "three");
+
+		assertThat(cache.size(), is(2));
+		assertThat(cache.get(2L), is(nullValue()));
+		assertThat(cache.get(1L), is("one"));
+		assertThat(cache.get(3L), is("three"));
+		assertThat(cache.getEvictionCount(), is(1L));
+	}
+
+	@Test
+	public void expiredIsNotReturned() throws Exception {
+		EntityCache<String> cache = new EntityCache<>(10, 1);
+
+		cache.put(1L, "one");
+		Thread.sleep(5);
+
+		assertThat(cache.get(1L), is(nullValue()));
+		assertThat(cache.getExpirationCount(), is(1L));
+		assertThat(cache.size(), is(0));
+	}
+
+	@Test
+	public void invalidateRemovesEntity() {
+		EntityCache<String> cache = new EntityCache<>(10, 60000);
+
+		cache.put(1L, "one");
+		cache.invalidate(1L);
+
+		assertThat(cache.get(1L), is(nullValue()));
+	}
+
+}
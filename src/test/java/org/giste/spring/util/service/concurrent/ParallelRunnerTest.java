@@ -0,0 +1,91 @@
+package org.giste.spring.util.service.concurrent;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ParallelRunnerTest {
+
+	private ExecutorService executor;
+
+	@Before
+	public void setUp() {
+		executor = Executors.newFixedThreadPool(8);
+	}
+
+	@After
+	public void tearDown() {
+		executor.shutdownNow();
+	}
+
+	@Test
+	public void allItemsAreProcessedWithBoundedParallelism() {
+		ParallelRunner runner = new ParallelRunner(executor, 3);
+		List<Integer> items = new ArrayList<>();
+		for (int i = 0; i < 50; i++) {
+			items.add(i);
+		}
+		Set<Integer> processed = ConcurrentHashMap.newKeySet();
+		AtomicInteger running = new AtomicInteger();
+		AtomicInteger maxRunning = new AtomicInteger();
+
+		runner.forEach(items, item -> {
+			maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+			sleep(2);
+			processed.add(item);
+			running.decrementAndGet();
+		});
+
+		assertThat(processed.size(), is(items.size()));
+		assertThat(maxRunning.get() <= 3, is(true));
+	}
+
+	@Test
+	public void withoutExecutorRunsInCallingThread() {
+		ParallelRunner runner = new ParallelRunner(null, 3);
+		Thread caller = Thread.currentThread();
+		List<Integer> items = new ArrayList<>();
+		items.add(1);
+		items.add(2);
+
+		runner.forEach(items, item -> assertThat(Thread.currentThread(), is(caller)));
+	}
+
+	@Test
+	public void exceptionIsThrown() {
+		ParallelRunner runner = new ParallelRunner(executor, 2);
+		List<Integer> items = new ArrayList<>();
+		items.add(1);
+		items.add(2);
+
+		try {
+			runner.forEach(items, item -> {
+				throw new IllegalStateException("error");
+			});
+			fail("IllegalStateException expected.");
+		} catch (IllegalStateException e) {
+			assertThat(e.getMessage(), is("error"));
+		}
+	}
+
+	private static void sleep(long millis) {
+		try {
+			Thread.sleep(millis);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+}
@@ -0,0 +1,110 @@
+package org.giste.spring.util.service.concurrent;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class SingleFlightTest {
+
+	private ExecutorService executor;
+	private SingleFlight<String> singleFlight;
+
+	@Before
+	public void setUp() {
+		executor = Executors.newFixedThreadPool(2);
+		singleFlight = new SingleFlight<>();
+	}
+
+	@After
+	public void tearDown() {
+		executor.shutdownNow();
+	}
+
+	@Test
+	public void concurrentCallsShareResult() throws Exception {
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		AtomicInteger calls = new AtomicInteger();
+
+		Future<String> first = executor.submit(() -> singleFlight.execute("key", () -> {
+			calls.incrementAndGet();
+			started.countDown();
+			await(release);
+
+			return "value";
+		}));
+		started.await(1, TimeUnit.SECONDS);
+
+		Future<String> second = executor.submit(() -> singleFlight.execute("key", () -> {
+			calls.incrementAndGet();
+
+			return "other";
+		}));
+		// Give the second caller time to join the call in flight.
+		Thread.sleep(100);
+		release.countDown();
+
+		assertThat(first.get(1, TimeUnit.SECONDS), is("value"));
+		assertThat(second.get(1, TimeUnit.SECONDS), is("value"));
+		assertThat(calls.get(), is(1));
+		assertThat(singleFlight.getSharedCount(), is(1L));
+	}
+
+	@Test
+	public void exceptionIsThrownToAllCallers() throws Exception {
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		IllegalStateException exception = new IllegalStateException("error");
+
+		Future<String> first = executor.submit(() -> singleFlight.execute("key", () -> {
+			started.countDown();
+			await(release);
+
+			throw exception;
+		}));
+		started.await(1, TimeUnit.SECONDS);
+
+		Future<String> second = executor.submit(() -> singleFlight.execute("key", () -> "other"));
+		Thread.sleep(100);
+		release.countDown();
+
+		for (Future<String> future : Arrays.asList(first, second)) {
+			try {
+				future.get(1, TimeUnit.SECONDS);
+				fail("IllegalStateException expected.");
+			} catch (ExecutionException e) {
+				assertThat(e.getCause(), is(sameInstance((Throwable) exception)));
+			}
+		}
+	}
+
+	@Test
+	public void sequentialCallsAreNotShared() {
+		assertThat(singleFlight.execute("key", () -> "one"), is("one"));
+		assertThat(singleFlight.execute("key", () -> "two"), is("two"));
+		assertThat(singleFlight.getCallCount(), is(2L));
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await(1, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+}
@@ -0,0 +1,81 @@
+package org.giste.spring.util.service.metrics;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import org.giste.spring.util.service.RestOperation;
+import org.junit.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+
+public class OperationMetricsTest {
+
+	@Test
+	public void histogramPercentilesAreWithinPrecision() {
+		LatencyHistogram histogram = new LatencyHistogram();
+		for (int i = 1; i <= 1000; i++) {
+			histogram.record(TimeUnit.MILLISECONDS.toNanos(i));
+		}
+
+		assertThat(histogram.getCount(), is(1000L));
+		assertThat(histogram.getMax(), is(1000000L));
+		assertWithin(histogram.getPercentile(50), 500000);
+		assertWithin(histogram.getPercentile(99), 990000);
+		assertWithin((long) histogram.getMean(), 500500);
+	}
+
+	private void assertWithin(long actual, long expected) {
+		assertTrue("Expected " + expected + " but was " + actual, Math.abs(actual - expected) <= expected * 0.03);
+	}
+
+	@Test
+	public void errorsAreCountedByStatus() {
+		OperationMetrics metrics = new OperationMetrics("/clubs", RestOperation.FIND_BY_ID);
+
+		metrics.record(() -> "ok");
+		try {
+			metrics.record(() -> {
+				throw new HttpClientErrorException(HttpStatus.NOT_FOUND);
+			});
+		} catch (HttpClientErrorException e) {
+			// Expected.
+		}
+
+		assertThat(metrics.getCallCount(), is(2L));
+		assertThat(metrics.getErrorCount(), is(1L));
+		assertThat(metrics.getErrorCountByStatus(), is(Collections.singletonMap(404, 1L)));
+	}
+
+	@Test
+	public void payloadSizesAreRecordedForAttempts() {
+		OperationMetrics metrics = new OperationMetrics("/clubs", RestOperation.CREATE);
+
+		RestTemplate restTemplate = new RestTemplate();
+		restTemplate.setInterceptors(Collections.singletonList(new PayloadSizeInterceptor()));
+		MockRestServiceServer server = MockRestServiceServer.bindTo(restTemplate).build();
+		server.expect(requestTo("http://rest-server/clubs"))
+				.andRespond(withSuccess("response", MediaType.TEXT_PLAIN));
+		server.expect(requestTo("http://rest-server/clubs"))
+				.andRespond(withStatus(HttpStatus.OK).body("ignored").contentType(MediaType.TEXT_PLAIN));
+
+		String response = metrics.capturePayload(
+				() -> restTemplate.postForObject("http://rest-server/clubs", "request", String.class));
+		restTemplate.postForObject("http://rest-server/clubs", "request", String.class);
+
+		server.verify();
+		assertThat(response, is("response"));
+		assertThat(metrics.getRequestBytes(), is(7L));
+		assertThat(metrics.getResponseBytes(), is(8L));
+	}
+
+}
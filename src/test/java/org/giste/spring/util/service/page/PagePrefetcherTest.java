@@ -0,0 +1,120 @@
+package org.giste.spring.util.service.page;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Collections;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.giste.spring.util.service.BaseRestService;
+import org.giste.util.dto.BaseDto;
+import org.junit.Before;
+import org.junit.Test;
+
+public class PagePrefetcherTest {
+
+	private static final int TOTAL_ELEMENTS = 10;
+	private static final long MAX_AGE = 60000;
+
+	private static final PageRequest FIRST = new PageRequest(0, 1);
+	private static final PageRequest SECOND = FIRST.next();
+	private static final PageRequest THIRD = SECOND.next();
+
+	private static final Executor DIRECT = Runnable::run;
+
+	private BaseRestService<BaseDto> restService;
+
+	@SuppressWarnings("unchecked")
+	@Before
+	public void setUp() {
+		restService = mock(BaseRestService.class);
+		when(restService.findPage(any(PageRequest.class))).thenAnswer(
+				invocation -> page((PageRequest) invocation.getArguments()[0]));
+	}
+
+	private Page<BaseDto> page(PageRequest pageRequest) {
+		return new Page<>(Collections.emptyList(), pageRequest, TOTAL_ELEMENTS);
+	}
+
+	@Test
+	public void prefetchedPageIsUsed() {
+		PagePrefetcher<BaseDto> prefetcher = new PagePrefetcher<>(restService, DIRECT, 2, MAX_AGE);
+
+		prefetcher.findPage(FIRST);
+		Page<BaseDto> page = prefetcher.findPage(SECOND);
+
+		assertThat(page.getPageRequest(), is(SECOND));
+		verify(restService, times(1)).findPage(SECOND);
+	}
+
+	@Test
+	public void expiredPageIsLoadedAgain() throws Exception {
+		PagePrefetcher<BaseDto> prefetcher = new PagePrefetcher<>(restService, DIRECT, 2, 1);
+
+		prefetcher.findPage(FIRST);
+		Thread.sleep(10);
+		prefetcher.findPage(SECOND);
+
+		verify(restService, times(2)).findPage(SECOND);
+	}
+
+	@Test
+	public void rejectedPrefetchIsLoadedByCaller() {
+		Executor rejecting = command -> {
+			throw new RejectedExecutionException();
+		};
+		PagePrefetcher<BaseDto> prefetcher = new PagePrefetcher<>(restService, rejecting, 2, MAX_AGE);
+
+		prefetcher.findPage(FIRST);
+		verify(restService, never()).findPage(SECOND);
+
+		Page<BaseDto> page = prefetcher.findPage(SECOND);
+
+		assertThat(page.getPageRequest(), is(SECOND));
+		verify(restService, times(1)).findPage(SECOND);
+	}
+
+	@Test
+	public void failedPrefetchIsLoadedAgainInCallingThread() {
+		Page<BaseDto> second = page(SECOND);
+		when(restService.findPage(SECOND)).thenThrow(new IllegalStateException("Server down")).thenReturn(second);
+		PagePrefetcher<BaseDto> prefetcher = new PagePrefetcher<>(restService, DIRECT, 2, MAX_AGE);
+
+		prefetcher.findPage(FIRST);
+		Page<BaseDto> page = prefetcher.findPage(SECOND);
+
+		assertThat(page, is(sameInstance(second)));
+		verify(restService, times(2)).findPage(SECOND);
+	}
+
+	@Test
+	public void invalidatedPageIsLoadedAgain() {
+		PagePrefetcher<BaseDto> prefetcher = new PagePrefetcher<>(restService, DIRECT, 2, MAX_AGE);
+
+		prefetcher.findPage(FIRST);
+		prefetcher.invalidateAll();
+		prefetcher.findPage(SECOND);
+
+		verify(restService, times(2)).findPage(SECOND);
+	}
+
+	@Test
+	public void numberOfPrefetchedPagesIsBounded() {
+		PagePrefetcher<BaseDto> prefetcher = new PagePrefetcher<>(restService, DIRECT, 1, MAX_AGE);
+
+		prefetcher.prefetch(SECOND);
+		prefetcher.prefetch(THIRD);
+
+		verify(restService, times(1)).findPage(SECOND);
+		verify(restService, never()).findPage(THIRD);
+	}
+
+}
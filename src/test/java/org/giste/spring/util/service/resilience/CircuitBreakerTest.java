@@ -0,0 +1,131 @@
+package org.giste.spring.util.service.resilience;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+import org.giste.spring.util.service.exception.CircuitBreakerOpenException;
+import org.giste.spring.util.service.resilience.CircuitBreaker.State;
+import org.junit.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+public class CircuitBreakerTest {
+
+	private CircuitBreaker newBreaker(long openDuration) {
+		return new CircuitBreaker("test", 50, 100, 60000, 10, 4, openDuration, 2);
+	}
+
+	private void failCall(CircuitBreaker breaker) {
+		try {
+			breaker.execute(() -> {
+				throw new ResourceAccessException("Connection refused");
+			});
+		} catch (ResourceAccessException e) {
+			// Expected.
+		}
+	}
+
+	private void succeedCall(CircuitBreaker breaker) {
+		assertThat(breaker.execute(() -> "ok"), is("ok"));
+	}
+
+	@Test
+	public void opensWhenFailureRateIsReached() {
+		CircuitBreaker breaker = newBreaker(60000);
+
+		succeedCall(breaker);
+		succeedCall(breaker);
+		failCall(breaker);
+		assertThat(breaker.getState(), is(State.CLOSED));
+		failCall(breaker);
+
+		assertThat(breaker.getState(), is(State.OPEN));
+		assertThat(breaker.getTransitionCount(State.OPEN), is(1L));
+	}
+
+	@Test
+	public void rejectsCallsWhenOpen() {
+		CircuitBreaker breaker = newBreaker(60000);
+		for (int i = 0; i < 4; i++) {
+			failCall(breaker);
+		}
+
+		try {
+			breaker.execute(() -> "ok");
+			fail("CircuitBreakerOpenException expected.");
+		} catch (CircuitBreakerOpenException e) {
+			assertThat(breaker.getRejectedCount(), is(1L));
+		}
+	}
+
+	@Test
+	public void clientErrorsAreNotFailures() {
+		CircuitBreaker breaker = newBreaker(60000);
+		for (int i = 0; i < 4; i++) {
+			try {
+				breaker.execute(() -> {
+					throw new HttpClientErrorException(HttpStatus.NOT_FOUND);
+				});
+			} catch (HttpClientErrorException e) {
+				// Expected.
+			}
+		}
+
+		assertThat(breaker.getState(), is(State.CLOSED));
+		assertThat(breaker.getFailureRate(), is(0f));
+	}
+
+	@Test
+	public void opensWhenSlowCallRateIsReached() {
+		CircuitBreaker breaker = new CircuitBreaker("test", 50, 50, 1, 10, 2, 60000, 2);
+
+		for (int i = 0; i < 2; i++) {
+			breaker.execute(() -> {
+				try {
+					Thread.sleep(5);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+
+				return null;
+			});
+		}
+
+		assertThat(breaker.getState(), is(State.OPEN));
+	}
+
+	@Test
+	public void closesAfterSuccessfulProbes() throws Exception {
+		CircuitBreaker breaker = newBreaker(1);
+		for (int i = 0; i < 4; i++) {
+			failCall(breaker);
+		}
+		Thread.sleep(5);
+
+		succeedCall(breaker);
+		assertThat(breaker.getState(), is(State.HALF_OPEN));
+		succeedCall(breaker);
+
+		assertThat(breaker.getState(), is(State.CLOSED));
+		assertThat(breaker.getTransitionCount(State.HALF_OPEN), is(1L));
+		assertThat(breaker.getTransitionCount(State.CLOSED), is(1L));
+	}
+
+	@Test
+	public void opensAgainAfterFailedProbes() throws Exception {
+		CircuitBreaker breaker = newBreaker(1);
+		for (int i = 0; i < 4; i++) {
+			failCall(breaker);
+		}
+		Thread.sleep(5);
+
+		failCall(breaker);
+		failCall(breaker);
+
+		assertThat(breaker.getState(), is(State.OPEN));
+		assertThat(breaker.getTransitionCount(State.OPEN), is(2L));
+	}
+
+}
@@ -0,0 +1,131 @@
+package org.giste.spring.util.service.resilience;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.giste.spring.util.service.exception.CircuitBreakerOpenException;
+import org.giste.spring.util.service.exception.ConcurrencyLimitExceededException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpServerErrorException;
+
+public class ConcurrencyLimiterTest {
+
+	private ExecutorService executor;
+
+	@Before
+	public void setUp() {
+		executor = Executors.newFixedThreadPool(2);
+	}
+
+	@After
+	public void tearDown() {
+		executor.shutdownNow();
+	}
+
+	private Future<String> startBlockedCall(ConcurrencyLimiter limiter, CountDownLatch started,
+			CountDownLatch release) {
+		return executor.submit(() -> limiter.execute(() -> {
+			started.countDown();
+			try {
+				release.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			return "blocked";
+		}));
+	}
+
+	@Test
+	public void callAboveLimitIsRejected() throws Exception {
+		ConcurrencyLimiter limiter = new ConcurrencyLimiter("test", 1, 10, 0, 60000);
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		Future<String> blocked = startBlockedCall(limiter, started, release);
+		started.await();
+
+		try {
+			limiter.execute(() -> "ok");
+			fail("Call should be rejected");
+		} catch (ConcurrencyLimitExceededException e) {
+			// Expected.
+		}
+
+		release.countDown();
+		assertThat(blocked.get(), is("blocked"));
+		assertThat(limiter.getRejectedCount(), is(1L));
+		assertThat(limiter.getInFlight(), is(0));
+	}
+
+	@Test
+	public void queuedCallGetsReleasedPermit() throws Exception {
+		ConcurrencyLimiter limiter = new ConcurrencyLimiter("test", 1, 10, 5000, 60000);
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		startBlockedCall(limiter, started, release);
+		started.await();
+
+		executor.submit(() -> {
+			TimeUnit.MILLISECONDS.sleep(50);
+			release.countDown();
+			return null;
+		});
+
+		assertThat(limiter.execute(() -> "ok"), is("ok"));
+		assertThat(limiter.getQueuedCount(), is(1L));
+		assertThat(limiter.getRejectedCount(), is(0L));
+	}
+
+	@Test
+	public void limitGrowsWhileUsed() {
+		ConcurrencyLimiter limiter = new ConcurrencyLimiter("test", 1, 3, 0, 60000);
+
+		for (int i = 0; i < 10; i++) {
+			limiter.execute(() -> "ok");
+		}
+
+		assertThat(limiter.getLimit(), is(2));
+	}
+
+	@Test
+	public void overloadDecreasesLimit() {
+		ConcurrencyLimiter limiter = new ConcurrencyLimiter("test", 10, 10, 0, 60000);
+
+		try {
+			limiter.execute(() -> {
+				throw new HttpServerErrorException(HttpStatus.SERVICE_UNAVAILABLE);
+			});
+		} catch (HttpServerErrorException e) {
+			// Expected.
+		}
+
+		assertThat(limiter.getLimit(), is(9));
+		assertThat(limiter.getDropCount(), is(1L));
+	}
+
+	@Test
+	public void callsNotSentDontChangeLimit() {
+		ConcurrencyLimiter limiter = new ConcurrencyLimiter("test", 10, 10, 0, 60000);
+
+		try {
+			limiter.execute(() -> {
+				throw new CircuitBreakerOpenException("open");
+			});
+		} catch (CircuitBreakerOpenException e) {
+			// Expected.
+		}
+
+		assertThat(limiter.getLimit(), is(10));
+		assertThat(limiter.getInFlight(), is(0));
+	}
+
+}
@@ -0,0 +1,69 @@
+package org.giste.spring.util.service.resilience;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class HedgingPolicyTest {
+
+	private ExecutorService executor;
+
+	@Before
+	public void setUp() {
+		executor = Executors.newFixedThreadPool(4);
+	}
+
+	@After
+	public void tearDown() {
+		executor.shutdownNow();
+	}
+
+	private String sleepAndGet(long millis, String result) {
+		try {
+			Thread.sleep(millis);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+
+		return result;
+	}
+
+	@Test
+	public void fastCallIsNotHedged() {
+		HedgingPolicy policy = new HedgingPolicy(executor, 95, 1000, 100);
+
+		assertThat(policy.execute(() -> "ok"), is("ok"));
+		assertThat(policy.getHedgeCount(), is(0L));
+	}
+
+	@Test
+	public void slowCallIsHedgedAndLoserCancelled() {
+		HedgingPolicy policy = new HedgingPolicy(executor, 95, 10, 100);
+		AtomicInteger attempts = new AtomicInteger();
+
+		String result = policy.execute(() -> attempts.incrementAndGet() == 1
+				? sleepAndGet(5000, "slow")
+				: "fast");
+
+		assertThat(result, is("fast"));
+		assertThat(policy.getHedgeCount(), is(1L));
+		assertThat(policy.getHedgeWinCount(), is(1L));
+		assertThat(policy.getCancelledCount(), is(1L));
+	}
+
+	@Test
+	public void hedgeRateIsCapped() {
+		HedgingPolicy policy = new HedgingPolicy(executor, 95, 1, 0);
+
+		assertThat(policy.execute(() -> sleepAndGet(20, "slow")), is("slow"));
+		assertThat(policy.getHedgeCount(), is(0L));
+	}
+
+}
@@ -0,0 +1,100 @@
+package org.giste.spring.util.service.resilience;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+public class RetryPolicyTest {
+
+	@Test
+	public void transientErrorIsRetried() {
+		RetryPolicy policy = new RetryPolicy(3, 0, 0, new RetryBudget(10, 10));
+		AtomicInteger attempts = new AtomicInteger();
+
+		String result = policy.execute(() -> {
+			if (attempts.incrementAndGet() < 3) {
+				throw new HttpServerErrorException(HttpStatus.SERVICE_UNAVAILABLE);
+			}
+
+			return "ok";
+		});
+
+		assertThat(result, is("ok"));
+		assertThat(attempts.get(), is(3));
+		assertThat(policy.getBudget().getRetryCount(), is(2L));
+	}
+
+	@Test
+	public void lastErrorIsThrownAfterMaxAttempts() {
+		RetryPolicy policy = new RetryPolicy(2, 0, 0, new RetryBudget(10, 10));
+		AtomicInteger attempts = new AtomicInteger();
+
+		try {
+			policy.execute(() -> {
+				attempts.incrementAndGet();
+				throw new ResourceAccessException("Connection reset");
+			});
+			fail("ResourceAccessException expected.");
+		} catch (ResourceAccessException e) {
+			assertThat(attempts.get(), is(2));
+		}
+	}
+
+	@Test
+	public void clientErrorIsNotRetried() {
+		RetryPolicy policy = new RetryPolicy(3, 0, 0, new RetryBudget(10, 10));
+		AtomicInteger attempts = new AtomicInteger();
+
+		try {
+			policy.execute(() -> {
+				attempts.incrementAndGet();
+				throw new HttpClientErrorException(HttpStatus.NOT_FOUND);
+			});
+			fail("HttpClientErrorException expected.");
+		} catch (HttpClientErrorException e) {
+			assertThat(attempts.get(), is(1));
+		}
+	}
+
+	@Test
+	public void exhaustedBudgetStopsRetries() {
+		RetryBudget budget = new RetryBudget(10, 1);
+		RetryPolicy policy = new RetryPolicy(3, 0, 0, budget);
+		AtomicInteger attempts = new AtomicInteger();
+
+		try {
+			policy.execute(() -> {
+				attempts.incrementAndGet();
+				throw new ResourceAccessException("Connection reset");
+			});
+			fail("ResourceAccessException expected.");
+		} catch (ResourceAccessException e) {
+			assertThat(attempts.get(), is(2));
+			assertThat(budget.getExhaustedCount(), is(1L));
+		}
+	}
+
+	@Test
+	public void budgetIsRefilledByCalls() {
+		RetryBudget budget = new RetryBudget(10, 1);
+
+		assertThat(budget.tryWithdraw(), is(true));
+		assertThat(budget.tryWithdraw(), is(false));
+
+		for (int i = 0; i < 10; i++) {
+			budget.deposit();
+		}
+
+		assertThat(budget.getAvailableRetries(), is(1L));
+		assertThat(budget.tryWithdraw(), is(true));
+	}
+
+}
@@ -0,0 +1,98 @@
+package org.giste.spring.util.service.timeout;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.giste.spring.util.service.exception.DeadlineExceededException;
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+public class CallTimeoutsTest {
+
+	@After
+	public void tearDown() {
+		RequestContextHolder.resetRequestAttributes();
+	}
+
+	@Test
+	public void operationTimeoutsAreSetDuringCall() {
+		CallTimeouts timeouts = CallTimeouts.run(100, 200, null, CallTimeouts::current);
+
+		assertThat(timeouts.getConnectTimeout(), is(100));
+		assertThat(timeouts.getReadTimeout(), is(200));
+		assertThat(CallTimeouts.current(), is(nullValue()));
+	}
+
+	@Test
+	public void timeoutsAreBoundedByDeadline() {
+		CallTimeouts timeouts = CallTimeouts.run(0, 60000, Deadline.after(1000), CallTimeouts::current);
+
+		assertTrue(timeouts.getConnectTimeout() > 0 && timeouts.getConnectTimeout() <= 1000);
+		assertTrue(timeouts.getReadTimeout() > 0 && timeouts.getReadTimeout() <= 1000);
+	}
+
+	@Test
+	public void longerDeadlineKeepsTimeouts() {
+		CallTimeouts timeouts = CallTimeouts.run(1000, 2000, Deadline.after(30000), CallTimeouts::current);
+
+		assertThat(timeouts.getConnectTimeout(), is(1000));
+		assertThat(timeouts.getReadTimeout(), is(2000));
+	}
+
+	@Test(expected = DeadlineExceededException.class)
+	public void expiredDeadlineIsNotCalled() {
+		CallTimeouts.run(0, 0, Deadline.after(-1), () -> {
+			throw new AssertionError("Call should not run");
+		});
+	}
+
+	@Test
+	public void deadlineIsBoundToWebRequest() {
+		assertThat(Deadline.current(), is(nullValue()));
+		Deadline.setCurrent(Deadline.after(1000));
+		assertThat(Deadline.current(), is(nullValue()));
+
+		RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+		Deadline deadline = Deadline.after(1000);
+		Deadline.setCurrent(deadline);
+
+		assertThat(Deadline.current(), is(deadline));
+		assertThat(deadline.isExpired(), is(false));
+	}
+
+	@Test
+	public void deadlineIsPropagatedToOtherThreads() throws Exception {
+		RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+		Deadline deadline = Deadline.after(1000);
+		Deadline.setCurrent(deadline);
+
+		Supplier<Deadline> task = Deadline.propagate(Deadline::current);
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			assertThat(executor.submit(task::get).get(1, TimeUnit.SECONDS), is(deadline));
+			assertThat(executor.submit(Deadline::current).get(1, TimeUnit.SECONDS), is(nullValue()));
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void taskWithoutDeadlineIsNotWrapped() {
+		Runnable task = () -> {
+		};
+
+		assertThat(Deadline.propagate(task), is(sameInstance(task)));
+	}
+
+}
@@ -0,0 +1,55 @@
+package org.giste.spring.util.service.warmup;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+
+import org.giste.spring.util.config.RestPropertiesImpl;
+import org.giste.spring.util.config.RestTemplateFactory;
+import org.giste.spring.util.service.BaseRestServiceImpl;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ServiceWarmUpTest {
+
+	private RestPropertiesImpl restProperties;
+	private RestTemplateFactory restTemplateFactory;
+	private BaseRestServiceImpl<?> clubService;
+	private BaseRestServiceImpl<?> eventService;
+	private ServiceWarmUp serviceWarmUp;
+
+	@Before
+	public void setUp() {
+		restProperties = new RestPropertiesImpl();
+		restProperties.setWarmUpConnections(4);
+		restProperties.setWarmUpIterations(50);
+		restTemplateFactory = mock(RestTemplateFactory.class);
+		clubService = mock(BaseRestServiceImpl.class);
+		eventService = mock(BaseRestServiceImpl.class);
+		serviceWarmUp = new ServiceWarmUp(restProperties, restTemplateFactory,
+				Arrays.asList(clubService, eventService));
+	}
+
+	@Test
+	public void nothingIsWarmedUpByDefault() {
+		serviceWarmUp.run(null);
+
+		verifyZeroInteractions(restTemplateFactory, clubService, eventService);
+	}
+
+	@Test
+	public void connectionsAndServicesAreWarmedUpWhenEnabled() {
+		restProperties.setWarmUpEnabled(true);
+		when(restTemplateFactory.openConnections(4)).thenReturn(4);
+
+		serviceWarmUp.run(null);
+
+		verify(restTemplateFactory).openConnections(4);
+		verify(clubService).warmUp(50);
+		verify(eventService).warmUp(50);
+	}
+
+}